@@ -6,7 +6,8 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
-import org.example.service.DatabaseHelper;
+import org.example.repository.Repositories;
+import org.example.service.AsyncServices;
 import org.example.util.SessionManager;
 
 import java.io.InputStream;
@@ -23,7 +24,7 @@ public class MainApp extends Application {
     public void start(Stage stage) throws Exception {
         primaryStage = stage;
 
-        DatabaseHelper.initialize();
+        Repositories.initialize();
         System.out.println("Database initialization complete");
 
         primaryStage.setTitle("Expense Tracker");
@@ -112,6 +113,8 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         SessionManager.clearSession();
+        AsyncServices.shutdown();
+        Repositories.shutdown();
         System.out.println("Application closed");
     }
 }
@@ -0,0 +1,98 @@
+package org.example.bench;
+
+import org.example.service.ConnectionPool;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Connection Pool Benchmark
+ * Compares per-call latency of the old "open, query, close" pattern against
+ * borrowing from ConnectionPool. Runs against a throwaway database file.
+ *
+ * Usage: java org.example.bench.ConnectionPoolBenchmark [iterations]
+ */
+public class ConnectionPoolBenchmark {
+
+    private static final String QUERY = "SELECT SUM(amount) FROM EXPENSES WHERE user_id = ?";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+
+        File dbFile = File.createTempFile("pool-bench", ".db");
+        dbFile.deleteOnExit();
+        String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
+
+        Class.forName("org.sqlite.JDBC");
+        try (Connection conn = DriverManager.getConnection(url);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE EXPENSES (expense_id TEXT PRIMARY KEY, user_id TEXT, amount REAL)");
+            stmt.execute("INSERT INTO EXPENSES VALUES ('e1', 'u1', 10.0), ('e2', 'u1', 20.0)");
+        }
+
+        // Warm up both paths so JIT and the OS file cache don't skew the first run
+        runDirect(url, 500);
+        ConnectionPool pool = new ConnectionPool(url, new ConnectionPool.Config());
+        runPooled(pool, 500);
+
+        long[] direct = runDirect(url, iterations);
+        long[] pooled = runPooled(pool, iterations);
+        pool.shutdown();
+
+        System.out.println("Per-call latency over " + iterations + " calls (open/borrow + 1 query + close):");
+        print("DriverManager (before)", direct);
+        print("ConnectionPool (after)", pooled);
+        System.out.printf("Speedup (mean): %.1fx%n", mean(direct) / mean(pooled));
+    }
+
+    private static long[] runDirect(String url, int iterations) throws Exception {
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            Class.forName("org.sqlite.JDBC");
+            try (Connection conn = DriverManager.getConnection(url)) {
+                query(conn);
+            }
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private static long[] runPooled(ConnectionPool pool, int iterations) throws Exception {
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            try (Connection conn = pool.getConnection()) {
+                query(conn);
+            }
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private static void query(Connection conn) throws Exception {
+        PreparedStatement ps = conn.prepareStatement(QUERY);
+        ps.setString(1, "u1");
+        ResultSet rs = ps.executeQuery();
+        rs.next();
+        ps.close();
+    }
+
+    private static double mean(long[] samples) {
+        return Arrays.stream(samples).average().orElse(0);
+    }
+
+    private static void print(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %-24s mean %8.1f µs   p50 %8.1f µs   p99 %8.1f µs%n", label,
+                mean(sorted) / 1_000.0,
+                sorted[sorted.length / 2] / 1_000.0,
+                sorted[(int) (sorted.length * 0.99)] / 1_000.0);
+    }
+}
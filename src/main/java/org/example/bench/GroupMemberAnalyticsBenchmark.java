@@ -0,0 +1,126 @@
+package org.example.bench;
+
+import org.example.model.DayRange;
+import org.example.model.Expense;
+import org.example.model.Money;
+import org.example.repository.Repositories;
+import org.example.service.CategoryTotals;
+import org.example.service.ExpenseColumns;
+import org.example.service.GroupMemberAnalytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Group Member Analytics Benchmark
+ * Builds a synthetic group in memory - members spending over the last 400 days,
+ * newest first like the service lists - and times the member figures for this month
+ * against last month two ways: the serial walk the member analytics screen used to
+ * do (every expense, a HashMap per member, CategoryTotals per member), and
+ * GroupMemberAnalytics on ExpenseColumns. Copying into columns is timed separately,
+ * for the whole history and for the two months the screen now loads. The in-memory
+ * repository is selected, so no database is touched. Each variant is warmed up, then
+ * the median of the runs is reported, along with whether both produced the same totals.
+ *
+ * Usage: java org.example.bench.GroupMemberAnalyticsBenchmark [members] [expenses] [runs]
+ */
+public class GroupMemberAnalyticsBenchmark {
+
+    private static final int DAYS = 400;
+    private static final int CATEGORIES = 19;
+
+    public static void main(String[] args) {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int expenses = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+
+        // Category ids come from the dictionary; keep it away from the real database
+        Repositories.use(Repositories.Backend.MEMORY);
+
+        LocalDate today = LocalDate.now();
+        DayRange month = DayRange.month(today);
+        DayRange lastMonth = DayRange.month(today.minusMonths(1));
+        List<Expense> group = synthesize(members, expenses, today);
+        System.out.printf("%d members, %d expenses over %d days, %d cores, median of %d runs:%n",
+                members, expenses, DAYS, Runtime.getRuntime().availableProcessors(), runs);
+
+        long[] serialTotals = new long[1];
+        double serial = median(runs, () -> serialTotals[0] = serial(group, month, lastMonth));
+
+        ExpenseColumns[] columns = new ExpenseColumns[1];
+        double copyAll = median(runs, () -> columns[0] = ExpenseColumns.of(group));
+        List<Expense> twoMonths = group.stream()
+                .filter(e -> e.getEpochDay() >= lastMonth.first() && e.getEpochDay() <= month.last())
+                .toList();
+        double copyTwoMonths = median(runs, () -> ExpenseColumns.of(twoMonths));
+
+        long[] parallelTotals = new long[1];
+        double parallel = median(runs, () ->
+                parallelTotals[0] = GroupMemberAnalytics.compute(columns[0], month, lastMonth).totalMinor());
+
+        System.out.printf("  %-34s %8.1f ms%n", "serial walk, HashMap per member", serial);
+        System.out.printf("  %-34s %8.1f ms%n", "copy whole history into columns", copyAll);
+        System.out.printf("  %-34s %8.1f ms  (%d rows)%n", "copy this and last month", copyTwoMonths, twoMonths.size());
+        System.out.printf("  %-34s %8.1f ms  (%.1fx)%n", "GroupMemberAnalytics (fork-join)", parallel, serial / parallel);
+        System.out.println("  same month total: " + (serialTotals[0] == parallelTotals[0]) +
+                " (" + Money.format(parallelTotals[0]) + ")");
+    }
+
+    private static List<Expense> synthesize(int members, int expenses, LocalDate today) {
+        Random random = new Random(42);
+        List<Expense> group = new ArrayList<>(expenses);
+        for (int i = 0; i < expenses; i++) {
+            Expense e = new Expense();
+            e.setExpenseId(String.valueOf(i));
+            e.setUserId("member-" + random.nextInt(members));
+            e.setGroupId("bench-group");
+            e.setCategoryId(1 + random.nextInt(CATEGORIES));
+            e.setAmount(Money.ofMinor(100 + random.nextInt(500_000)));
+            e.setEpochDay((int) today.toEpochDay() - random.nextInt(DAYS));
+            group.add(e);
+        }
+        group.sort((a, b) -> Integer.compare(b.getEpochDay(), a.getEpochDay()));
+        return group;
+    }
+
+    /**
+     * What the member analytics screen did per computation: walk the whole history
+     */
+    private static long serial(List<Expense> group, DayRange month, DayRange lastMonth) {
+        Map<String, long[]> current = new HashMap<>();
+        Map<String, long[]> previous = new HashMap<>();
+        Map<String, CategoryTotals> categories = new HashMap<>();
+        long total = 0;
+        for (Expense e : group) {
+            int d = e.getEpochDay();
+            if (month.contains(d)) {
+                total += e.getAmountMinor();
+                current.computeIfAbsent(e.getUserId(), k -> new long[1])[0] += e.getAmountMinor();
+                categories.computeIfAbsent(e.getUserId(), k -> new CategoryTotals()).add(e.getCategoryId(), e.getAmountMinor());
+            } else if (lastMonth.contains(d)) {
+                previous.computeIfAbsent(e.getUserId(), k -> new long[1])[0] += e.getAmountMinor();
+            }
+        }
+        current.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                .forEach(en -> categories.get(en.getKey()).topCategoryId());
+        return total;
+    }
+
+    private static double median(int runs, Runnable body) {
+        for (int i = 0; i < 3; i++) body.run();
+        double[] millis = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            body.run();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[runs / 2];
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.bench;
+
+import org.example.service.IdGenerator;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Id Insert Benchmark
+ * Inserts the same expense rows twice into throwaway databases: once keyed by
+ * random UUID strings (TEXT PRIMARY KEY, the old schema) and once by IdGenerator
+ * keys (INTEGER PRIMARY KEY). Both tables carry the two expense indexes. Rows are
+ * committed in batches like the write queue does, and throughput is reported for
+ * the first and last tenth of the run, when the B-trees are small and large.
+ *
+ * Usage: java org.example.bench.IdInsertBenchmark [rows] [batchSize]
+ */
+public class IdInsertBenchmark {
+
+    private static final String[] USERS = {"u1", "u2", "u3", "u4", "u5", "u6", "u7", "u8"};
+
+    private interface KeySource {
+        void bind(PreparedStatement ps) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        Class.forName("org.sqlite.JDBC");
+        System.out.println("Inserting " + rows + " rows, " + batchSize + " per transaction:");
+        run("UUID TEXT PRIMARY KEY", "TEXT", rows, batchSize,
+                ps -> ps.setString(1, UUID.randomUUID().toString()));
+        run("IdGenerator INTEGER KEY", "INTEGER", rows, batchSize,
+                ps -> ps.setLong(1, IdGenerator.next()));
+    }
+
+    private static void run(String label, String keyType, int rows, int batchSize, KeySource keys) throws Exception {
+        File dbFile = File.createTempFile("id-bench", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath())) {
+            try (Statement stmt = conn.createStatement()) {
+                // Same settings as DatabaseHelper
+                stmt.execute("PRAGMA journal_mode=WAL");
+                stmt.execute("PRAGMA synchronous=NORMAL");
+                stmt.execute("CREATE TABLE EXPENSES (expense_id " + keyType + " PRIMARY KEY, user_id TEXT NOT NULL, " +
+                        "group_id TEXT, category_id INTEGER NOT NULL, amount_minor INTEGER NOT NULL, " +
+                        "epoch_day INTEGER NOT NULL, note TEXT)");
+                stmt.execute("CREATE INDEX idx_expenses_user_group_day ON EXPENSES(user_id, group_id, epoch_day)");
+                stmt.execute("CREATE INDEX idx_expenses_group_day ON EXPENSES(group_id, epoch_day)");
+            }
+
+            conn.setAutoCommit(false);
+            int tenth = Math.max(1, rows / 10);
+            long firstTenthNanos = 0;
+            long lastTenthStart = 0;
+            long start = System.nanoTime();
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO EXPENSES (expense_id, user_id, group_id, " +
+                    "category_id, amount_minor, epoch_day, note) VALUES (?, ?, NULL, ?, ?, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    if (i == tenth) firstTenthNanos = System.nanoTime() - start;
+                    if (i == rows - tenth) lastTenthStart = System.nanoTime();
+                    keys.bind(ps);
+                    ps.setString(2, USERS[i % USERS.length]);
+                    ps.setInt(3, 1 + i % 19);
+                    ps.setLong(4, 100 + (i * 7919L) % 500_000);
+                    ps.setInt(5, 19_000 + i % 1_500);
+                    ps.setString(6, "note " + i);
+                    ps.executeUpdate();
+                    if ((i + 1) % batchSize == 0) conn.commit();
+                }
+            }
+            conn.commit();
+            long end = System.nanoTime();
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            }
+
+            System.out.printf("  %-24s total %6.1f s  %9.0f rows/s   first 10%% %9.0f rows/s   last 10%% %9.0f rows/s   file %6.1f MB%n",
+                    label,
+                    (end - start) / 1e9,
+                    rows / ((end - start) / 1e9),
+                    tenth / (firstTenthNanos / 1e9),
+                    tenth / ((end - lastTenthStart) / 1e9),
+                    dbFile.length() / (1024.0 * 1024.0));
+        }
+        dbFile.delete();
+    }
+}
@@ -3,6 +3,7 @@ package org.example.controller;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import org.example.model.Money;
 import org.example.service.ExpenseService;
 import org.example.util.SessionManager;
 
@@ -10,6 +11,8 @@ import java.time.LocalDate;
 
 public class AddExpenseController {
 
+    private static final Money MAX_AMOUNT = Money.ofMajor(1_000_000);
+
     @FXML
     private ComboBox<String> categoryComboBox;
 
@@ -82,7 +85,7 @@ public class AddExpenseController {
             String categoryWithEmoji = categoryComboBox.getValue();
             String category = categoryWithEmoji.substring(categoryWithEmoji.indexOf(" ") + 1);
 
-            double amount = Double.parseDouble(amountField.getText());
+            Money amount = Money.parse(amountField.getText());
             String date = datePicker.getValue().toString();
             String note = noteArea.getText().trim();
 
@@ -101,7 +104,7 @@ public class AddExpenseController {
 
             if (success) {
                 showAlert(Alert.AlertType.INFORMATION, "Success",
-                    "✅ Expense added successfully!\n\nAmount: ৳" + String.format("%.2f", amount) +
+                    "✅ Expense added successfully!\n\nAmount: " + amount.format() +
                     "\nCategory: " + category +
                     "\nDate: " + date);
                 closeDialog();
@@ -148,14 +151,14 @@ public class AddExpenseController {
         }
 
         try {
-            double amount = Double.parseDouble(amountField.getText());
-            if (amount <= 0) {
+            Money amount = Money.parse(amountField.getText());
+            if (!amount.isPositive()) {
                 showAlert(Alert.AlertType.WARNING, "Validation Error",
                     "⚠️ Amount must be greater than 0!");
                 amountField.requestFocus();
                 return false;
             }
-            if (amount > 1000000) {
+            if (amount.compareTo(MAX_AMOUNT) > 0) {
                 showAlert(Alert.AlertType.WARNING, "Validation Error",
                     "⚠️ Amount seems too large! Please check.");
                 amountField.requestFocus();
@@ -1,11 +1,16 @@
 package org.example.controller;
 
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.chart.PieChart;
 import javafx.scene.control.*;
 import org.example.MainApp;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.Money;
+import org.example.repository.ExpenseRepository;
+import org.example.service.AggregationService;
+import org.example.service.CategoryTotals;
 import org.example.service.ExpenseService;
 import org.example.service.ParentChildAlertService;
 import org.example.service.UserService;
@@ -13,6 +18,7 @@ import org.example.util.SessionManager;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings({"unused", "FieldCanBeLocal"})
@@ -54,50 +60,38 @@ public class ChildAnalyticsController {
             childNameLabel.setText("Child Analytics: " + child.getName());
         }
 
-        ObservableList<Expense> expenses = ExpenseService.getPersonalExpensesObservable(childUserId);
-
-        double total = 0;
-        double monthTotal = 0;
-        Map<String, Double> categoryMap = new HashMap<>();
-
+        // Totals and per-category rows for this month, grouped by the database
         LocalDate now = LocalDate.now();
-        LocalDate monthStart = now.withDayOfMonth(1);
-
-        for (Expense exp : expenses) {
-            total += exp.getAmount();
-
-            try {
-                LocalDate expDate = LocalDate.parse(exp.getDate());
-                if (!expDate.isBefore(monthStart) && !expDate.isAfter(now)) {
-                    monthTotal += exp.getAmount();
-                    categoryMap.merge(exp.getCategory(), exp.getAmount(), Double::sum);
-                }
-            } catch (Exception ignored) {}
-        }
+        DayRange monthToDate = DayRange.of(now.withDayOfMonth(1), now);
+        Money total = ExpenseService.getTotalExpenses(childUserId);
+        long monthTotal = ExpenseService.getPersonalTotals(childUserId, monthToDate).totalMinor();
+        CategoryTotals categoryTotals = AggregationService.getPersonalCategoryTotals(childUserId, monthToDate);
 
-        totalExpensesLabel.setText(String.format("৳%.2f", total));
-        monthExpensesLabel.setText(String.format("৳%.2f", monthTotal));
-        categoryCountLabel.setText(String.valueOf(categoryMap.size()));
+        totalExpensesLabel.setText(total.format());
+        monthExpensesLabel.setText(Money.format(monthTotal));
+        Map<String, Long> byCategory = categoryTotals.toSortedMap();
+        categoryCountLabel.setText(String.valueOf(byCategory.size()));
 
         if (categoryPieChart != null) {
             categoryPieChart.getData().clear();
-            for (Map.Entry<String, Double> entry : categoryMap.entrySet()) {
+            for (Map.Entry<String, Long> entry : byCategory.entrySet()) {
+                long amount = entry.getValue();
                 PieChart.Data slice = new PieChart.Data(
-                    entry.getKey() + " (৳" + String.format("%.0f", entry.getValue()) + ")",
-                    entry.getValue()
+                    entry.getKey() + " (৳" + (amount + 50) / 100 + ")",
+                    amount / 100.0
                 );
                 categoryPieChart.getData().add(slice);
             }
         }
 
         javafx.collections.ObservableList<String> expenseStrings = javafx.collections.FXCollections.observableArrayList();
-        int limit = Math.min(10, expenses.size());
-        for (int i = 0; i < limit; i++) {
-            Expense exp = expenses.get(i);
-            String expStr = String.format("%s - %s: ৳%.2f (%s)",
+        List<Expense> recent = ExpenseService.getPersonalExpensesPage(childUserId, DayRange.ALL,
+            ExpenseRepository.ANY_CATEGORY, ExpensePage.Cursor.START, 10).expenses();
+        for (Expense exp : recent) {
+            String expStr = String.format("%s - %s: %s (%s)",
                 exp.getDate(),
                 exp.getCategory(),
-                exp.getAmount(),
+                exp.getAmount().format(),
                 exp.getNote() != null ? exp.getNote() : "No note"
             );
             expenseStrings.add(expStr);
@@ -10,7 +10,10 @@ import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import org.example.MainApp;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.Money;
+import org.example.service.CategoryRegistry;
 import org.example.service.ExpenseService;
 import org.example.service.UserService;
 import org.example.util.SessionManager;
@@ -23,6 +26,8 @@ import java.util.stream.Collectors;
 @SuppressWarnings({"unused", "FieldCanBeLocal"})
 public class ChildExpenseListController {
 
+    private static final int ALL_CATEGORIES = -1;
+
     @FXML private Label childNameLabel;
     @FXML private FlowPane expenseCardsPane;
     @FXML private VBox emptyStatePane;
@@ -97,10 +102,15 @@ public class ChildExpenseListController {
     private void applyFilters() {
         if (expensesList == null) return;
 
+        // Resolve the filter values once; rows are then compared by category id and epoch day
+        int categoryId = selectedCategoryId();
+        DayRange dateRange = DayRange.of(fromDatePicker != null ? fromDatePicker.getValue() : null,
+                                         toDatePicker != null ? toDatePicker.getValue() : null);
+
         List<Expense> filtered = expensesList.stream()
             .filter(this::matchesSearchFilter)
-            .filter(this::matchesCategoryFilter)
-            .filter(this::matchesDateFilter)
+            .filter(e -> matchesCategoryFilter(e, categoryId))
+            .filter(e -> matchesDateFilter(e, dateRange))
             .collect(Collectors.toList());
 
         filteredExpenses = FXCollections.observableArrayList(filtered);
@@ -115,40 +125,27 @@ public class ChildExpenseListController {
 
         String search = searchField.getText().toLowerCase();
         String note = expense.getNote() != null ? expense.getNote().toLowerCase() : "";
-        String amount = String.valueOf(expense.getAmount());
+        String amount = expense.getAmount().toPlainString();
         String category = expense.getCategory() != null ? expense.getCategory().toLowerCase() : "";
 
         return note.contains(search) || amount.contains(search) || category.contains(search);
     }
 
-    private boolean matchesCategoryFilter(Expense expense) {
+    private int selectedCategoryId() {
         if (categoryFilter == null || categoryFilter.getValue() == null ||
             categoryFilter.getValue().equals("All Categories")) {
-            return true;
+            return ALL_CATEGORIES;
         }
-
-        return expense.getCategory() != null &&
-               expense.getCategory().equalsIgnoreCase(categoryFilter.getValue());
+        return CategoryRegistry.lookup(categoryFilter.getValue());
     }
 
-    private boolean matchesDateFilter(Expense expense) {
-        try {
-            LocalDate expenseDate = LocalDate.parse(expense.getDate());
-            LocalDate fromDate = fromDatePicker != null ? fromDatePicker.getValue() : null;
-            LocalDate toDate = toDatePicker != null ? toDatePicker.getValue() : null;
-
-            if (fromDate != null && expenseDate.isBefore(fromDate)) {
-                return false;
-            }
-
-            if (toDate != null && expenseDate.isAfter(toDate)) {
-                return false;
-            }
+    private boolean matchesCategoryFilter(Expense expense, int categoryId) {
+        return categoryId == ALL_CATEGORIES || expense.getCategoryId() == categoryId;
+    }
 
-            return true;
-        } catch (Exception e) {
-            return true;
-        }
+    private boolean matchesDateFilter(Expense expense, DayRange dateRange) {
+        int day = expense.getEpochDay();
+        return day == Expense.NO_DATE || dateRange.contains(day);
     }
 
     private void loadChildExpenses() {
@@ -208,7 +205,7 @@ public class ChildExpenseListController {
         HBox amountRow = new HBox(15);
         amountRow.setAlignment(Pos.CENTER_LEFT);
 
-        Label amountLabel = new Label(String.format("৳%.2f", expense.getAmount()));
+        Label amountLabel = new Label(expense.getAmount().format());
         amountLabel.getStyleClass().add("expense-amount");
 
         Label dateLabel = new Label("📅 " + expense.getDate());
@@ -254,12 +251,12 @@ public class ChildExpenseListController {
     private void updateStatistics() {
         ObservableList<Expense> displayList = filteredExpenses != null ? filteredExpenses : expensesList;
 
-        double total = displayList != null ? displayList.stream()
-            .mapToDouble(Expense::getAmount)
-            .sum() : 0.0;
+        long total = displayList != null ? displayList.stream()
+            .mapToLong(Expense::getAmountMinor)
+            .sum() : 0;
 
         if (totalExpensesLabel != null) {
-            totalExpensesLabel.setText(String.format("৳%.2f", total));
+            totalExpensesLabel.setText(Money.format(total));
         }
         if (transactionCountLabel != null) {
             transactionCountLabel.setText(String.valueOf(displayList != null ? displayList.size() : 0));
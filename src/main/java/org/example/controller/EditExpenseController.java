@@ -4,6 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.model.Expense;
+import org.example.model.Money;
 import org.example.service.ExpenseService;
 
 import java.time.LocalDate;
@@ -11,6 +12,8 @@ import java.time.LocalDate;
 @SuppressWarnings({"unused", "FieldCanBeLocal"})
 public class EditExpenseController {
 
+    private static final Money MAX_AMOUNT = Money.ofMajor(1_000_000);
+
     @FXML
     private ComboBox<String> categoryComboBox;
 
@@ -75,13 +78,10 @@ public class EditExpenseController {
                 categoryComboBox.setValue("📝 Other");
             }
 
-            amountField.setText(String.valueOf(expense.getAmount()));
+            amountField.setText(expense.getAmount().toPlainString());
 
-            try {
-                datePicker.setValue(LocalDate.parse(expense.getDate()));
-            } catch (Exception e) {
-                datePicker.setValue(LocalDate.now());
-            }
+            LocalDate date = expense.getLocalDate();
+            datePicker.setValue(date != null ? date : LocalDate.now());
 
             noteArea.setText(expense.getNote() != null && !expense.getNote().equals("No note") ? expense.getNote() : "");
         }
@@ -103,7 +103,7 @@ public class EditExpenseController {
             String categoryWithEmoji = categoryComboBox.getValue();
             String category = categoryWithEmoji.substring(categoryWithEmoji.indexOf(" ") + 1);
 
-            double amount = Double.parseDouble(amountField.getText());
+            Money amount = Money.parse(amountField.getText());
             String date = datePicker.getValue().toString();
             String note = noteArea.getText().trim();
 
@@ -121,7 +121,7 @@ public class EditExpenseController {
 
             if (success) {
                 showAlert(Alert.AlertType.INFORMATION, "Success",
-                    "✅ Expense updated successfully!\n\nAmount: ৳" + String.format("%.2f", amount) +
+                    "✅ Expense updated successfully!\n\nAmount: " + amount.format() +
                     "\nCategory: " + category +
                     "\nDate: " + date);
                 closeDialog();
@@ -145,8 +145,8 @@ public class EditExpenseController {
             }
 
             try {
-                double currentAmount = Double.parseDouble(amountField.getText());
-                hasChanges = hasChanges || currentAmount != expenseToEdit.getAmount();
+                Money currentAmount = Money.parse(amountField.getText());
+                hasChanges = hasChanges || !currentAmount.equals(expenseToEdit.getAmount());
             } catch (NumberFormatException ignored) {}
 
             String currentNote = noteArea.getText().trim();
@@ -186,14 +186,14 @@ public class EditExpenseController {
         }
 
         try {
-            double amount = Double.parseDouble(amountField.getText());
-            if (amount <= 0) {
+            Money amount = Money.parse(amountField.getText());
+            if (!amount.isPositive()) {
                 showAlert(Alert.AlertType.WARNING, "Validation Error",
                     "⚠️ Amount must be greater than 0!");
                 amountField.requestFocus();
                 return false;
             }
-            if (amount > 1000000) {
+            if (amount.compareTo(MAX_AMOUNT) > 0) {
                 showAlert(Alert.AlertType.WARNING, "Validation Error",
                     "⚠️ Amount seems too large! Please check.");
                 amountField.requestFocus();
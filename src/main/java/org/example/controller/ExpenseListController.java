@@ -9,10 +9,15 @@ import javafx.scene.control.*;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.Money;
 import org.example.service.ExpenseService;
 import org.example.util.SessionManager;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SuppressWarnings({"unused", "FieldCanBeLocal"})
 public class ExpenseListController {
 
@@ -24,8 +29,12 @@ public class ExpenseListController {
     @FXML private VBox emptyStatePane;
     @FXML private Button addExpenseButton;
     @FXML private Button backButton;
+    @FXML private HBox selectionBar;
+    @FXML private Label selectionCountLabel;
 
     private ObservableList<Expense> expensesList;
+    private final ListChangeListener<Expense> expensesListener = this::onExpensesChanged;
+    private final ExpenseSelection selection = new ExpenseSelection();
     private String currentUserId;
 
     @FXML
@@ -33,21 +42,58 @@ public class ExpenseListController {
         SessionManager session = SessionManager.getInstance();
         if (session.getCurrentUser() != null) {
             this.currentUserId = session.getCurrentUser().getUserId();
+            selection.bindBar(selectionBar, selectionCountLabel);
             loadExpenses();
         }
     }
 
+    /**
+     * The shared list is refreshed by diff; once it is shown, reloading only touches
+     * the cards of rows that were added, removed or edited
+     */
     private void loadExpenses() {
         if (currentUserId == null || currentUserId.isEmpty()) return;
 
-        expensesList = ExpenseService.getPersonalExpensesObservable(currentUserId);
-        refreshExpenseCards();
+        ObservableList<Expense> list = ExpenseService.getPersonalExpensesObservable(currentUserId);
+        if (list != expensesList) {
+            if (expensesList != null) expensesList.removeListener(expensesListener);
+            expensesList = list;
+            expensesList.addListener(expensesListener);
+            refreshExpenseCards();
+        }
         updateStatistics();
+    }
 
-        expensesList.addListener((ListChangeListener<Expense>) change -> {
-            refreshExpenseCards();
-            updateStatistics();
-        });
+    /**
+     * Mirror each sub-change onto the card pane (cards are in list order)
+     */
+    private void onExpensesChanged(ListChangeListener.Change<? extends Expense> change) {
+        selection.retainPresent(expensesList);
+        if (expenseCardsPane == null) return;
+        var cards = expenseCardsPane.getChildren();
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                cards.remove(from, change.getTo());
+                for (int i = from; i < change.getTo(); i++) {
+                    cards.add(i, createExpenseCard(expensesList.get(i)));
+                }
+                continue;
+            }
+            if (change.wasRemoved()) {
+                cards.remove(from, from + change.getRemovedSize());
+            }
+            if (change.wasAdded()) {
+                List<VBox> added = new ArrayList<>(change.getAddedSize());
+                for (Expense expense : change.getAddedSubList()) {
+                    added.add(createExpenseCard(expense));
+                }
+                cards.addAll(from, added);
+            }
+        }
+        showEmptyState(expensesList.isEmpty());
+        updateExpenseCount();
+        updateStatistics();
     }
 
     private void refreshExpenseCards() {
@@ -56,23 +102,28 @@ public class ExpenseListController {
         expenseCardsPane.getChildren().clear();
 
         if (expensesList == null || expensesList.isEmpty()) {
-            if (emptyStatePane != null) {
-                emptyStatePane.setVisible(true);
-                emptyStatePane.setManaged(true);
-            }
+            showEmptyState(true);
             return;
         }
 
-        if (emptyStatePane != null) {
-            emptyStatePane.setVisible(false);
-            emptyStatePane.setManaged(false);
-        }
+        showEmptyState(false);
 
         for (Expense expense : expensesList) {
             expenseCardsPane.getChildren().add(createExpenseCard(expense));
         }
 
-        if (expenseCountLabel != null) {
+        updateExpenseCount();
+    }
+
+    private void showEmptyState(boolean empty) {
+        if (emptyStatePane != null) {
+            emptyStatePane.setVisible(empty);
+            emptyStatePane.setManaged(empty);
+        }
+    }
+
+    private void updateExpenseCount() {
+        if (expenseCountLabel != null && expensesList != null) {
             expenseCountLabel.setText(expensesList.size() + " expenses");
         }
     }
@@ -91,13 +142,13 @@ public class ExpenseListController {
         Label categoryBadge = new Label(getCategoryEmoji(expense.getCategory()) + " " + expense.getCategory());
         categoryBadge.getStyleClass().add("expense-category-badge");
 
-        topRow.getChildren().add(categoryBadge);
+        topRow.getChildren().addAll(selection.checkBoxFor(expense, card), categoryBadge);
 
         // Amount and date row
         HBox amountRow = new HBox(15);
         amountRow.setAlignment(Pos.CENTER_LEFT);
 
-        Label amountLabel = new Label(String.format("৳%.2f", expense.getAmount()));
+        Label amountLabel = new Label(expense.getAmount().format());
         amountLabel.getStyleClass().add("expense-amount");
 
         Label dateLabel = new Label("📅 " + expense.getDate());
@@ -153,17 +204,18 @@ public class ExpenseListController {
     private void updateStatistics() {
         if (currentUserId == null || expensesList == null) return;
 
-        double total = expensesList.stream().mapToDouble(Expense::getAmount).sum();
+        long total = expensesList.stream().mapToLong(Expense::getAmountMinor).sum();
         if (totalExpensesLabel != null) {
-            totalExpensesLabel.setText(String.format("৳%.2f", total));
+            totalExpensesLabel.setText(Money.format(total));
         }
 
-        double monthTotal = expensesList.stream()
-            .filter(e -> isCurrentMonth(e.getDate()))
-            .mapToDouble(Expense::getAmount)
+        DayRange month = DayRange.month(java.time.LocalDate.now());
+        long monthTotal = expensesList.stream()
+            .filter(e -> month.contains(e.getEpochDay()))
+            .mapToLong(Expense::getAmountMinor)
             .sum();
         if (monthExpensesLabel != null) {
-            monthExpensesLabel.setText(String.format("৳%.2f", monthTotal));
+            monthExpensesLabel.setText(Money.format(monthTotal));
         }
 
         if (transactionCountLabel != null) {
@@ -171,16 +223,6 @@ public class ExpenseListController {
         }
     }
 
-    private boolean isCurrentMonth(String dateStr) {
-        try {
-            java.time.LocalDate date = java.time.LocalDate.parse(dateStr);
-            java.time.LocalDate today = java.time.LocalDate.now();
-            return date.getYear() == today.getYear() && date.getMonth() == today.getMonth();
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     @FXML
     private void handleAddExpense() {
         try {
@@ -249,6 +291,34 @@ public class ExpenseListController {
         }
     }
 
+    // ==== MULTI-SELECT ====
+
+    @FXML
+    private void handleSelectAll() {
+        if (expensesList == null) return;
+        selection.selectAll(expensesList);
+        refreshExpenseCards();
+    }
+
+    @FXML
+    private void handleClearSelection() {
+        selection.clear();
+        refreshExpenseCards();
+    }
+
+    /**
+     * The service updates the personal list in one change; its listener redraws the cards
+     */
+    @FXML
+    private void handleBulkDelete() {
+        selection.deleteSelected();
+    }
+
+    @FXML
+    private void handleBulkChangeCategory() {
+        selection.changeCategoryOfSelected();
+    }
+
     @FXML
     private void handleBack() {
         try {
@@ -0,0 +1,144 @@
+package org.example.controller;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.scene.Node;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceDialog;
+import javafx.scene.control.Label;
+import org.example.model.Expense;
+import org.example.service.CategoryRegistry;
+import org.example.service.ExpenseService;
+import org.example.util.AlertUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Expense Selection
+ * Multi-select state shared by the expense card views: a checkbox per card, the
+ * selection bar, and the bulk delete / change-category actions. Each action is one
+ * ExpenseService call (one transaction). The selection is only expense ids, so it
+ * survives the cards being rebuilt and never writes back a stale copy of a row.
+ */
+class ExpenseSelection {
+
+    private static final String SELECTED_STYLE = "expense-card-selected";
+
+    private final Set<String> selected = new LinkedHashSet<>();
+    private final IntegerProperty count = new SimpleIntegerProperty();
+
+    /**
+     * Checkbox that selects the expense; highlights the card while it is checked
+     */
+    CheckBox checkBoxFor(Expense expense, Node card) {
+        CheckBox box = new CheckBox();
+        box.getStyleClass().add("expense-select-box");
+        box.setSelected(selected.contains(expense.getExpenseId()));
+        setHighlighted(card, box.isSelected());
+        box.selectedProperty().addListener((obs, wasSelected, isSelected) -> {
+            if (isSelected) {
+                selected.add(expense.getExpenseId());
+            } else {
+                selected.remove(expense.getExpenseId());
+            }
+            setHighlighted(card, isSelected);
+            count.set(selected.size());
+        });
+        return box;
+    }
+
+    private static void setHighlighted(Node card, boolean on) {
+        if (on) {
+            if (!card.getStyleClass().contains(SELECTED_STYLE)) card.getStyleClass().add(SELECTED_STYLE);
+        } else {
+            card.getStyleClass().remove(SELECTED_STYLE);
+        }
+    }
+
+    /**
+     * Show the bar only while something is selected, with the count in the label
+     */
+    void bindBar(Node bar, Label countLabel) {
+        if (bar != null) {
+            bar.visibleProperty().bind(count.greaterThan(0));
+            bar.managedProperty().bind(bar.visibleProperty());
+        }
+        if (countLabel != null) {
+            countLabel.textProperty().bind(count.asString("%d selected"));
+        }
+    }
+
+    void selectAll(Collection<? extends Expense> expenses) {
+        for (Expense expense : expenses) {
+            selected.add(expense.getExpenseId());
+        }
+        count.set(selected.size());
+    }
+
+    /**
+     * Forget selected ids that are no longer in the list (deleted one at a time, or
+     * removed by a refresh); call whenever the list changes
+     */
+    void retainPresent(Collection<? extends Expense> expenses) {
+        if (selected.isEmpty()) return;
+        Set<String> present = new HashSet<>();
+        for (Expense expense : expenses) {
+            present.add(expense.getExpenseId());
+        }
+        if (selected.retainAll(present)) count.set(selected.size());
+    }
+
+    void clear() {
+        selected.clear();
+        count.set(0);
+    }
+
+    // ==== BULK ACTIONS ====
+
+    /**
+     * Confirm, then delete every selected expense. Returns true if anything was deleted.
+     */
+    boolean deleteSelected() {
+        if (selected.isEmpty()) return false;
+        int n = selected.size();
+        if (!AlertUtil.showConfirmation("Delete Expenses",
+                "This will permanently delete " + n + (n == 1 ? " expense." : " expenses."))) {
+            return false;
+        }
+        int deleted = ExpenseService.deleteExpenses(new ArrayList<>(selected));
+        clear();
+        if (deleted == 0) {
+            AlertUtil.showError("Delete Failed", "The selected expenses could not be deleted.");
+        }
+        return deleted > 0;
+    }
+
+    /**
+     * Ask for a category and move every selected expense to it. Returns true if anything changed.
+     */
+    boolean changeCategoryOfSelected() {
+        if (selected.isEmpty()) return false;
+        List<String> categories = CategoryRegistry.allNames();
+        if (categories.isEmpty()) return false;
+
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(categories.get(0), categories);
+        dialog.setTitle("Change Category");
+        dialog.setHeaderText(null);
+        dialog.setContentText("Move " + selected.size() + " selected to:");
+        Optional<String> category = dialog.showAndWait();
+        if (category.isEmpty()) return false;
+
+        int updated = ExpenseService.updateExpensesCategory(new ArrayList<>(selected), category.get());
+        clear();
+        if (updated == 0) {
+            AlertUtil.showError("Update Failed", "The selected expenses could not be updated.");
+        }
+        return updated > 0;
+    }
+}
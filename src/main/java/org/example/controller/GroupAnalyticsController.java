@@ -4,7 +4,11 @@ import javafx.fxml.FXML;
 import javafx.scene.chart.PieChart;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
-import org.example.model.Expense;
+import org.example.model.DayRange;
+import org.example.model.ExpenseTotals;
+import org.example.model.Money;
+import org.example.service.AggregationService;
+import org.example.service.CategoryTotals;
 import org.example.service.ExpenseService;
 import org.example.service.GroupService;
 import org.example.service.UserService;
@@ -40,46 +44,31 @@ public class GroupAnalyticsController {
 
     private void loadData() {
         if (groupId == null) return;
-        List<Expense> expenses = ExpenseService.getGroupExpensesObservable(groupId);
-
-        double total = 0.0, monthTotal = 0.0;
-        LocalDate now = LocalDate.now();
-        Map<String, Double> categoryTotals = new HashMap<>();
-        Map<String, Double> memberMonthTotals = new HashMap<>(); // userId -> amount
-
-        for (Expense e : expenses) {
-            total += e.getAmount();
-            try {
-                LocalDate d = LocalDate.parse(e.getDate());
-                if (d.getYear() == now.getYear() && d.getMonth() == now.getMonth()) {
-                    monthTotal += e.getAmount();
-                    categoryTotals.merge(Optional.ofNullable(e.getCategory()).orElse("Other"), e.getAmount(), Double::sum);
-                    if (e.getUserId() != null) {
-                        memberMonthTotals.merge(e.getUserId(), e.getAmount(), Double::sum);
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
-
-        if (totalLabel != null) totalLabel.setText(String.format("৳%.2f", total));
-        if (monthLabel != null) monthLabel.setText(String.format("৳%.2f", monthTotal));
+        // Totals and per-category / per-member rows for this month, grouped by the database
+        DayRange month = DayRange.month(LocalDate.now());
+        Money total = ExpenseService.getGroupTotalExpenses(groupId);
+        long monthTotal = ExpenseService.getGroupTotals(groupId, month).totalMinor();
+        CategoryTotals categoryTotals = AggregationService.getGroupCategoryTotals(groupId, month);
+        Map<String, ExpenseTotals> memberMonthTotals = AggregationService.getMemberTotals(groupId, month);
+
+        if (totalLabel != null) totalLabel.setText(total.format());
+        if (monthLabel != null) monthLabel.setText(Money.format(monthTotal));
         if (membersLabel != null) membersLabel.setText(String.valueOf(GroupService.getMemberCount(groupId)));
 
         if (categoryPieChart != null) {
             categoryPieChart.getData().clear();
-            categoryTotals.entrySet().stream()
-                .sorted((a,b)->Double.compare(b.getValue(), a.getValue()))
-                .forEach(en -> categoryPieChart.getData().add(new PieChart.Data(en.getKey(), en.getValue())));
+            categoryTotals.toSortedMap()
+                .forEach((name, amount) -> categoryPieChart.getData().add(new PieChart.Data(name, amount / 100.0)));
         }
 
         if (memberSpendList != null) {
             List<String> items = new ArrayList<>();
             memberMonthTotals.entrySet().stream()
-                .sorted((a,b)->Double.compare(b.getValue(), a.getValue()))
+                .sorted((a,b)->Long.compare(b.getValue().totalMinor(), a.getValue().totalMinor()))
                 .forEach(en -> {
                     var user = UserService.getUserById(en.getKey());
                     String name = user != null ? user.getName() : en.getKey();
-                    items.add(String.format("%s: ৳%.2f", name, en.getValue()));
+                    items.add(name + ": " + Money.format(en.getValue().totalMinor()));
                 });
             memberSpendList.getItems().setAll(items);
         }
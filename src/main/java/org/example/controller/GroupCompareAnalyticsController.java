@@ -4,8 +4,11 @@ import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.Money;
 import org.example.model.GroupMember;
+import org.example.service.CategoryTotals;
 import org.example.service.ExpenseService;
 import org.example.service.GroupService;
 
@@ -117,19 +120,11 @@ public class GroupCompareAnalyticsController {
     }
     
     private List<Expense> filterExpenses(List<Expense> expenses, String memberId) {
-        LocalDate today = LocalDate.now();
-        LocalDate startDate = getStartDate();
+        DayRange range = DayRange.of(getStartDate(), LocalDate.now());
         
         return expenses.stream()
-            .filter(e -> {
-                if (memberId != null && !memberId.equals(e.getUserId())) return false;
-                try {
-                    LocalDate date = LocalDate.parse(e.getDate());
-                    return !date.isBefore(startDate) && !date.isAfter(today);
-                } catch (Exception ex) {
-                    return false;
-                }
-            })
+            .filter(e -> memberId == null || memberId.equals(e.getUserId()))
+            .filter(e -> range.contains(e.getEpochDay()))
             .collect(Collectors.toList());
     }
     
@@ -176,25 +171,25 @@ public class GroupCompareAnalyticsController {
     }
     
     private void updateSummaryStats(MemberItem m1, List<Expense> exp1, MemberItem m2, List<Expense> exp2) {
-        double total1 = exp1.stream().mapToDouble(Expense::getAmount).sum();
-        double total2 = exp2.stream().mapToDouble(Expense::getAmount).sum();
+        long total1 = exp1.stream().mapToLong(Expense::getAmountMinor).sum();
+        long total2 = exp2.stream().mapToLong(Expense::getAmountMinor).sum();
         int count1 = exp1.size();
         int count2 = exp2.size();
-        double avg1 = count1 > 0 ? total1 / count1 : 0;
-        double avg2 = count2 > 0 ? total2 / count2 : 0;
+        long avg1 = count1 > 0 ? Math.round((double) total1 / count1) : 0;
+        long avg2 = count2 > 0 ? Math.round((double) total2 / count2) : 0;
         
         member1NameLabel.setText(m1.getName());
-        member1TotalLabel.setText(String.format("৳%.2f", total1));
+        member1TotalLabel.setText(Money.format(total1));
         member1CountLabel.setText(String.valueOf(count1));
-        member1AvgLabel.setText(String.format("৳%.2f", avg1));
+        member1AvgLabel.setText(Money.format(avg1));
         
         member2NameLabel.setText(m2.getName());
-        member2TotalLabel.setText(String.format("৳%.2f", total2));
+        member2TotalLabel.setText(Money.format(total2));
         member2CountLabel.setText(String.valueOf(count2));
-        member2AvgLabel.setText(String.format("৳%.2f", avg2));
+        member2AvgLabel.setText(Money.format(avg2));
         
-        double diff = Math.abs(total1 - total2);
-        differenceLabel.setText(String.format("৳%.2f", diff));
+        long diff = Math.abs(total1 - total2);
+        differenceLabel.setText(Money.format(diff));
         
         if (total1 > total2) {
             differenceDescLabel.setText(m1.getName() + " spends more");
@@ -214,37 +209,27 @@ public class GroupCompareAnalyticsController {
     private void updatePieCharts(MemberItem m1, List<Expense> exp1, MemberItem m2, List<Expense> exp2) {
         // Member 1 Pie Chart
         member1PieChart.getData().clear();
-        Map<String, Double> cat1 = exp1.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        Map<String, Long> cat1 = CategoryTotals.of(exp1).toSortedMap();
         
         cat1.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
             .limit(6)
             .forEach(entry -> {
                 member1PieChart.getData().add(new PieChart.Data(
                     entry.getKey(),
-                    entry.getValue()
+                    entry.getValue() / 100.0
                 ));
             });
         
         // Member 2 Pie Chart
         member2PieChart.getData().clear();
-        Map<String, Double> cat2 = exp2.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        Map<String, Long> cat2 = CategoryTotals.of(exp2).toSortedMap();
         
         cat2.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
             .limit(6)
             .forEach(entry -> {
                 member2PieChart.getData().add(new PieChart.Data(
                     entry.getKey(),
-                    entry.getValue()
+                    entry.getValue() / 100.0
                 ));
             });
     }
@@ -252,17 +237,9 @@ public class GroupCompareAnalyticsController {
     private void updateCategoryCompareChart(MemberItem m1, List<Expense> exp1, MemberItem m2, List<Expense> exp2) {
         categoryCompareChart.getData().clear();
         
-        Map<String, Double> cat1 = exp1.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        Map<String, Long> cat1 = CategoryTotals.of(exp1).toSortedMap();
         
-        Map<String, Double> cat2 = exp2.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        Map<String, Long> cat2 = CategoryTotals.of(exp2).toSortedMap();
         
         // Get all categories
         Set<String> allCategories = new HashSet<>();
@@ -271,9 +248,9 @@ public class GroupCompareAnalyticsController {
         
         // Sort by total spending
         List<String> sortedCategories = allCategories.stream()
-            .sorted((a, b) -> Double.compare(
-                cat1.getOrDefault(b, 0.0) + cat2.getOrDefault(b, 0.0),
-                cat1.getOrDefault(a, 0.0) + cat2.getOrDefault(a, 0.0)
+            .sorted((a, b) -> Long.compare(
+                cat1.getOrDefault(b, 0L) + cat2.getOrDefault(b, 0L),
+                cat1.getOrDefault(a, 0L) + cat2.getOrDefault(a, 0L)
             ))
             .limit(8)
             .collect(Collectors.toList());
@@ -285,8 +262,8 @@ public class GroupCompareAnalyticsController {
         series2.setName(m2.getName());
         
         for (String category : sortedCategories) {
-            series1.getData().add(new XYChart.Data<>(category, cat1.getOrDefault(category, 0.0)));
-            series2.getData().add(new XYChart.Data<>(category, cat2.getOrDefault(category, 0.0)));
+            series1.getData().add(new XYChart.Data<>(category, cat1.getOrDefault(category, 0L) / 100.0));
+            series2.getData().add(new XYChart.Data<>(category, cat2.getOrDefault(category, 0L) / 100.0));
         }
         
         categoryCompareChart.getData().addAll(series1, series2);
@@ -301,30 +278,26 @@ public class GroupCompareAnalyticsController {
             startDate = today.minusDays(365);
         }
         
-        Map<LocalDate, Double> daily1 = new TreeMap<>();
-        Map<LocalDate, Double> daily2 = new TreeMap<>();
+        Map<LocalDate, Long> daily1 = new TreeMap<>();
+        Map<LocalDate, Long> daily2 = new TreeMap<>();
         
         // Initialize all dates
         LocalDate current = startDate;
         while (!current.isAfter(today)) {
-            daily1.put(current, 0.0);
-            daily2.put(current, 0.0);
+            daily1.put(current, 0L);
+            daily2.put(current, 0L);
             current = current.plusDays(1);
         }
         
         // Fill values
         for (Expense e : exp1) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                daily1.merge(date, e.getAmount(), Double::sum);
-            } catch (Exception ignored) {}
+            LocalDate date = e.getLocalDate();
+            if (date != null) daily1.merge(date, e.getAmountMinor(), Long::sum);
         }
         
         for (Expense e : exp2) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                daily2.merge(date, e.getAmount(), Double::sum);
-            } catch (Exception ignored) {}
+            LocalDate date = e.getLocalDate();
+            if (date != null) daily2.merge(date, e.getAmountMinor(), Long::sum);
         }
         
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd");
@@ -340,8 +313,8 @@ public class GroupCompareAnalyticsController {
         for (LocalDate date : daily1.keySet()) {
             if (i % skipFactor == 0 || i == daily1.size() - 1) {
                 String label = date.format(formatter);
-                series1.getData().add(new XYChart.Data<>(label, daily1.get(date)));
-                series2.getData().add(new XYChart.Data<>(label, daily2.get(date)));
+                series1.getData().add(new XYChart.Data<>(label, daily1.get(date) / 100.0));
+                series2.getData().add(new XYChart.Data<>(label, daily2.get(date) / 100.0));
             }
             i++;
         }
@@ -352,16 +325,16 @@ public class GroupCompareAnalyticsController {
     private void generateInsights(MemberItem m1, List<Expense> exp1, MemberItem m2, List<Expense> exp2) {
         List<String> insights = new ArrayList<>();
         
-        double total1 = exp1.stream().mapToDouble(Expense::getAmount).sum();
-        double total2 = exp2.stream().mapToDouble(Expense::getAmount).sum();
+        long total1 = exp1.stream().mapToLong(Expense::getAmountMinor).sum();
+        long total2 = exp2.stream().mapToLong(Expense::getAmountMinor).sum();
         
         // Total spending comparison
         if (total1 > total2 && total2 > 0) {
-            double ratio = total1 / total2;
+            double ratio = (double) total1 / total2;
             insights.add(String.format("💰 %s spends %.1fx more than %s overall", 
                 m1.getName(), ratio, m2.getName()));
         } else if (total2 > total1 && total1 > 0) {
-            double ratio = total2 / total1;
+            double ratio = (double) total2 / total1;
             insights.add(String.format("💰 %s spends %.1fx more than %s overall", 
                 m2.getName(), ratio, m1.getName()));
         } else if (total1 == total2 && total1 > 0) {
@@ -378,29 +351,21 @@ public class GroupCompareAnalyticsController {
         }
         
         // Average transaction comparison
-        double avg1 = exp1.isEmpty() ? 0 : total1 / exp1.size();
-        double avg2 = exp2.isEmpty() ? 0 : total2 / exp2.size();
+        long avg1 = exp1.isEmpty() ? 0 : Math.round((double) total1 / exp1.size());
+        long avg2 = exp2.isEmpty() ? 0 : Math.round((double) total2 / exp2.size());
         
         if (avg1 > avg2 * 1.5 && avg2 > 0) {
-            insights.add(String.format("💵 %s has higher average transaction amount (৳%.2f vs ৳%.2f)", 
-                m1.getName(), avg1, avg2));
+            insights.add(String.format("💵 %s has higher average transaction amount (%s vs %s)", 
+                m1.getName(), Money.format(avg1), Money.format(avg2)));
         } else if (avg2 > avg1 * 1.5 && avg1 > 0) {
-            insights.add(String.format("💵 %s has higher average transaction amount (৳%.2f vs ৳%.2f)", 
-                m2.getName(), avg2, avg1));
+            insights.add(String.format("💵 %s has higher average transaction amount (%s vs %s)", 
+                m2.getName(), Money.format(avg2), Money.format(avg1)));
         }
         
         // Category comparison
-        Map<String, Double> cat1 = exp1.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
-        
-        Map<String, Double> cat2 = exp2.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        Map<String, Long> cat1 = CategoryTotals.of(exp1).toSortedMap();
+        
+        Map<String, Long> cat2 = CategoryTotals.of(exp2).toSortedMap();
         
         // Find top categories for each
         Optional<String> top1 = cat1.entrySet().stream()
@@ -412,13 +377,13 @@ public class GroupCompareAnalyticsController {
             .map(Map.Entry::getKey);
         
         if (top1.isPresent()) {
-            insights.add(String.format("🏷️ %s's top category: %s (৳%.2f)", 
-                m1.getName(), top1.get(), cat1.get(top1.get())));
+            insights.add(String.format("🏷️ %s's top category: %s (%s)", 
+                m1.getName(), top1.get(), Money.format(cat1.get(top1.get()))));
         }
         
         if (top2.isPresent()) {
-            insights.add(String.format("🏷️ %s's top category: %s (৳%.2f)", 
-                m2.getName(), top2.get(), cat2.get(top2.get())));
+            insights.add(String.format("🏷️ %s's top category: %s (%s)", 
+                m2.getName(), top2.get(), Money.format(cat2.get(top2.get()))));
         }
         
         // Find categories where one spends significantly more
@@ -427,8 +392,8 @@ public class GroupCompareAnalyticsController {
         allCategories.addAll(cat2.keySet());
         
         for (String cat : allCategories) {
-            double amount1 = cat1.getOrDefault(cat, 0.0);
-            double amount2 = cat2.getOrDefault(cat, 0.0);
+            long amount1 = cat1.getOrDefault(cat, 0L);
+            long amount2 = cat2.getOrDefault(cat, 0L);
             
             if (amount1 > amount2 * 3 && amount2 > 0) {
                 insights.add(String.format("📊 %s spends significantly more on %s", m1.getName(), cat));
@@ -14,22 +14,31 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.Money;
+import org.example.repository.ExpenseRepository;
+import org.example.service.AsyncServices;
+import org.example.service.CategoryRegistry;
 import org.example.service.ExpenseService;
 import org.example.service.GroupBudgetService;
 import org.example.service.GroupService;
+import org.example.service.PagedExpenseList;
 import org.example.service.UserService;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class GroupDashboardController {
 
+    private static final int ALL_CATEGORIES = ExpenseRepository.ANY_CATEGORY;
+
     @FXML private Label groupNameLabel;
     @FXML private Label memberCountLabel;
     @FXML private Label memberCountStatLabel;
@@ -37,6 +46,9 @@ public class GroupDashboardController {
     @FXML private Label monthExpensesLabel;
     @FXML private Label groupBudgetLabel;
     @FXML private FlowPane expenseCardsPane;
+    @FXML private ScrollPane expenseScrollPane;
+    @FXML private HBox selectionBar;
+    @FXML private Label selectionCountLabel;
     @FXML private VBox emptyStatePane;
     @FXML private Button alertButton;
     @FXML private Label alertBadge;
@@ -49,12 +61,15 @@ public class GroupDashboardController {
     @FXML private DatePicker toDatePicker;
     @FXML private Button clearFiltersButton;
 
-    private final Map<String, String> userNameCache = new HashMap<>();
+    // Filled by the page loader in the background, read when cards are built
+    private final Map<String, String> userNameCache = new ConcurrentHashMap<>();
     private String currentGroupId;
     private String currentUserId;
     private String currentGroupName;
-    private ObservableList<Expense> expensesList;
+    // Pages of expenses matching the category and date filters, grown as the cards scroll
+    private PagedExpenseList pagedExpenses;
     private ObservableList<Expense> filteredExpenses;
+    private final ExpenseSelection selection = new ExpenseSelection();
 
     @FXML
     public void initialize() {
@@ -70,20 +85,24 @@ public class GroupDashboardController {
             );
             categoryFilter.setItems(FXCollections.observableArrayList(categories));
             categoryFilter.setValue("All Categories");
-            categoryFilter.setOnAction(e -> applyFilters());
+            categoryFilter.setOnAction(e -> loadExpenses());
         }
 
         // Setup search field listener
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+            searchField.textProperty().addListener((obs, oldVal, newVal) -> {
+                // Never act on rows the search has hidden
+                selection.clear();
+                applyFilters();
+            });
         }
 
         // Setup date pickers listeners
         if (fromDatePicker != null) {
-            fromDatePicker.setOnAction(e -> applyFilters());
+            fromDatePicker.setOnAction(e -> loadExpenses());
         }
         if (toDatePicker != null) {
-            toDatePicker.setOnAction(e -> applyFilters());
+            toDatePicker.setOnAction(e -> loadExpenses());
         }
     }
 
@@ -93,22 +112,37 @@ public class GroupDashboardController {
         if (categoryFilter != null) categoryFilter.setValue("All Categories");
         if (fromDatePicker != null) fromDatePicker.setValue(null);
         if (toDatePicker != null) toDatePicker.setValue(null);
-        applyFilters();
+        loadExpenses();
     }
 
+    /**
+     * Category and date filters are part of the page query; the search text filters
+     * the rows loaded so far (more pages load as the cards scroll)
+     */
     private void applyFilters() {
-        if (expensesList == null) return;
+        if (pagedExpenses == null) return;
 
-        List<Expense> filtered = expensesList.stream()
+        List<Expense> filtered = pagedExpenses.getItems().stream()
             .filter(this::matchesSearchFilter)
-            .filter(this::matchesCategoryFilter)
-            .filter(this::matchesDateFilter)
             .collect(Collectors.toList());
 
         filteredExpenses = FXCollections.observableArrayList(filtered);
         refreshExpenseCards();
     }
 
+    /**
+     * Add cards for a page appended below the ones already shown
+     */
+    private void appendExpenseCards(List<? extends Expense> page) {
+        if (expenseCardsPane == null) return;
+        for (Expense expense : page) {
+            if (!matchesSearchFilter(expense)) continue;
+            filteredExpenses.add(expense);
+            expenseCardsPane.getChildren().add(createExpenseCard(expense));
+        }
+        showEmptyState(filteredExpenses.isEmpty());
+    }
+
     private boolean matchesSearchFilter(Expense expense) {
         if (searchField == null || searchField.getText() == null || searchField.getText().trim().isEmpty()) {
             return true;
@@ -116,40 +150,23 @@ public class GroupDashboardController {
 
         String search = searchField.getText().toLowerCase();
         String note = expense.getNote() != null ? expense.getNote().toLowerCase() : "";
-        String amount = String.valueOf(expense.getAmount());
+        String amount = expense.getAmount().toPlainString();
         String category = expense.getCategory() != null ? expense.getCategory().toLowerCase() : "";
 
         return note.contains(search) || amount.contains(search) || category.contains(search);
     }
 
-    private boolean matchesCategoryFilter(Expense expense) {
+    private int selectedCategoryId() {
         if (categoryFilter == null || categoryFilter.getValue() == null ||
             categoryFilter.getValue().equals("All Categories")) {
-            return true;
+            return ALL_CATEGORIES;
         }
-
-        return expense.getCategory() != null &&
-               expense.getCategory().equalsIgnoreCase(categoryFilter.getValue());
+        return CategoryRegistry.lookup(categoryFilter.getValue());
     }
 
-    private boolean matchesDateFilter(Expense expense) {
-        try {
-            LocalDate expenseDate = LocalDate.parse(expense.getDate());
-            LocalDate fromDate = fromDatePicker != null ? fromDatePicker.getValue() : null;
-            LocalDate toDate = toDatePicker != null ? toDatePicker.getValue() : null;
-
-            if (fromDate != null && expenseDate.isBefore(fromDate)) {
-                return false;
-            }
-
-            if (toDate != null && expenseDate.isAfter(toDate)) {
-                return false;
-            }
-
-            return true;
-        } catch (Exception e) {
-            return true;
-        }
+    private DayRange selectedDateRange() {
+        return DayRange.of(fromDatePicker != null ? fromDatePicker.getValue() : null,
+                           toDatePicker != null ? toDatePicker.getValue() : null);
     }
 
     public void initWithGroup(String groupId, String oderId, String groupName) {
@@ -158,34 +175,40 @@ public class GroupDashboardController {
         this.currentGroupName = groupName;
 
         groupNameLabel.setText(groupName);
+        setupFilters();
+        selection.bindBar(selectionBar, selectionCountLabel);
 
+        // These load in parallel off the FX thread; each section fills in when its data arrives
         loadMembersCount();
         loadExpenses();
-        setupFilters();
         updateAlertCount();
+        loadGroupBudget();
+    }
 
-        double budget = GroupBudgetService.getMonthlyBudget(groupId);
-        if (groupBudgetLabel != null) {
-            groupBudgetLabel.setText(String.format("৳%.2f", budget));
-        }
+    private void loadGroupBudget() {
+        AsyncServices.onFx(AsyncServices.groupMonthlyBudget(currentGroupId), budget -> {
+            if (groupBudgetLabel != null) {
+                groupBudgetLabel.setText(budget.format());
+            }
+        });
     }
 
     private void updateAlertCount() {
         if (alertBadge != null && alertButton != null && currentUserId != null) {
-            int count = org.example.service.ParentChildAlertService.getUnreadAlertCount(currentUserId);
-            count += org.example.service.InviteService.getPendingParentInvitesForChild(currentUserId).size();
-            count += org.example.service.InviteService.getPendingGroupInvitesForUser(currentUserId).size();
-
-            if (count > 0) {
-                alertBadge.setText(String.valueOf(count));
-                alertBadge.setVisible(true);
-                alertBadge.setManaged(true);
-                alertButton.getStyleClass().add("alert-button-active");
-            } else {
-                alertBadge.setVisible(false);
-                alertBadge.setManaged(false);
-                alertButton.getStyleClass().remove("alert-button-active");
-            }
+            AsyncServices.onFx(AsyncServices.alertBadgeCount(currentUserId), this::showAlertCount);
+        }
+    }
+
+    private void showAlertCount(int count) {
+        if (count > 0) {
+            alertBadge.setText(String.valueOf(count));
+            alertBadge.setVisible(true);
+            alertBadge.setManaged(true);
+            alertButton.getStyleClass().add("alert-button-active");
+        } else {
+            alertBadge.setVisible(false);
+            alertBadge.setManaged(false);
+            alertButton.getStyleClass().remove("alert-button-active");
         }
     }
 
@@ -216,10 +239,10 @@ public class GroupDashboardController {
             return;
         }
 
-        var members = GroupService.getGroupMembersObservable(currentGroupId);
-        int count = members.size();
-        memberCountLabel.setText("Members: " + count);
-        if (memberCountStatLabel != null) memberCountStatLabel.setText(String.valueOf(count));
+        AsyncServices.onFx(AsyncServices.memberCount(currentGroupId), count -> {
+            memberCountLabel.setText("Members: " + count);
+            if (memberCountStatLabel != null) memberCountStatLabel.setText(String.valueOf(count));
+        });
     }
 
     private void loadExpenses() {
@@ -228,34 +251,47 @@ public class GroupDashboardController {
             return;
         }
 
-        expensesList = ExpenseService.getGroupExpensesObservable(currentGroupId);
-        filteredExpenses = FXCollections.observableArrayList(expensesList);
-        refreshExpenseCards();
-
-        // Listen for changes
-        expensesList.addListener((ListChangeListener<Expense>) change -> {
-            applyFilters();
-            double total = 0;
-            double monthTotal = 0;
-            for (Expense exp : expensesList) {
-                total += exp.getAmount();
-                if (isCurrentMonth(exp.getDate())) {
-                    monthTotal += exp.getAmount();
+        selection.clear();
+
+        // Resolve the filter values once for the whole query
+        String groupId = currentGroupId;
+        int categoryId = selectedCategoryId();
+        DayRange dateRange = selectedDateRange();
+        PagedExpenseList.PageLoader pages = (after, pageSize) -> {
+            ExpensePage page = ExpenseService.getGroupExpensesPage(groupId, dateRange, categoryId, after, pageSize);
+            // Resolve member names in the background before the page's cards are built
+            for (Expense expense : page.expenses()) {
+                String userId = expense.getUserId();
+                if (userId != null && !userNameCache.containsKey(userId)) {
+                    var user = UserService.getUserById(userId);
+                    userNameCache.put(userId, user != null ? user.getName() : userId);
                 }
             }
-            updateExpensesSummary(total, monthTotal);
-        });
-
-        double total = 0;
-        double monthTotal = 0;
-        for (Expense exp : expensesList) {
-            total += exp.getAmount();
-            if (isCurrentMonth(exp.getDate())) {
-                monthTotal += exp.getAmount();
+            return page;
+        };
+
+        if (pagedExpenses == null) {
+            pagedExpenses = new PagedExpenseList(pages, PagedExpenseList.DEFAULT_PAGE_SIZE);
+            pagedExpenses.getItems().addListener(this::onExpensesChanged);
+            if (expenseScrollPane != null) {
+                pagedExpenses.attachTo(expenseScrollPane);
             }
         }
+        pagedExpenses.reload(pages);
+        updateExpensesSummary();
+    }
 
-        updateExpensesSummary(total, monthTotal);
+    private void onExpensesChanged(ListChangeListener.Change<? extends Expense> change) {
+        selection.retainPresent(pagedExpenses.getItems());
+        while (change.next()) {
+            // A further page: only its cards are new
+            if (change.wasAdded() && !change.wasRemoved() && change.getFrom() > 0 && filteredExpenses != null) {
+                appendExpenseCards(change.getAddedSubList());
+            } else {
+                applyFilters();
+                return;
+            }
+        }
     }
 
     private void refreshExpenseCards() {
@@ -263,29 +299,32 @@ public class GroupDashboardController {
 
         expenseCardsPane.getChildren().clear();
 
-        ObservableList<Expense> displayList = filteredExpenses != null ? filteredExpenses : expensesList;
+        ObservableList<Expense> displayList = filteredExpenses;
 
         if (displayList == null || displayList.isEmpty()) {
-            if (emptyStatePane != null) {
-                emptyStatePane.setVisible(true);
-                emptyStatePane.setManaged(true);
-            }
+            showEmptyState(true);
             return;
         }
 
-        if (emptyStatePane != null) {
-            emptyStatePane.setVisible(false);
-            emptyStatePane.setManaged(false);
-        }
+        showEmptyState(false);
 
-        // Show recent 12 expenses from filtered list
-        int limit = Math.min(12, displayList.size());
-        for (int i = 0; i < limit; i++) {
-            Expense expense = displayList.get(i);
+        // Every loaded row; further pages are appended as the pane scrolls
+        for (Expense expense : displayList) {
             expenseCardsPane.getChildren().add(createExpenseCard(expense));
         }
     }
 
+    private void showEmptyState(boolean empty) {
+        if (emptyStatePane != null) {
+            emptyStatePane.setVisible(empty);
+            emptyStatePane.setManaged(empty);
+        }
+    }
+
+    private boolean isOwnExpense(Expense expense) {
+        return expense.getUserId() != null && expense.getUserId().equals(currentUserId);
+    }
+
     private VBox createExpenseCard(Expense expense) {
         VBox card = new VBox(10);
         card.getStyleClass().add("expense-card");
@@ -305,13 +344,17 @@ public class GroupDashboardController {
         Label memberLabel = new Label("👤 " + memberName);
         memberLabel.setStyle("-fx-text-fill: rgba(255,255,255,0.7); -fx-font-size: 11px;");
 
+        // Only the owner's expenses can be selected for bulk edits
+        if (isOwnExpense(expense)) {
+            topRow.getChildren().add(selection.checkBoxFor(expense, card));
+        }
         topRow.getChildren().addAll(categoryBadge, memberLabel);
 
         // Amount and date row
         HBox amountRow = new HBox(15);
         amountRow.setAlignment(Pos.CENTER_LEFT);
 
-        Label amountLabel = new Label(String.format("৳%.2f", expense.getAmount()));
+        Label amountLabel = new Label(expense.getAmount().format());
         amountLabel.getStyleClass().add("expense-amount");
 
         Label dateLabel = new Label("📅 " + expense.getDate());
@@ -332,10 +375,7 @@ public class GroupDashboardController {
         HBox actionsRow = new HBox(10);
         actionsRow.setAlignment(Pos.CENTER_LEFT);
 
-        // Check if current user owns this expense
-        boolean isOwner = expense.getUserId() != null && expense.getUserId().equals(currentUserId);
-
-        if (isOwner) {
+        if (isOwnExpense(expense)) {
             Button editBtn = new Button("✏️ Edit");
             editBtn.getStyleClass().addAll("card-action-button", "card-edit-button");
             editBtn.setOnAction(e -> handleEditExpense(expense));
@@ -382,19 +422,22 @@ public class GroupDashboardController {
         }
     }
 
-    private boolean isCurrentMonth(String dateStr) {
-        try {
-            java.time.LocalDate date = java.time.LocalDate.parse(dateStr);
-            java.time.LocalDate today = java.time.LocalDate.now();
-            return date.getYear() == today.getYear() && date.getMonth() == today.getMonth();
-        } catch (Exception e) {
-            return false;
-        }
+    /**
+     * Totals come from COUNT/SUM queries - the loaded pages are only part of the list
+     */
+    private void updateExpensesSummary() {
+        String groupId = currentGroupId;
+        AsyncServices.onFx(AsyncServices.groupTotals(groupId, DayRange.ALL), total -> {
+            totalExpensesLabel.setText(total.total().format());
+        });
+        AsyncServices.onFx(AsyncServices.groupTotals(groupId, DayRange.month(LocalDate.now())), month -> {
+            monthExpensesLabel.setText(month.total().format());
+        });
     }
 
-    private void updateExpensesSummary(double total, double monthTotal) {
-        totalExpensesLabel.setText(String.format("৳%.2f", total));
-        monthExpensesLabel.setText(String.format("৳%.2f", monthTotal));
+    private void updateExpensesSummary(long total, long monthTotal) {
+        totalExpensesLabel.setText(Money.format(total));
+        monthExpensesLabel.setText(Money.format(monthTotal));
     }
 
 
@@ -493,6 +536,35 @@ public class GroupDashboardController {
         }
     }
 
+    // ==== MULTI-SELECT ====
+
+    @FXML
+    private void handleSelectAll() {
+        if (filteredExpenses == null) return;
+        selection.selectAll(filteredExpenses.stream().filter(this::isOwnExpense).collect(Collectors.toList()));
+        refreshExpenseCards();
+    }
+
+    @FXML
+    private void handleClearSelection() {
+        selection.clear();
+        refreshExpenseCards();
+    }
+
+    @FXML
+    private void handleBulkDelete() {
+        if (selection.deleteSelected()) {
+            loadExpenses();
+        }
+    }
+
+    @FXML
+    private void handleBulkChangeCategory() {
+        if (selection.changeCategoryOfSelected()) {
+            loadExpenses();
+        }
+    }
+
     @FXML
     private void handleBack() {
         try {
@@ -544,16 +616,16 @@ public class GroupDashboardController {
         dialog.setTitle("Set Group Monthly Budget");
         dialog.setHeaderText("Set Monthly Budget for " + currentGroupName);
         dialog.setContentText("Enter budget amount in ৳ (BDT):");
-        double current = GroupBudgetService.getMonthlyBudget(currentGroupId);
-        if (current > 0) dialog.getEditor().setText(String.format("%.2f", current));
+        Money current = GroupBudgetService.getMonthlyBudget(currentGroupId);
+        if (current.isPositive()) dialog.getEditor().setText(current.toPlainString());
         java.util.Optional<String> result = dialog.showAndWait();
         result.ifPresent(val -> {
             try {
-                double amt = Double.parseDouble(val.trim());
-                if (amt < 0) { showError("Budget amount cannot be negative."); return; }
+                Money amt = Money.parse(val);
+                if (amt.isNegative()) { showError("Budget amount cannot be negative."); return; }
                 GroupBudgetService.setMonthlyBudget(currentGroupId, amt);
-                if (groupBudgetLabel != null) groupBudgetLabel.setText(String.format("৳%.2f", amt));
-                org.example.util.AlertUtil.showInfo("Budget Set", String.format("Group budget set to ৳%.2f", amt));
+                if (groupBudgetLabel != null) groupBudgetLabel.setText(amt.format());
+                org.example.util.AlertUtil.showInfo("Budget Set", "Group budget set to " + amt.format());
             } catch (NumberFormatException ex) {
                 showError("Please enter a valid number.");
             }
@@ -568,7 +640,7 @@ public class GroupDashboardController {
         }
 
         try {
-            Dialog<javafx.util.Pair<String, javafx.util.Pair<String, javafx.util.Pair<Double, String>>>> dialog = new Dialog<>();
+            Dialog<javafx.util.Pair<String, javafx.util.Pair<String, javafx.util.Pair<Money, String>>>> dialog = new Dialog<>();
             dialog.setTitle("Edit Expense");
             dialog.setHeaderText("Edit expense details");
 
@@ -584,8 +656,8 @@ public class GroupDashboardController {
             categoryCombo.getItems().addAll("Food", "Transport", "Entertainment", "Shopping", "Bills", "Healthcare", "Education", "Other");
             categoryCombo.setValue(expense.getCategory());
 
-            TextField amountField = new TextField(String.valueOf(expense.getAmount()));
-            DatePicker datePicker = new DatePicker(java.time.LocalDate.parse(expense.getDate()));
+            TextField amountField = new TextField(expense.getAmount().toPlainString());
+            DatePicker datePicker = new DatePicker(expense.getLocalDate());
             TextField noteField = new TextField(expense.getNote() != null ? expense.getNote() : "");
 
             grid.add(new Label("Category:"), 0, 0);
@@ -603,17 +675,17 @@ public class GroupDashboardController {
                 if (dialogButton == saveButtonType) {
                     return new javafx.util.Pair<>(categoryCombo.getValue(),
                             new javafx.util.Pair<>(datePicker.getValue().toString(),
-                                    new javafx.util.Pair<>(Double.parseDouble(amountField.getText()), noteField.getText())));
+                                    new javafx.util.Pair<>(Money.parse(amountField.getText()), noteField.getText())));
                 }
                 return null;
             });
 
-            java.util.Optional<javafx.util.Pair<String, javafx.util.Pair<String, javafx.util.Pair<Double, String>>>> result = dialog.showAndWait();
+            java.util.Optional<javafx.util.Pair<String, javafx.util.Pair<String, javafx.util.Pair<Money, String>>>> result = dialog.showAndWait();
 
             result.ifPresent(data -> {
                 String category = data.getKey();
                 String date = data.getValue().getKey();
-                Double amount = data.getValue().getValue().getKey();
+                Money amount = data.getValue().getValue().getKey();
                 String note = data.getValue().getValue().getValue();
 
                 boolean success = ExpenseService.updateExpense(expense.getExpenseId(), category, amount, date, note);
@@ -645,7 +717,7 @@ public class GroupDashboardController {
             confirmAlert.setHeaderText("Delete Expense");
             confirmAlert.setContentText("Are you sure you want to delete this expense?\n\n" +
                     "Category: " + expense.getCategory() + "\n" +
-                    "Amount: ৳" + String.format("%.2f", expense.getAmount()) + "\n" +
+                    "Amount: " + expense.getAmount().format() + "\n" +
                     "Date: " + expense.getDate());
 
             java.util.Optional<ButtonType> result = confirmAlert.showAndWait();
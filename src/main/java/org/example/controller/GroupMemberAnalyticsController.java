@@ -7,14 +7,19 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.Money;
+import org.example.service.CategoryRegistry;
+import org.example.service.CategoryTotals;
+import org.example.service.ExpenseColumns;
 import org.example.service.ExpenseService;
 import org.example.service.GroupBudgetService;
+import org.example.service.GroupMemberAnalytics;
 import org.example.service.UserService;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class GroupMemberAnalyticsController {
 
@@ -27,6 +32,9 @@ public class GroupMemberAnalyticsController {
     private String groupId;
     private String oderId;
     private String groupName;
+    private GroupMemberAnalytics.Result analytics;
+    // Month to date, for the budget and spending suggestions
+    private GroupMemberAnalytics.Result monthToDate;
 
     @FXML
     public void initialize() {
@@ -40,29 +48,33 @@ public class GroupMemberAnalyticsController {
         if (titleLabel != null) {
             titleLabel.setText("👥 Member Analytics — " + groupName);
         }
+        loadAnalytics();
         loadMemberRanking();
         loadSuggestions();
         loadTips();
     }
 
+    /**
+     * This month and last month are read once, as a range scan. The ranking covers the
+     * whole month; the suggestions only what has been spent up to today, so future-dated
+     * expenses don't count against the budget yet.
+     */
+    private void loadAnalytics() {
+        LocalDate now = LocalDate.now();
+        DayRange month = DayRange.month(now);
+        DayRange lastMonth = DayRange.month(now.minusMonths(1));
+        List<Expense> expenses = ExpenseService.getGroupExpensesBetween(groupId,
+                new DayRange(lastMonth.first(), month.last()));
+        ExpenseColumns columns = ExpenseColumns.of(expenses);
+        analytics = GroupMemberAnalytics.compute(columns, month, lastMonth);
+        monthToDate = GroupMemberAnalytics.compute(columns, DayRange.of(now.withDayOfMonth(1), now), lastMonth);
+    }
+
     private void loadMemberRanking() {
         if (memberRankingPane == null) return;
         memberRankingPane.getChildren().clear();
 
-        List<Expense> expenses = ExpenseService.getGroupExpensesObservable(groupId);
-        LocalDate now = LocalDate.now();
-        Map<String, Double> totals = new HashMap<>();
-
-        for (Expense e : expenses) {
-            try {
-                LocalDate d = LocalDate.parse(e.getDate());
-                if (d.getYear() == now.getYear() && d.getMonth() == now.getMonth()) {
-                    totals.merge(e.getUserId(), e.getAmount(), Double::sum);
-                }
-            } catch (Exception ignored) {}
-        }
-
-        if (totals.isEmpty()) {
+        if (analytics.members().isEmpty()) {
             if (emptyRankingPane != null) {
                 emptyRankingPane.setVisible(true);
                 emptyRankingPane.setManaged(true);
@@ -75,21 +87,16 @@ public class GroupMemberAnalyticsController {
             emptyRankingPane.setManaged(false);
         }
 
-        // Sort by amount descending
-        List<Map.Entry<String, Double>> sortedEntries = totals.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
-            .collect(Collectors.toList());
-
-        int rank = 1;
-        for (Map.Entry<String, Double> entry : sortedEntries) {
-            var user = UserService.getUserById(entry.getKey());
-            String name = user != null ? user.getName() : entry.getKey();
-            memberRankingPane.getChildren().add(createMemberRankCard(rank, name, entry.getValue()));
-            rank++;
+        // Already sorted by amount descending
+        for (GroupMemberAnalytics.MemberStats member : analytics.members()) {
+            var user = UserService.getUserById(member.userId());
+            String name = user != null ? user.getName() : member.userId();
+            memberRankingPane.getChildren().add(createMemberRankCard(name, member));
         }
     }
 
-    private HBox createMemberRankCard(int rank, String name, double amount) {
+    private HBox createMemberRankCard(String name, GroupMemberAnalytics.MemberStats member) {
+        int rank = member.rank();
         HBox card = new HBox(15);
         card.getStyleClass().add("child-card");
         card.setAlignment(Pos.CENTER_LEFT);
@@ -108,13 +115,18 @@ public class GroupMemberAnalyticsController {
         Label nameLabel = new Label(name);
         nameLabel.getStyleClass().add("member-name");
 
-        Label rankTextLabel = new Label("Rank #" + rank + " this month");
+        String details = "Rank #" + rank + " this month";
+        int topCategory = member.categories().topCategoryId();
+        if (topCategory >= 0) details += " · mostly " + CategoryRegistry.nameOf(topCategory);
+        Double trend = member.trendPercent();
+        if (trend != null) details += String.format(" · %s%.0f%% vs last month", trend >= 0 ? "▲ " : "▼ ", Math.abs(trend));
+        Label rankTextLabel = new Label(details);
         rankTextLabel.setStyle("-fx-text-fill: rgba(255,255,255,0.6); -fx-font-size: 11px;");
 
         infoBox.getChildren().addAll(nameLabel, rankTextLabel);
 
         // Amount
-        Label amountLabel = new Label(String.format("৳%.2f", amount));
+        Label amountLabel = new Label(Money.format(member.totalMinor()));
         amountLabel.getStyleClass().add("expense-amount");
         amountLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: #7b8ae4; -fx-font-weight: bold;");
 
@@ -175,28 +187,13 @@ public class GroupMemberAnalyticsController {
         List<String> suggestions = new ArrayList<>();
 
         try {
-            List<Expense> expenses = ExpenseService.getGroupExpensesObservable(groupId);
-            LocalDate now = LocalDate.now();
-            LocalDate monthStart = now.withDayOfMonth(1);
+            long monthTotal = monthToDate.totalMinor();
+            CategoryTotals categoryTotals = monthToDate.categories();
+            List<GroupMemberAnalytics.MemberStats> members = monthToDate.members();
 
-            double monthTotal = 0;
-            Map<String, Double> categoryTotals = new HashMap<>();
-            Map<String, Double> memberTotals = new HashMap<>();
-
-            for (Expense e : expenses) {
-                try {
-                    LocalDate d = LocalDate.parse(e.getDate());
-                    if (!d.isBefore(monthStart) && !d.isAfter(now)) {
-                        monthTotal += e.getAmount();
-                        categoryTotals.merge(e.getCategory(), e.getAmount(), Double::sum);
-                        memberTotals.merge(e.getUserId(), e.getAmount(), Double::sum);
-                    }
-                } catch (Exception ignored) {}
-            }
-
-            double groupBudget = GroupBudgetService.getMonthlyBudget(groupId);
-            if (groupBudget > 0) {
-                double budgetPercent = (monthTotal / groupBudget) * 100;
+            Money groupBudget = GroupBudgetService.getMonthlyBudget(groupId);
+            if (groupBudget.isPositive()) {
+                double budgetPercent = (double) monthTotal / groupBudget.getMinor() * 100;
                 if (budgetPercent > 90) {
                     suggestions.add("⚠️ Group spending is at " + String.format("%.1f%%", budgetPercent) + " of budget!");
                 } else if (budgetPercent > 75) {
@@ -206,27 +203,21 @@ public class GroupMemberAnalyticsController {
                 }
             }
 
-            if (!categoryTotals.isEmpty()) {
-                var topCategory = categoryTotals.entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .orElse(null);
-                if (topCategory != null && monthTotal > 0) {
-                    double percent = (topCategory.getValue() / monthTotal) * 100;
-                    suggestions.add("📊 " + topCategory.getKey() + " is " + String.format("%.1f%%", percent) + " of total spending");
-                }
+            int topCategory = categoryTotals.topCategoryId();
+            if (topCategory >= 0 && monthTotal > 0) {
+                double percent = (double) categoryTotals.get(topCategory) / monthTotal * 100;
+                suggestions.add("📊 " + CategoryRegistry.nameOf(topCategory) + " is " + String.format("%.1f%%", percent) + " of total spending");
             }
 
-            int memberCount = memberTotals.size();
+            int memberCount = members.size();
             if (memberCount > 0 && monthTotal > 0) {
-                double avgPerMember = monthTotal / memberCount;
-                suggestions.add("👥 Average spending per member: ৳" + String.format("%.2f", avgPerMember));
-
-                var sortedMembers = memberTotals.values().stream()
-                    .sorted(Comparator.reverseOrder())
-                    .collect(Collectors.toList());
-                if (sortedMembers.size() > 1) {
-                    double highest = sortedMembers.get(0);
-                    double lowest = sortedMembers.get(sortedMembers.size() - 1);
+                long avgPerMember = Math.round((double) monthTotal / memberCount);
+                suggestions.add("👥 Average spending per member: " + Money.format(avgPerMember));
+
+                // Members are ranked highest first
+                if (memberCount > 1) {
+                    long highest = members.get(0).totalMinor();
+                    long lowest = members.get(memberCount - 1).totalMinor();
                     if (highest > lowest * 3) {
                         suggestions.add("⚖️ Significant spending imbalance among members");
                     }
@@ -5,8 +5,10 @@ import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
-import org.example.model.Expense;
-import org.example.service.ExpenseService;
+import org.example.model.DayRange;
+import org.example.model.ExpenseTotals;
+import org.example.model.Money;
+import org.example.service.AggregationService;
 import org.example.service.GroupService;
 import org.example.service.UserService;
 
@@ -40,7 +42,6 @@ public class GroupVisualAnalyticsController {
     private String groupId;
     private String userId;
     private String groupName;
-    private List<Expense> allExpenses;
     private int selectedDays = 30;
     private Map<String, String> userIdToName = new HashMap<>();
 
@@ -103,119 +104,78 @@ public class GroupVisualAnalyticsController {
     private void loadData() {
         if (groupId == null) return;
 
-        allExpenses = ExpenseService.getGroupExpensesObservable(groupId);
-
-        // Filter by date range
+        // Per-day and per-category rows of the selected window, grouped by the database
         LocalDate today = LocalDate.now();
         LocalDate startDate = selectedDays == Integer.MAX_VALUE ?
             LocalDate.MIN : today.minusDays(selectedDays - 1);
+        DayRange range = DayRange.lastDays(selectedDays, today);
 
-        List<Expense> filteredExpenses = allExpenses.stream()
-            .filter(e -> {
-                try {
-                    LocalDate date = LocalDate.parse(e.getDate());
-                    return !date.isBefore(startDate) && !date.isAfter(today);
-                } catch (Exception ex) {
-                    return false;
-                }
-            })
-            .collect(Collectors.toList());
+        NavigableMap<Integer, ExpenseTotals> dailyTotals = AggregationService.getGroupDailyTotals(groupId, range);
+        Map<String, Long> categoryTotals = AggregationService.getGroupCategoryTotals(groupId, range).toSortedMap();
 
         Platform.runLater(() -> {
-            updateSummaryStats(filteredExpenses);
-            updateCategoryPieChart(filteredExpenses);
-            updateTrendLineChart(filteredExpenses, startDate, today);
+            updateSummaryStats(dailyTotals);
+            updateCategoryPieChart(categoryTotals);
+            updateTrendLineChart(dailyTotals, startDate, today);
         });
     }
 
-    private void updateSummaryStats(List<Expense> expenses) {
-        double total = expenses.stream().mapToDouble(Expense::getAmount).sum();
-        int transactionCount = expenses.size();
+    private void updateSummaryStats(NavigableMap<Integer, ExpenseTotals> dailyTotals) {
+        long total = 0;
+        int transactionCount = 0;
+        long monthTotal = 0;
 
         // This month total
-        LocalDate now = LocalDate.now();
-        double monthTotal = expenses.stream()
-            .filter(e -> {
-                try {
-                    LocalDate date = LocalDate.parse(e.getDate());
-                    return date.getYear() == now.getYear() && date.getMonth() == now.getMonth();
-                } catch (Exception ex) {
-                    return false;
-                }
-            })
-            .mapToDouble(Expense::getAmount)
-            .sum();
+        DayRange month = DayRange.month(LocalDate.now());
+        for (Map.Entry<Integer, ExpenseTotals> entry : dailyTotals.entrySet()) {
+            total += entry.getValue().totalMinor();
+            transactionCount += entry.getValue().count();
+            if (month.contains(entry.getKey())) monthTotal += entry.getValue().totalMinor();
+        }
 
         int memberCount = GroupService.getMemberCount(groupId);
-        double avgPerMember = memberCount > 0 ? total / memberCount : 0;
+        long avgPerMember = memberCount > 0 ? Math.round((double) total / memberCount) : 0;
 
-        totalSpentLabel.setText(String.format("৳%.2f", total));
-        monthTotalLabel.setText(String.format("৳%.2f", monthTotal));
+        totalSpentLabel.setText(Money.format(total));
+        monthTotalLabel.setText(Money.format(monthTotal));
         memberCountLabel.setText(String.valueOf(memberCount));
-        avgPerMemberLabel.setText(String.format("৳%.2f", avgPerMember));
+        avgPerMemberLabel.setText(Money.format(avgPerMember));
         transactionCountLabel.setText(String.valueOf(transactionCount));
     }
 
-    private void updateCategoryPieChart(List<Expense> expenses) {
+    private void updateCategoryPieChart(Map<String, Long> categoryTotals) {
         if (categoryPieChart == null) return;
         categoryPieChart.getData().clear();
 
-        if (expenses == null || expenses.isEmpty()) return;
-
-        Map<String, Double> categoryTotals = expenses.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        if (categoryTotals.isEmpty()) return;
 
         categoryTotals.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
             .limit(8)
             .forEach(entry -> {
                 PieChart.Data slice = new PieChart.Data(
-                    entry.getKey() + " (৳" + String.format("%.0f", entry.getValue()) + ")",
-                    entry.getValue()
+                    entry.getKey() + " (৳" + (entry.getValue() + 50) / 100 + ")",
+                    entry.getValue() / 100.0
                 );
                 categoryPieChart.getData().add(slice);
             });
     }
 
 
-    private void updateTrendLineChart(List<Expense> expenses, LocalDate startDate, LocalDate endDate) {
+    private void updateTrendLineChart(NavigableMap<Integer, ExpenseTotals> expenseDays, LocalDate startDate, LocalDate endDate) {
         if (trendLineChart == null) return;
         trendLineChart.getData().clear();
 
-        if (expenses == null || expenses.isEmpty()) return;
-
-        // Group expenses by member and date
-        Map<String, Map<LocalDate, Double>> memberDailyTotals = new HashMap<>();
+        if (expenseDays.isEmpty()) return;
 
-        for (Expense e : expenses) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                String memberId = e.getUserId();
-                if (memberId == null) continue;
-
-                memberDailyTotals
-                    .computeIfAbsent(memberId, k -> new TreeMap<>())
-                    .merge(date, e.getAmount(), Double::sum);
-            } catch (Exception ignored) {}
-        }
-
-        // Also create group total line
-        Map<LocalDate, Double> groupDailyTotals = new TreeMap<>();
+        // Group total line
+        Map<LocalDate, Long> groupDailyTotals = new TreeMap<>();
         LocalDate current = startDate.isAfter(LocalDate.now().minusDays(365)) ? startDate : LocalDate.now().minusDays(365);
         while (!current.isAfter(endDate)) {
-            groupDailyTotals.put(current, 0.0);
+            groupDailyTotals.put(current, 0L);
             current = current.plusDays(1);
         }
 
-        for (Expense e : expenses) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                groupDailyTotals.merge(date, e.getAmount(), Double::sum);
-            } catch (Exception ignored) {}
-        }
+        expenseDays.forEach((day, totals) -> groupDailyTotals.merge(LocalDate.ofEpochDay(day), totals.totalMinor(), Long::sum));
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd");
         int skipFactor = Math.max(1, groupDailyTotals.size() / 15);
@@ -225,11 +185,11 @@ public class GroupVisualAnalyticsController {
         groupSeries.setName("Group Total");
 
         int i = 0;
-        for (Map.Entry<LocalDate, Double> entry : groupDailyTotals.entrySet()) {
+        for (Map.Entry<LocalDate, Long> entry : groupDailyTotals.entrySet()) {
             if (i % skipFactor == 0 || i == groupDailyTotals.size() - 1) {
                 groupSeries.getData().add(new XYChart.Data<>(
                     entry.getKey().format(formatter),
-                    entry.getValue()
+                    entry.getValue() / 100.0
                 ));
             }
             i++;
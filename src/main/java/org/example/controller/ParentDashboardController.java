@@ -10,13 +10,17 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import org.example.MainApp;
+import org.example.model.Money;
 import org.example.model.User;
-import org.example.service.ExpenseService;
+import org.example.service.AsyncServices;
 import org.example.service.InviteService;
 import org.example.service.ParentService;
 import org.example.service.UserService;
 import org.example.util.SessionManager;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @SuppressWarnings({"unused", "FieldCanBeLocal"})
 public class ParentDashboardController {
 
@@ -36,6 +40,8 @@ public class ParentDashboardController {
 
     private final ObservableList<User> children = FXCollections.observableArrayList();
     private User selectedChild = null;
+    private final Map<String, Money> childTotals = new HashMap<>();
+    private final Map<String, Label> childTotalLabels = new HashMap<>();
 
     @FXML
     public void initialize() {
@@ -57,20 +63,20 @@ public class ParentDashboardController {
         User parent = SessionManager.getInstance().getCurrentUser();
         if (parent == null) return;
 
-        int count = org.example.service.ParentChildAlertService.getUnreadAlertCount(parent.getUserId());
-
-        if (alertBadge != null && viewAlertsButton != null) {
-            if (count > 0) {
-                alertBadge.setText(String.valueOf(count));
-                alertBadge.setVisible(true);
-                alertBadge.setManaged(true);
-                viewAlertsButton.getStyleClass().add("alert-button-active");
-            } else {
-                alertBadge.setVisible(false);
-                alertBadge.setManaged(false);
-                viewAlertsButton.getStyleClass().remove("alert-button-active");
+        AsyncServices.onFx(AsyncServices.unreadAlertCount(parent.getUserId()), count -> {
+            if (alertBadge != null && viewAlertsButton != null) {
+                if (count > 0) {
+                    alertBadge.setText(String.valueOf(count));
+                    alertBadge.setVisible(true);
+                    alertBadge.setManaged(true);
+                    viewAlertsButton.getStyleClass().add("alert-button-active");
+                } else {
+                    alertBadge.setVisible(false);
+                    alertBadge.setManaged(false);
+                    viewAlertsButton.getStyleClass().remove("alert-button-active");
+                }
             }
-        }
+        });
     }
 
     @FXML
@@ -90,16 +96,26 @@ public class ParentDashboardController {
 
     private void refreshChildren() {
         User parent = SessionManager.getInstance().getCurrentUser();
-        var childUsers = ParentService.getChildrenForParent(parent.getUserId());
-        children.setAll(childUsers);
-
-        refreshChildCards();
+        AsyncServices.onFx(AsyncServices.supply(() -> ParentService.getChildrenForParent(parent.getUserId())), childUsers -> {
+            children.setAll(childUsers);
+            refreshChildCards();
+
+            // Cards are already on screen; each child's total fills in as its query finishes
+            for (User child : childUsers) {
+                AsyncServices.onFx(AsyncServices.totalExpenses(child.getUserId()), total -> {
+                    childTotals.put(child.getUserId(), total);
+                    Label label = childTotalLabels.get(child.getUserId());
+                    if (label != null) label.setText("💰 Total: " + total.format());
+                });
+            }
+        });
     }
 
     private void refreshChildCards() {
         if (childCardsPane == null) return;
 
         childCardsPane.getChildren().clear();
+        childTotalLabels.clear();
 
         if (children.isEmpty()) {
             if (emptyStatePane != null) {
@@ -153,8 +169,11 @@ public class ParentDashboardController {
         emailLabel.getStyleClass().add("member-email");
 
         // Get expense stats
-        double totalExpenses = ExpenseService.getTotalExpenses(child.getUserId());
-        Label expenseLabel = new Label(String.format("💰 Total: ৳%.2f", totalExpenses));
+        Money totalExpenses = childTotals.get(child.getUserId());
+        Label expenseLabel = new Label(totalExpenses != null
+                ? "💰 Total: " + totalExpenses.format()
+                : "💰 Total: …");
+        childTotalLabels.put(child.getUserId(), expenseLabel);
         expenseLabel.setStyle("-fx-text-fill: #7b8ae4; -fx-font-size: 12px; -fx-font-weight: bold;");
 
         info.getChildren().addAll(nameLabel, emailLabel, expenseLabel);
@@ -8,10 +8,12 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.layout.VBox;
-import org.example.model.Expense;
+import org.example.model.DayRange;
+import org.example.model.ExpenseTotals;
+import org.example.model.Money;
+import org.example.service.AggregationService;
 import org.example.service.AnalyticsService;
 import org.example.service.BudgetService;
-import org.example.service.ExpenseService;
 import org.example.util.SessionManager;
 
 import java.time.LocalDate;
@@ -59,23 +61,23 @@ public class PersonalAnalyticsController {
         AnalyticsService.PersonalAnalyticsSummary s = AnalyticsService.buildPersonalSummary(userId);
 
         if (monthlyTotalLabel != null) {
-            monthlyTotalLabel.setText(String.format("৳%.2f", s.monthlyTotal));
+            monthlyTotalLabel.setText(s.monthlyTotal.format());
         }
 
         if (weeklyTotalLabel != null) {
-            weeklyTotalLabel.setText(String.format("৳%.2f", s.weeklyTotal));
+            weeklyTotalLabel.setText(s.weeklyTotal.format());
         }
 
         if (highestDayLabel != null) {
             String txt = s.highestSpendingDay == null ? "-" :
                 s.highestSpendingDay.format(DateTimeFormatter.ofPattern("MMM dd")) +
-                "\n৳" + String.format("%.2f", s.highestSpendingAmount);
+                "\n" + s.highestSpendingAmount.format();
             highestDayLabel.setText(txt);
         }
 
-        double budget = BudgetService.getMonthlyBudget(userId);
+        Money budget = s.monthlyBudget;
         if (budgetLabel != null) {
-            budgetLabel.setText(String.format("৳%.2f", budget));
+            budgetLabel.setText(budget.format());
         }
 
         if (budgetStatusLabel != null) {
@@ -85,8 +87,8 @@ public class PersonalAnalyticsController {
         if (categoryList != null) {
             categoryList.getItems().clear();
             s.categoryTotals.forEach((k, v) ->
-                categoryList.getItems().add(String.format("%s: ৳%.2f (%.1f%%)",
-                    k, v, (v / s.monthlyTotal * 100))));
+                categoryList.getItems().add(String.format("%s: %s (%.1f%%)",
+                    k, v.format(), (v.toDouble() / s.monthlyTotal.toDouble() * 100))));
         }
 
         if (suggestionsList != null) {
@@ -97,14 +99,14 @@ public class PersonalAnalyticsController {
         updateTrendChart();
     }
 
-    private void updateBudgetStatus(double spent, double budget) {
-        if (budget <= 0) {
+    private void updateBudgetStatus(Money spent, Money budget) {
+        if (!budget.isPositive()) {
             budgetStatusLabel.setText("Not Set");
             budgetStatusLabel.setStyle("-fx-text-fill: #888888; -fx-font-size: 16px;");
             return;
         }
 
-        double percentage = (spent / budget) * 100;
+        double percentage = (spent.toDouble() / budget.toDouble()) * 100;
 
         if (percentage < 75) {
             budgetStatusLabel.setText("✓ On Track");
@@ -121,18 +123,18 @@ public class PersonalAnalyticsController {
         }
     }
 
-    private void updatePieChart(Map<String, Double> categoryTotals) {
+    private void updatePieChart(Map<String, Money> categoryTotals) {
         if (categoryPieChart == null) return;
 
         categoryPieChart.getData().clear();
 
         categoryTotals.entrySet().stream()
-            .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
+            .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
             .limit(8) // Top 8 categories
             .forEach(entry -> {
                 PieChart.Data slice = new PieChart.Data(
                     entry.getKey(),
-                    entry.getValue()
+                    entry.getValue().toDouble()
                 );
                 categoryPieChart.getData().add(slice);
             });
@@ -146,46 +148,34 @@ public class PersonalAnalyticsController {
 
         trendLineChart.getData().clear();
 
-        List<org.example.model.Expense> expenses;
-        if (currentGroupId != null && !currentGroupId.isEmpty()) {
-            expenses = ExpenseService.getGroupExpensesByUser(currentGroupId, userId);
-        } else {
-            expenses = ExpenseService.getPersonalExpensesObservable(userId);
-        }
         LocalDate today = LocalDate.now();
         LocalDate thirtyDaysAgo = today.minusDays(29);
+        DayRange window = DayRange.of(thirtyDaysAgo, today);
 
-        Map<LocalDate, Double> dailyTotals = new TreeMap<>();
-
-        for (int i = 0; i < 30; i++) {
-            dailyTotals.put(thirtyDaysAgo.plusDays(i), 0.0);
+        // At most one rollup row per day of the window
+        NavigableMap<Integer, ExpenseTotals> days;
+        if (currentGroupId != null && !currentGroupId.isEmpty()) {
+            days = AggregationService.getMemberDailyTotals(currentGroupId, userId, window);
+        } else {
+            days = AggregationService.getPersonalDailyTotals(userId, window);
         }
 
-        for (Expense e : expenses) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                if (!date.isBefore(thirtyDaysAgo) && !date.isAfter(today)) {
-                    dailyTotals.merge(date, e.getAmount(), Double::sum);
-                }
-            } catch (Exception ex) {
-
-            }
-        }
+        // Paisa per day, oldest first
+        long[] dailyTotals = new long[30];
+        days.forEach((day, totals) -> dailyTotals[day - window.first()] += totals.totalMinor());
 
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         series.setName("Daily Spending");
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd");
 
-        int i = 0;
-        for (Map.Entry<LocalDate, Double> entry : dailyTotals.entrySet()) {
-            if (i % 5 == 0 || i == dailyTotals.size() - 1) {
+        for (int i = 0; i < dailyTotals.length; i++) {
+            if (i % 5 == 0 || i == dailyTotals.length - 1) {
                 series.getData().add(new XYChart.Data<>(
-                    entry.getKey().format(formatter),
-                    entry.getValue()
+                    thirtyDaysAgo.plusDays(i).format(formatter),
+                    dailyTotals[i] / 100.0
                 ));
             }
-            i++;
         }
 
         trendLineChart.getData().add(series);
@@ -198,16 +188,16 @@ public class PersonalAnalyticsController {
         dialog.setHeaderText("Set Your Monthly Budget");
         dialog.setContentText("Enter budget amount in ৳ (BDT):");
 
-        double currentBudget = BudgetService.getMonthlyBudget(userId);
-        if (currentBudget > 0) {
-            dialog.getEditor().setText(String.format("%.2f", currentBudget));
+        Money currentBudget = BudgetService.getMonthlyBudget(userId);
+        if (currentBudget.isPositive()) {
+            dialog.getEditor().setText(currentBudget.toPlainString());
         }
 
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(val -> {
             try {
-                double amt = Double.parseDouble(val.trim());
-                if (amt < 0) {
+                Money amt = Money.parse(val);
+                if (amt.isNegative()) {
                     showAlert(javafx.scene.control.Alert.AlertType.ERROR,
                         "Invalid Amount", "Budget amount cannot be negative.");
                     return;
@@ -217,7 +207,7 @@ public class PersonalAnalyticsController {
 
                 showAlert(javafx.scene.control.Alert.AlertType.INFORMATION,
                     "Budget Set",
-                    String.format("Your monthly budget has been set to ৳%.2f", amt));
+                    "Your monthly budget has been set to " + amt.format());
 
             } catch (NumberFormatException ex) {
                 showAlert(javafx.scene.control.Alert.AlertType.ERROR,
@@ -9,8 +9,13 @@ import javafx.scene.control.*;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.repository.ExpenseRepository;
+import org.example.service.AsyncServices;
+import org.example.service.CategoryRegistry;
 import org.example.service.ExpenseService;
+import org.example.service.PagedExpenseList;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -20,6 +25,8 @@ import java.util.stream.Collectors;
 @SuppressWarnings({"unused", "FieldCanBeLocal"})
 public class PersonalDashboardController {
 
+    private static final int ALL_CATEGORIES = ExpenseRepository.ANY_CATEGORY;
+
     @FXML private Label userNameLabel;
     @FXML private Label modeLabel;
     @FXML private Label totalExpensesLabel;
@@ -27,6 +34,9 @@ public class PersonalDashboardController {
     @FXML private Label weekExpensesLabel;
     @FXML private Label transactionCountLabel;
     @FXML private FlowPane expenseCardsPane;
+    @FXML private ScrollPane expenseScrollPane;
+    @FXML private HBox selectionBar;
+    @FXML private Label selectionCountLabel;
     @FXML private VBox emptyStatePane;
     @FXML private Button addExpenseButton;
     @FXML private Button viewAnalyticsButton;
@@ -44,8 +54,10 @@ public class PersonalDashboardController {
     @FXML private DatePicker toDatePicker;
     @FXML private Button clearFiltersButton;
 
-    private ObservableList<Expense> expensesList;
+    // Pages of expenses matching the category and date filters, grown as the cards scroll
+    private PagedExpenseList pagedExpenses;
     private ObservableList<Expense> filteredExpenses;
+    private final ExpenseSelection selection = new ExpenseSelection();
     private String currentUserId;
 
     @FXML
@@ -53,6 +65,7 @@ public class PersonalDashboardController {
         org.example.util.SessionManager session = org.example.util.SessionManager.getInstance();
         if (session.getCurrentUser() != null) {
             this.currentUserId = session.getCurrentUser().getUserId();
+            selection.bindBar(selectionBar, selectionCountLabel);
             loadExpenses();
             setupFilters();
             updateAlertCount();
@@ -68,20 +81,24 @@ public class PersonalDashboardController {
             );
             categoryFilter.setItems(FXCollections.observableArrayList(categories));
             categoryFilter.setValue("All Categories");
-            categoryFilter.setOnAction(e -> applyFilters());
+            categoryFilter.setOnAction(e -> loadExpenses());
         }
 
         // Setup search field listener
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+            searchField.textProperty().addListener((obs, oldVal, newVal) -> {
+                // Never act on rows the search has hidden
+                selection.clear();
+                applyFilters();
+            });
         }
 
         // Setup date pickers listeners
         if (fromDatePicker != null) {
-            fromDatePicker.setOnAction(e -> applyFilters());
+            fromDatePicker.setOnAction(e -> loadExpenses());
         }
         if (toDatePicker != null) {
-            toDatePicker.setOnAction(e -> applyFilters());
+            toDatePicker.setOnAction(e -> loadExpenses());
         }
     }
 
@@ -91,22 +108,37 @@ public class PersonalDashboardController {
         if (categoryFilter != null) categoryFilter.setValue("All Categories");
         if (fromDatePicker != null) fromDatePicker.setValue(null);
         if (toDatePicker != null) toDatePicker.setValue(null);
-        applyFilters();
+        loadExpenses();
     }
 
+    /**
+     * Category and date filters are part of the page query; the search text filters
+     * the rows loaded so far (more pages load as the cards scroll)
+     */
     private void applyFilters() {
-        if (expensesList == null) return;
+        if (pagedExpenses == null) return;
 
-        List<Expense> filtered = expensesList.stream()
+        List<Expense> filtered = pagedExpenses.getItems().stream()
             .filter(this::matchesSearchFilter)
-            .filter(this::matchesCategoryFilter)
-            .filter(this::matchesDateFilter)
             .collect(Collectors.toList());
 
         filteredExpenses = FXCollections.observableArrayList(filtered);
         refreshExpenseCards();
     }
 
+    /**
+     * Add cards for a page appended below the ones already shown
+     */
+    private void appendExpenseCards(List<? extends Expense> page) {
+        if (expenseCardsPane == null) return;
+        for (Expense expense : page) {
+            if (!matchesSearchFilter(expense)) continue;
+            filteredExpenses.add(expense);
+            expenseCardsPane.getChildren().add(createExpenseCard(expense));
+        }
+        showEmptyState(filteredExpenses.isEmpty());
+    }
+
     private boolean matchesSearchFilter(Expense expense) {
         if (searchField == null || searchField.getText() == null || searchField.getText().trim().isEmpty()) {
             return true;
@@ -114,44 +146,28 @@ public class PersonalDashboardController {
 
         String search = searchField.getText().toLowerCase();
         String note = expense.getNote() != null ? expense.getNote().toLowerCase() : "";
-        String amount = String.valueOf(expense.getAmount());
+        String amount = expense.getAmount().toPlainString();
         String category = expense.getCategory() != null ? expense.getCategory().toLowerCase() : "";
 
         return note.contains(search) || amount.contains(search) || category.contains(search);
     }
 
-    private boolean matchesCategoryFilter(Expense expense) {
+    private int selectedCategoryId() {
         if (categoryFilter == null || categoryFilter.getValue() == null ||
             categoryFilter.getValue().equals("All Categories")) {
-            return true;
+            return ALL_CATEGORIES;
         }
-
-        return expense.getCategory() != null &&
-               expense.getCategory().equalsIgnoreCase(categoryFilter.getValue());
+        return CategoryRegistry.lookup(categoryFilter.getValue());
     }
 
-    private boolean matchesDateFilter(Expense expense) {
-        try {
-            LocalDate expenseDate = LocalDate.parse(expense.getDate());
-            LocalDate fromDate = fromDatePicker != null ? fromDatePicker.getValue() : null;
-            LocalDate toDate = toDatePicker != null ? toDatePicker.getValue() : null;
-
-            if (fromDate != null && expenseDate.isBefore(fromDate)) {
-                return false;
-            }
-
-            if (toDate != null && expenseDate.isAfter(toDate)) {
-                return false;
-            }
-
-            return true;
-        } catch (Exception e) {
-            return true;
-        }
+    private DayRange selectedDateRange() {
+        return DayRange.of(fromDatePicker != null ? fromDatePicker.getValue() : null,
+                           toDatePicker != null ? toDatePicker.getValue() : null);
     }
 
     public void initializeWithUser(String oderId) {
         this.currentUserId = oderId;
+        selection.bindBar(selectionBar, selectionCountLabel);
         loadExpenses();
         setupFilters();
         updateAlertCount();
@@ -159,20 +175,18 @@ public class PersonalDashboardController {
 
     private void updateAlertCount() {
         if (alertBadge != null && alertButton != null) {
-            int count = org.example.service.ParentChildAlertService.getUnreadAlertCount(currentUserId);
-            count += org.example.service.InviteService.getPendingParentInvitesForChild(currentUserId).size();
-            count += org.example.service.InviteService.getPendingGroupInvitesForUser(currentUserId).size();
-
-            if (count > 0) {
-                alertBadge.setText(String.valueOf(count));
-                alertBadge.setVisible(true);
-                alertBadge.setManaged(true);
-                alertButton.getStyleClass().add("alert-button-active");
-            } else {
-                alertBadge.setVisible(false);
-                alertBadge.setManaged(false);
-                alertButton.getStyleClass().remove("alert-button-active");
-            }
+            AsyncServices.onFx(AsyncServices.alertBadgeCount(currentUserId), count -> {
+                if (count > 0) {
+                    alertBadge.setText(String.valueOf(count));
+                    alertBadge.setVisible(true);
+                    alertBadge.setManaged(true);
+                    alertButton.getStyleClass().add("alert-button-active");
+                } else {
+                    alertBadge.setVisible(false);
+                    alertBadge.setManaged(false);
+                    alertButton.getStyleClass().remove("alert-button-active");
+                }
+            });
         }
     }
 
@@ -198,16 +212,37 @@ public class PersonalDashboardController {
             return;
         }
 
-        expensesList = ExpenseService.getPersonalExpensesObservable(currentUserId);
-        filteredExpenses = FXCollections.observableArrayList(expensesList);
-        refreshExpenseCards();
+        selection.clear();
+
+        // Resolve the filter values once for the whole query
+        String userId = currentUserId;
+        int categoryId = selectedCategoryId();
+        DayRange dateRange = selectedDateRange();
+        PagedExpenseList.PageLoader pages = (after, pageSize) ->
+            ExpenseService.getPersonalExpensesPage(userId, dateRange, categoryId, after, pageSize);
+
+        if (pagedExpenses == null) {
+            pagedExpenses = new PagedExpenseList(pages, PagedExpenseList.DEFAULT_PAGE_SIZE);
+            pagedExpenses.getItems().addListener(this::onExpensesChanged);
+            if (expenseScrollPane != null) {
+                pagedExpenses.attachTo(expenseScrollPane);
+            }
+        }
+        pagedExpenses.reload(pages);
         updateStatistics();
+    }
 
-        // Listen for changes
-        expensesList.addListener((ListChangeListener<Expense>) change -> {
-            applyFilters();
-            updateStatistics();
-        });
+    private void onExpensesChanged(ListChangeListener.Change<? extends Expense> change) {
+        selection.retainPresent(pagedExpenses.getItems());
+        while (change.next()) {
+            // A further page: only its cards are new
+            if (change.wasAdded() && !change.wasRemoved() && change.getFrom() > 0 && filteredExpenses != null) {
+                appendExpenseCards(change.getAddedSubList());
+            } else {
+                applyFilters();
+                return;
+            }
+        }
     }
 
     private void refreshExpenseCards() {
@@ -215,29 +250,28 @@ public class PersonalDashboardController {
 
         expenseCardsPane.getChildren().clear();
 
-        ObservableList<Expense> displayList = filteredExpenses != null ? filteredExpenses : expensesList;
+        ObservableList<Expense> displayList = filteredExpenses;
 
         if (displayList == null || displayList.isEmpty()) {
-            if (emptyStatePane != null) {
-                emptyStatePane.setVisible(true);
-                emptyStatePane.setManaged(true);
-            }
+            showEmptyState(true);
             return;
         }
 
-        if (emptyStatePane != null) {
-            emptyStatePane.setVisible(false);
-            emptyStatePane.setManaged(false);
-        }
+        showEmptyState(false);
 
-        // Show only recent 12 expenses (or all filtered results)
-        int limit = Math.min(12, displayList.size());
-        for (int i = 0; i < limit; i++) {
-            Expense expense = displayList.get(i);
+        // Every loaded row; further pages are appended as the pane scrolls
+        for (Expense expense : displayList) {
             expenseCardsPane.getChildren().add(createExpenseCard(expense));
         }
     }
 
+    private void showEmptyState(boolean empty) {
+        if (emptyStatePane != null) {
+            emptyStatePane.setVisible(empty);
+            emptyStatePane.setManaged(empty);
+        }
+    }
+
     private VBox createExpenseCard(Expense expense) {
         VBox card = new VBox(10);
         card.getStyleClass().add("expense-card");
@@ -252,13 +286,13 @@ public class PersonalDashboardController {
         Label categoryBadge = new Label(getCategoryEmoji(expense.getCategory()) + " " + expense.getCategory());
         categoryBadge.getStyleClass().add("expense-category-badge");
 
-        topRow.getChildren().add(categoryBadge);
+        topRow.getChildren().addAll(selection.checkBoxFor(expense, card), categoryBadge);
 
         // Amount and date row
         HBox amountRow = new HBox(15);
         amountRow.setAlignment(Pos.CENTER_LEFT);
 
-        Label amountLabel = new Label(String.format("৳%.2f", expense.getAmount()));
+        Label amountLabel = new Label(expense.getAmount().format());
         amountLabel.getStyleClass().add("expense-amount");
 
         Label dateLabel = new Label("📅 " + expense.getDate());
@@ -311,65 +345,34 @@ public class PersonalDashboardController {
         }
     }
 
+    /**
+     * Totals come from COUNT/SUM queries - the loaded pages are only part of the list
+     */
     private void updateStatistics() {
-        if (currentUserId == null || expensesList == null) return;
-
-        double total = ExpenseService.getTotalExpenses(currentUserId);
-        if (totalExpensesLabel != null) {
-            totalExpensesLabel.setText(String.format("৳%.2f", total));
-        }
+        if (currentUserId == null) return;
 
-        double monthTotal = calculateMonthTotal();
-        if (monthExpensesLabel != null) {
-            monthExpensesLabel.setText(String.format("৳%.2f", monthTotal));
-        }
-
-        double weekTotal = calculateWeekTotal();
-        if (weekExpensesLabel != null) {
-            weekExpensesLabel.setText(String.format("৳%.2f", weekTotal));
-        }
-
-        if (transactionCountLabel != null) {
-            transactionCountLabel.setText(String.valueOf(expensesList.size()));
-        }
-    }
-
-    private double calculateMonthTotal() {
-        if (expensesList == null) return 0.0;
-        return expensesList.stream()
-            .filter(e -> isCurrentMonth(e.getDate()))
-            .mapToDouble(Expense::getAmount)
-            .sum();
-    }
-
-    private double calculateWeekTotal() {
-        if (expensesList == null) return 0.0;
-        return expensesList.stream()
-            .filter(e -> isCurrentWeek(e.getDate()))
-            .mapToDouble(Expense::getAmount)
-            .sum();
-    }
+        AsyncServices.onFx(AsyncServices.personalTotals(currentUserId, DayRange.ALL), totals -> {
+            if (totalExpensesLabel != null) {
+                totalExpensesLabel.setText(totals.total().format());
+            }
+            if (transactionCountLabel != null) {
+                transactionCountLabel.setText(String.valueOf(totals.count()));
+            }
+        });
 
-    private boolean isCurrentMonth(String dateStr) {
-        try {
-            java.time.LocalDate date = java.time.LocalDate.parse(dateStr);
-            java.time.LocalDate today = java.time.LocalDate.now();
-            return date.getYear() == today.getYear() && date.getMonth() == today.getMonth();
-        } catch (Exception e) {
-            return false;
-        }
-    }
+        DayRange month = DayRange.month(LocalDate.now());
+        AsyncServices.onFx(AsyncServices.personalTotals(currentUserId, month), totals -> {
+            if (monthExpensesLabel != null) {
+                monthExpensesLabel.setText(totals.total().format());
+            }
+        });
 
-    private boolean isCurrentWeek(String dateStr) {
-        try {
-            java.time.LocalDate date = java.time.LocalDate.parse(dateStr);
-            java.time.LocalDate today = java.time.LocalDate.now();
-            java.time.temporal.WeekFields weekFields = java.time.temporal.WeekFields.of(java.util.Locale.US);
-            return date.get(weekFields.weekOfYear()) == today.get(weekFields.weekOfYear()) &&
-                   date.getYear() == today.getYear();
-        } catch (Exception e) {
-            return false;
-        }
+        DayRange week = DayRange.week(LocalDate.now(), java.time.temporal.WeekFields.of(java.util.Locale.US));
+        AsyncServices.onFx(AsyncServices.personalTotals(currentUserId, week), totals -> {
+            if (weekExpensesLabel != null) {
+                weekExpensesLabel.setText(totals.total().format());
+            }
+        });
     }
 
     @FXML
@@ -444,6 +447,35 @@ public class PersonalDashboardController {
         }
     }
 
+    // ==== MULTI-SELECT ====
+
+    @FXML
+    private void handleSelectAll() {
+        if (filteredExpenses == null) return;
+        selection.selectAll(filteredExpenses);
+        refreshExpenseCards();
+    }
+
+    @FXML
+    private void handleClearSelection() {
+        selection.clear();
+        refreshExpenseCards();
+    }
+
+    @FXML
+    private void handleBulkDelete() {
+        if (selection.deleteSelected()) {
+            loadExpenses();
+        }
+    }
+
+    @FXML
+    private void handleBulkChangeCategory() {
+        if (selection.changeCategoryOfSelected()) {
+            loadExpenses();
+        }
+    }
+
     @FXML
     private void handleViewAll() {
         try {
@@ -5,8 +5,10 @@ import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
-import org.example.model.Expense;
-import org.example.service.ExpenseService;
+import org.example.model.DayRange;
+import org.example.model.ExpenseTotals;
+import org.example.model.Money;
+import org.example.service.AggregationService;
 import org.example.util.SessionManager;
 
 import java.time.LocalDate;
@@ -35,7 +37,6 @@ public class PersonalVisualAnalyticsController {
     @FXML private LineChart<String, Number> trendLineChart;
 
     private String userId;
-    private List<Expense> allExpenses;
     private int selectedDays = 30;
 
     @FXML
@@ -68,63 +69,45 @@ public class PersonalVisualAnalyticsController {
     }
 
     private void loadData() {
-        allExpenses = ExpenseService.getPersonalExpensesObservable(userId);
-
-        // Filter by date range
+        // Per-day and per-category rows of the selected window, grouped by the database
         LocalDate today = LocalDate.now();
         LocalDate startDate = selectedDays == Integer.MAX_VALUE ?
             LocalDate.MIN : today.minusDays(selectedDays - 1);
+        DayRange range = DayRange.lastDays(selectedDays, today);
 
-        List<Expense> filteredExpenses = allExpenses.stream()
-            .filter(e -> {
-                try {
-                    LocalDate date = LocalDate.parse(e.getDate());
-                    return !date.isBefore(startDate) && !date.isAfter(today);
-                } catch (Exception ex) {
-                    return false;
-                }
-            })
-            .collect(Collectors.toList());
+        NavigableMap<Integer, ExpenseTotals> dailyTotals = AggregationService.getPersonalDailyTotals(userId, range);
+        Map<String, Long> categoryTotals = AggregationService.getPersonalCategoryTotals(userId, range).toSortedMap();
 
         Platform.runLater(() -> {
-            updateSummaryStats(filteredExpenses);
-            updateCategoryPieChart(filteredExpenses);
-            updateTrendLineChart(filteredExpenses, startDate, today);
+            updateSummaryStats(dailyTotals, categoryTotals);
+            updateCategoryPieChart(categoryTotals);
+            updateTrendLineChart(dailyTotals, startDate, today);
         });
     }
 
-    private void updateSummaryStats(List<Expense> expenses) {
-        double total = expenses.stream().mapToDouble(Expense::getAmount).sum();
-        int transactionCount = expenses.size();
-
-        Set<String> categories = expenses.stream()
-            .map(Expense::getCategory)
-            .collect(Collectors.toSet());
+    private void updateSummaryStats(NavigableMap<Integer, ExpenseTotals> dailyTotals, Map<String, Long> categoryTotals) {
+        long total = 0;
+        int transactionCount = 0;
 
         // Find peak spending day
-        Map<LocalDate, Double> dailyTotals = new HashMap<>();
-        for (Expense e : expenses) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                dailyTotals.merge(date, e.getAmount(), Double::sum);
-            } catch (Exception ignored) {}
-        }
-
         LocalDate peakDay = null;
-        double peakAmount = 0;
-        for (Map.Entry<LocalDate, Double> entry : dailyTotals.entrySet()) {
-            if (entry.getValue() > peakAmount) {
-                peakAmount = entry.getValue();
-                peakDay = entry.getKey();
+        long peakAmount = 0;
+        for (Map.Entry<Integer, ExpenseTotals> entry : dailyTotals.entrySet()) {
+            ExpenseTotals day = entry.getValue();
+            total += day.totalMinor();
+            transactionCount += day.count();
+            if (day.totalMinor() > peakAmount) {
+                peakAmount = day.totalMinor();
+                peakDay = LocalDate.ofEpochDay(entry.getKey());
             }
         }
 
         int daysWithExpenses = dailyTotals.size();
-        double avgDaily = daysWithExpenses > 0 ? total / daysWithExpenses : 0;
+        long avgDaily = daysWithExpenses > 0 ? Math.round((double) total / daysWithExpenses) : 0;
 
-        totalSpentLabel.setText(String.format("৳%.2f", total));
-        avgDailyLabel.setText(String.format("৳%.2f", avgDaily));
-        categoryCountLabel.setText(String.valueOf(categories.size()));
+        totalSpentLabel.setText(Money.format(total));
+        avgDailyLabel.setText(Money.format(avgDaily));
+        categoryCountLabel.setText(String.valueOf(categoryTotals.size()));
         transactionCountLabel.setText(String.valueOf(transactionCount));
 
         if (peakDay != null) {
@@ -134,53 +117,41 @@ public class PersonalVisualAnalyticsController {
         }
     }
 
-    private void updateCategoryPieChart(List<Expense> expenses) {
+    private void updateCategoryPieChart(Map<String, Long> categoryTotals) {
         if (categoryPieChart == null) return;
         categoryPieChart.getData().clear();
 
-        if (expenses == null || expenses.isEmpty()) return;
-
-        Map<String, Double> categoryTotals = expenses.stream()
-            .collect(Collectors.groupingBy(
-                e -> Optional.ofNullable(e.getCategory()).orElse("Other"),
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        if (categoryTotals.isEmpty()) return;
 
         categoryTotals.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
             .limit(8)
             .forEach(entry -> {
                 PieChart.Data slice = new PieChart.Data(
-                    entry.getKey() + " (৳" + String.format("%.0f", entry.getValue()) + ")",
-                    entry.getValue()
+                    entry.getKey() + " (৳" + (entry.getValue() + 50) / 100 + ")",
+                    entry.getValue() / 100.0
                 );
                 categoryPieChart.getData().add(slice);
             });
     }
 
 
-    private void updateTrendLineChart(List<Expense> expenses, LocalDate startDate, LocalDate endDate) {
+    private void updateTrendLineChart(NavigableMap<Integer, ExpenseTotals> expenseDays, LocalDate startDate, LocalDate endDate) {
         if (trendLineChart == null) return;
         trendLineChart.getData().clear();
 
-        if (expenses == null || expenses.isEmpty()) return;
+        if (expenseDays.isEmpty()) return;
 
-        Map<LocalDate, Double> dailyTotals = new TreeMap<>();
+        Map<LocalDate, Long> dailyTotals = new TreeMap<>();
 
         // Initialize all dates with 0
         LocalDate current = startDate.isAfter(LocalDate.now().minusDays(365)) ? startDate : LocalDate.now().minusDays(365);
         while (!current.isAfter(endDate)) {
-            dailyTotals.put(current, 0.0);
+            dailyTotals.put(current, 0L);
             current = current.plusDays(1);
         }
 
         // Fill in actual values
-        for (Expense e : expenses) {
-            try {
-                LocalDate date = LocalDate.parse(e.getDate());
-                dailyTotals.merge(date, e.getAmount(), Double::sum);
-            } catch (Exception ignored) {}
-        }
+        expenseDays.forEach((day, totals) -> dailyTotals.merge(LocalDate.ofEpochDay(day), totals.totalMinor(), Long::sum));
 
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         series.setName("Daily Spending");
@@ -189,11 +160,11 @@ public class PersonalVisualAnalyticsController {
         int skipFactor = Math.max(1, dailyTotals.size() / 15);
         int i = 0;
 
-        for (Map.Entry<LocalDate, Double> entry : dailyTotals.entrySet()) {
+        for (Map.Entry<LocalDate, Long> entry : dailyTotals.entrySet()) {
             if (i % skipFactor == 0 || i == dailyTotals.size() - 1) {
                 series.getData().add(new XYChart.Data<>(
                     entry.getKey().format(formatter),
-                    entry.getValue()
+                    entry.getValue() / 100.0
                 ));
             }
             i++;
@@ -14,6 +14,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.example.model.GroupMember;
+import org.example.model.Money;
 import org.example.service.ExpenseService;
 import org.example.service.GroupService;
 
@@ -123,12 +124,12 @@ public class ViewMembersController {
         long expenseCount = expenses.stream()
             .filter(e -> member.getUserId().equals(e.getUserId()))
             .count();
-        double totalSpent = expenses.stream()
+        long totalSpent = expenses.stream()
             .filter(e -> member.getUserId().equals(e.getUserId()))
-            .mapToDouble(e -> e.getAmount())
+            .mapToLong(e -> e.getAmountMinor())
             .sum();
 
-        Label statsLabel = new Label(String.format("💰 %d expenses • ৳%.2f", expenseCount, totalSpent));
+        Label statsLabel = new Label(String.format("💰 %d expenses • %s", expenseCount, Money.format(totalSpent)));
         statsLabel.setStyle("-fx-text-fill: #7b8ae4; -fx-font-size: 11px;");
 
         info.getChildren().addAll(nameLabel, emailLabel, statsLabel);
@@ -0,0 +1,60 @@
+package org.example.model;
+
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+
+/**
+ * DayRange Model Class
+ * An inclusive range of epoch days, matching Expense.getEpochDay() and the
+ * EXPENSES.epoch_day column. Open ends use MIN_DAY / MAX_DAY, so a membership
+ * test is always two int comparisons and a SQL filter is always BETWEEN.
+ */
+public record DayRange(int first, int last) {
+
+    public static final int MIN_DAY = Expense.NO_DATE + 1;
+    public static final int MAX_DAY = Integer.MAX_VALUE - 1;
+
+    public static final DayRange ALL = new DayRange(MIN_DAY, MAX_DAY);
+
+    /**
+     * From/to as picked in the UI; a null end leaves that side open
+     */
+    public static DayRange of(LocalDate from, LocalDate to) {
+        return new DayRange(from == null ? MIN_DAY : toDay(from), to == null ? MAX_DAY : toDay(to));
+    }
+
+    /**
+     * The last n days up to and including today; Integer.MAX_VALUE means all time
+     */
+    public static DayRange lastDays(int days, LocalDate today) {
+        return days == Integer.MAX_VALUE ? of(null, today) : of(today.minusDays(days - 1), today);
+    }
+
+    /**
+     * The calendar month containing day
+     */
+    public static DayRange month(LocalDate day) {
+        return of(day.withDayOfMonth(1), day.withDayOfMonth(day.lengthOfMonth()));
+    }
+
+    /**
+     * The week containing day, clipped to its calendar year - the same days that
+     * share day's week-of-year and year under weekFields.
+     */
+    public static DayRange week(LocalDate day, WeekFields weekFields) {
+        LocalDate start = day.with(weekFields.dayOfWeek(), 1);
+        LocalDate end = start.plusDays(6);
+        LocalDate yearStart = day.withDayOfYear(1);
+        LocalDate yearEnd = day.withDayOfYear(day.lengthOfYear());
+        return of(start.isBefore(yearStart) ? yearStart : start, end.isAfter(yearEnd) ? yearEnd : end);
+    }
+
+    public boolean contains(int epochDay) {
+        return epochDay >= first && epochDay <= last;
+    }
+
+    private static int toDay(LocalDate date) {
+        long day = date.toEpochDay();
+        return (int) Math.max(MIN_DAY, Math.min(MAX_DAY, day));
+    }
+}
@@ -1,29 +1,46 @@
 package org.example.model;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 /**
  * Expense Model Class
  * Represents an expense record
  */
 public class Expense {
+
+    /**
+     * getEpochDay() for a missing or malformed date. Below every DayRange, so range checks skip it.
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int UNPARSED = Integer.MAX_VALUE;
+
+    // IdGenerator key in decimal form
     private String expenseId;
     private String userId;
     private String groupId;
     private String category;
-    private double amount;
+    // CATEGORIES id; 0 until the service resolves it (e.g. for objects read from JSON)
+    private transient int categoryId;
+    private Money amount = Money.ZERO;
     private String date;
+    // Parsed once from date; transient so the JSON format keeps only the ISO string
+    private transient int epochDay = UNPARSED;
     private String note;
 
     public Expense() {
     }
 
     public Expense(String expenseId, String userId, String groupId, String category,
-                   double amount, String date, String note) {
+                   Money amount, String date, String note) {
         this.expenseId = expenseId;
         this.userId = userId;
         this.groupId = groupId;
         this.category = category;
-        this.amount = amount;
+        this.amount = amount != null ? amount : Money.ZERO;
         this.date = date;
+        this.epochDay = parseEpochDay(date);
         this.note = note;
     }
 
@@ -58,14 +75,33 @@ public class Expense {
 
     public void setCategory(String category) {
         this.category = category;
+        this.categoryId = 0;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Set after setCategory() with the id of that same category
+     */
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
     }
 
-    public double getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
-        this.amount = amount;
+    public void setAmount(Money amount) {
+        this.amount = amount != null ? amount : Money.ZERO;
+    }
+
+    /**
+     * Amount in paisa, for summing on primitive longs
+     */
+    public long getAmountMinor() {
+        return amount.getMinor();
     }
 
     public String getDate() {
@@ -74,6 +110,43 @@ public class Expense {
 
     public void setDate(String date) {
         this.date = date;
+        this.epochDay = parseEpochDay(date);
+    }
+
+    /**
+     * Days since 1970-01-01, or NO_DATE. Filters compare this instead of re-parsing getDate().
+     */
+    public int getEpochDay() {
+        if (epochDay == UNPARSED) {
+            // Objects built by Gson bypass setDate()
+            epochDay = parseEpochDay(date);
+        }
+        return epochDay;
+    }
+
+    public void setEpochDay(int epochDay) {
+        this.epochDay = epochDay;
+        this.date = LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    /**
+     * The date as a LocalDate, or null if it is missing or malformed
+     */
+    public LocalDate getLocalDate() {
+        int day = getEpochDay();
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * ISO date ("2024-01-31") to epoch day, or NO_DATE
+     */
+    public static int parseEpochDay(String date) {
+        if (date == null) return NO_DATE;
+        try {
+            return Math.toIntExact(LocalDate.parse(date.trim()).toEpochDay());
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return NO_DATE;
+        }
     }
 
     public String getNote() {
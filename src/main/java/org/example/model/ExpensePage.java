@@ -0,0 +1,41 @@
+package org.example.model;
+
+import java.util.List;
+
+/**
+ * ExpensePage Model Class
+ * One page of an expense list, newest first, plus the keyset cursor for the
+ * page after it. The cursor is the (epoch day, id) of the last row returned;
+ * the next page starts strictly below it, so pages stay stable while rows are
+ * added above and no OFFSET has to be skipped over.
+ */
+public record ExpensePage(List<Expense> expenses, Cursor next) {
+
+    /**
+     * Position in ORDER BY epoch_day DESC, expense_id DESC
+     */
+    public record Cursor(int epochDay, long expenseId) {
+
+        /**
+         * Before the first row: every stored expense sorts below it
+         */
+        public static final Cursor START = new Cursor(Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Build a page from up to limit + 1 fetched rows; the extra row only says another page exists
+     */
+    public static ExpensePage of(List<Expense> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new ExpensePage(fetched, null);
+        }
+        List<Expense> page = List.copyOf(fetched.subList(0, limit));
+        Expense last = page.get(limit - 1);
+        // expenseId is an IdGenerator key in decimal form
+        return new ExpensePage(page, new Cursor(last.getEpochDay(), Long.parseLong(last.getExpenseId())));
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.model;
+
+/**
+ * ExpenseTotals Model Class
+ * Row count and amount sum of a set of expenses, computed by the store
+ * (COUNT / SUM) instead of by loading the rows.
+ */
+public record ExpenseTotals(int count, long totalMinor) {
+
+    public static final ExpenseTotals EMPTY = new ExpenseTotals(0, 0);
+
+    public ExpenseTotals plus(ExpenseTotals other) {
+        return new ExpenseTotals(count + other.count, totalMinor + other.totalMinor);
+    }
+
+    public Money total() {
+        return Money.ofMinor(totalMinor);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money Model Class
+ * An exact amount of Taka held as a whole number of paisa (1/100 Taka).
+ * Sums of Money never drift the way sums of doubles do. Use toDouble() only
+ * at the edges that need one (chart axes, percentages).
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    public static final String SYMBOL = "৳";
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /**
+     * From a Taka value such as a parsed text field. Rounds half-up to the nearest paisa.
+     */
+    public static Money ofMajor(double taka) {
+        return ofMinor(BigDecimal.valueOf(taka).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    /**
+     * Parse user or file input like "1250", "1250.5" or "৳1,250.50".
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static Money parse(String text) {
+        if (text == null) throw new NumberFormatException("null");
+        String cleaned = text.trim().replace(SYMBOL, "").replace(",", "").trim();
+        try {
+            return ofMinor(new BigDecimal(cleaned).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    public long getMinor() {
+        return minor;
+    }
+
+    public double toDouble() {
+        return minor / 100.0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    public boolean isZero() {
+        return minor == 0;
+    }
+
+    public boolean isPositive() {
+        return minor > 0;
+    }
+
+    public boolean isNegative() {
+        return minor < 0;
+    }
+
+    /**
+     * "1250.50" - no symbol, always two decimals
+     */
+    public String toPlainString() {
+        return toPlainString(minor);
+    }
+
+    /**
+     * "৳1250.50"
+     */
+    public String format() {
+        return format(minor);
+    }
+
+    /**
+     * Formats a paisa total without allocating a Money, for primitive aggregates.
+     */
+    public static String format(long minor) {
+        return minor < 0 ? "-" + SYMBOL + toPlainString(-minor) : SYMBOL + toPlainString(minor);
+    }
+
+    public static String toPlainString(long minor) {
+        String sign = minor < 0 ? "-" : "";
+        long abs = Math.abs(minor);
+        long fraction = abs % 100;
+        return sign + (abs / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    @Override
+    public String toString() {
+        return toPlainString();
+    }
+}
@@ -5,7 +5,7 @@ package org.example.model;
  * Represents alerts sent from child to parent or suggestions from parent to child
  */
 public class ParentChildAlert {
-    private String alertId;
+    private String alertId; // IdGenerator key in decimal form
     private String fromUserId;
     private String toUserId;
     private String type; // "alert" or "suggestion"
@@ -0,0 +1,28 @@
+package org.example.repository;
+
+import org.example.model.ParentChildAlert;
+
+import java.util.List;
+
+/**
+ * Alert Repository
+ * Storage for parent-child alerts and suggestions. Lists are newest first.
+ * Display names (fromUserName / toUserName) are left for the service to fill in.
+ */
+public interface AlertRepository {
+
+    /**
+     * Store an alert; its id is generated and set on the passed object
+     */
+    boolean insert(ParentChildAlert alert) throws Exception;
+
+    List<ParentChildAlert> findForRecipient(String userId) throws Exception;
+
+    List<ParentChildAlert> findFromSender(String userId) throws Exception;
+
+    int countUnread(String userId) throws Exception;
+
+    boolean markRead(String alertId) throws Exception;
+
+    boolean delete(String alertId) throws Exception;
+}
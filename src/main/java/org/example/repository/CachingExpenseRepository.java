@@ -0,0 +1,671 @@
+package org.example.repository;
+
+import org.example.model.DayRange;
+import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.ExpenseTotals;
+import org.example.service.CategoryRegistry;
+import org.example.service.IdGenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Caching Expense Repository
+ * Write-through cache in front of another ExpenseRepository (the SQLite one). The
+ * first full read of a user's personal expenses or of a group's expenses loads that
+ * scope into memory; later reads of it - lists, date ranges, pages, per-member lists
+ * and totals - are served from indexes by epoch day, category and member. Writes go
+ * to the delegate first and are then applied to the cached scope, so the cache never
+ * holds anything the database does not.
+ *
+ * Totals and pages are served from memory only for scopes that are already loaded;
+ * otherwise they stay single SQL queries. A scope loaded while a write was in flight
+ * is returned to its caller but not kept, so a stale load never lands in the cache.
+ * Bounded by scope count and row count, evicting the least recently used scopes.
+ */
+public class CachingExpenseRepository implements ExpenseRepository {
+
+    /**
+     * Cache limits. Defaults can be overridden with -Dexpense.cache.* system properties.
+     */
+    public static class Config {
+        public boolean enabled = true;
+        public int maxScopes = 64;
+        public int maxRows = 200_000;
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.enabled = Boolean.parseBoolean(System.getProperty("expense.cache.enabled", String.valueOf(c.enabled)));
+            c.maxScopes = Integer.getInteger("expense.cache.maxScopes", c.maxScopes);
+            c.maxRows = Integer.getInteger("expense.cache.maxRows", c.maxRows);
+            return c;
+        }
+    }
+
+    /**
+     * One user's personal expenses or one group's expenses, with its secondary indexes
+     */
+    private static final class Scope {
+        final NavigableMap<DayKey, Expense> byDay = new TreeMap<>();
+        final Map<Integer, NavigableMap<DayKey, Expense>> byCategory = new HashMap<>();
+        final Map<String, NavigableMap<DayKey, Expense>> byUser = new HashMap<>();
+        long totalMinor;
+        volatile long lastUsed;
+
+        void add(long id, Expense stored) {
+            DayKey key = new DayKey(stored.getEpochDay(), id);
+            byDay.put(key, stored);
+            byCategory.computeIfAbsent(stored.getCategoryId(), k -> new TreeMap<>()).put(key, stored);
+            byUser.computeIfAbsent(stored.getUserId(), k -> new TreeMap<>()).put(key, stored);
+            totalMinor += stored.getAmountMinor();
+        }
+
+        void remove(long id, Expense stored) {
+            DayKey key = new DayKey(stored.getEpochDay(), id);
+            if (byDay.remove(key) == null) return;
+            removeFrom(byCategory, stored.getCategoryId(), key);
+            removeFrom(byUser, stored.getUserId(), key);
+            totalMinor -= stored.getAmountMinor();
+        }
+
+        private static <K> void removeFrom(Map<K, NavigableMap<DayKey, Expense>> index, K owner, DayKey key) {
+            NavigableMap<DayKey, Expense> entries = index.get(owner);
+            if (entries == null) return;
+            entries.remove(key);
+            if (entries.isEmpty()) index.remove(owner);
+        }
+    }
+
+    private final ExpenseRepository delegate;
+    private final Config config;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Scope> personal = new HashMap<>();
+    private final Map<String, Scope> groups = new HashMap<>();
+    // Every cached row, whichever scope holds it
+    private final Map<Long, Expense> byId = new HashMap<>();
+    // Bumped by every write; a load that saw it change is not kept
+    private long writeVersion;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long evictions;
+
+    public CachingExpenseRepository(ExpenseRepository delegate, Config config) {
+        this.delegate = delegate;
+        this.config = config;
+    }
+
+    public String getStats() {
+        lock.readLock().lock();
+        try {
+            return String.format("scopes=%d (max %d), rows=%d (max %d), hits=%d, misses=%d, evictions=%d",
+                    personal.size() + groups.size(), config.maxScopes, byId.size(), config.maxRows,
+                    hits.get(), misses.get(), evictions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==== CATEGORIES ====
+
+    @Override
+    public Map<Integer, String> loadCategories() throws Exception {
+        return delegate.loadCategories();
+    }
+
+    @Override
+    public int addCategory(String name) throws Exception {
+        return delegate.addCategory(name);
+    }
+
+    // ==== WRITES ====
+
+    @Override
+    public CompletableFuture<Expense> insertAsync(Expense expense) {
+        return delegate.insertAsync(expense).thenApply(stored -> {
+            if (stored != null) {
+                lock.writeLock().lock();
+                try {
+                    writeVersion++;
+                    cacheInserted(stored);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            return stored;
+        });
+    }
+
+    @Override
+    public List<Expense> insertAll(List<Expense> expenses) throws Exception {
+        List<Expense> stored = delegate.insertAll(expenses);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            for (Expense expense : stored) {
+                cacheInserted(expense);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean update(Expense expense) throws Exception {
+        boolean updated = delegate.update(expense);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            if (updated) cacheUpdated(expense);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return updated;
+    }
+
+    @Override
+    public int updateAll(List<Expense> expenses) throws Exception {
+        int updated = delegate.updateAll(expenses);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            for (Expense expense : expenses) {
+                cacheUpdated(expense);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return updated;
+    }
+
+    @Override
+    public int updateCategory(Collection<String> expenseIds, int categoryId) throws Exception {
+        int updated = delegate.updateCategory(expenseIds, categoryId);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            for (String expenseId : expenseIds) {
+                cacheRecategorized(IdGenerator.parse(expenseId), categoryId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean delete(String expenseId) throws Exception {
+        boolean deleted = delegate.delete(expenseId);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            cacheDeleted(IdGenerator.parse(expenseId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteAll(Collection<String> expenseIds) throws Exception {
+        int deleted = delegate.deleteAll(expenseIds);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            for (String expenseId : expenseIds) {
+                cacheDeleted(IdGenerator.parse(expenseId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteByGroup(String groupId) throws Exception {
+        int deleted = delegate.deleteByGroup(groupId);
+        lock.writeLock().lock();
+        try {
+            writeVersion++;
+            drop(groups, groupId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    /**
+     * Add (or replace - a racing load may already have it) a committed row in its scope, if loaded
+     */
+    private void cacheInserted(Expense stored) {
+        Scope scope = scopeOf(stored);
+        if (scope == null) return;
+        long id = IdGenerator.parse(stored.getExpenseId());
+        Expense previous = byId.remove(id);
+        if (previous != null) scope.remove(id, previous);
+        Expense copy = InMemoryExpenseRepository.copy(stored);
+        scope.add(id, copy);
+        byId.put(id, copy);
+    }
+
+    /**
+     * Apply category, amount, date and note to the cached row, re-indexing it
+     */
+    private void cacheUpdated(Expense changes) {
+        long id = IdGenerator.parse(changes.getExpenseId());
+        Expense cached = byId.get(id);
+        if (cached == null) return;
+        Scope scope = scopeOf(cached);
+        if (scope == null) return;
+        scope.remove(id, cached);
+        cached.setCategory(CategoryRegistry.nameOf(changes.getCategoryId()));
+        cached.setCategoryId(changes.getCategoryId());
+        cached.setAmount(changes.getAmount());
+        cached.setEpochDay(changes.getEpochDay());
+        cached.setNote(changes.getNote());
+        scope.add(id, cached);
+    }
+
+    private void cacheRecategorized(long id, int categoryId) {
+        Expense cached = byId.get(id);
+        if (cached == null) return;
+        Scope scope = scopeOf(cached);
+        if (scope == null) return;
+        scope.remove(id, cached);
+        cached.setCategory(CategoryRegistry.nameOf(categoryId));
+        cached.setCategoryId(categoryId);
+        scope.add(id, cached);
+    }
+
+    private void cacheDeleted(long id) {
+        Expense cached = byId.remove(id);
+        if (cached == null) return;
+        Scope scope = scopeOf(cached);
+        if (scope != null) scope.remove(id, cached);
+    }
+
+    private Scope scopeOf(Expense expense) {
+        String groupId = expense.getGroupId();
+        return groupId == null || groupId.isEmpty() ? personal.get(expense.getUserId()) : groups.get(groupId);
+    }
+
+    // ==== READS ====
+
+    @Override
+    public Expense findById(String expenseId) throws Exception {
+        long id = IdGenerator.parse(expenseId);
+        lock.readLock().lock();
+        try {
+            Expense cached = byId.get(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return InMemoryExpenseRepository.copy(cached);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.findById(expenseId);
+    }
+
+    /**
+     * Cached rows are copied; only the ids no resident scope holds go to the delegate
+     */
+    @Override
+    public List<Expense> findByIds(Collection<String> expenseIds) throws Exception {
+        List<Expense> found = new ArrayList<>(expenseIds.size());
+        List<String> missing = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String expenseId : expenseIds) {
+                Expense cached = byId.get(IdGenerator.parse(expenseId));
+                if (cached != null) {
+                    found.add(InMemoryExpenseRepository.copy(cached));
+                } else {
+                    missing.add(expenseId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.addAndGet(found.size());
+        if (!missing.isEmpty()) found.addAll(delegate.findByIds(missing));
+        return found;
+    }
+
+    @Override
+    public List<Expense> findPersonal(String userId, DayRange range) throws Exception {
+        Scope scope = load(personal, userId, () -> delegate.findPersonal(userId, DayRange.ALL));
+        return newestFirst(scope, scope.byDay, range);
+    }
+
+    @Override
+    public List<Expense> findGroup(String groupId, DayRange range) throws Exception {
+        Scope scope = load(groups, groupId, () -> delegate.findGroup(groupId, DayRange.ALL));
+        return newestFirst(scope, scope.byDay, range);
+    }
+
+    @Override
+    public List<Expense> findGroupByUser(String groupId, String userId) throws Exception {
+        Scope scope = load(groups, groupId, () -> delegate.findGroup(groupId, DayRange.ALL));
+        lock.readLock().lock();
+        try {
+            return newestFirst(scope, scope.byUser.get(userId), DayRange.ALL);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==== PAGES ====
+
+    @Override
+    public ExpensePage findPersonalPage(String userId, DayRange range, int categoryId,
+                                        ExpensePage.Cursor after, int limit) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(personal, userId);
+            if (scope != null) return page(scope, range, categoryId, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.findPersonalPage(userId, range, categoryId, after, limit);
+    }
+
+    @Override
+    public ExpensePage findGroupPage(String groupId, DayRange range, int categoryId,
+                                     ExpensePage.Cursor after, int limit) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(groups, groupId);
+            if (scope != null) return page(scope, range, categoryId, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.findGroupPage(groupId, range, categoryId, after, limit);
+    }
+
+    @Override
+    public ExpenseTotals personalTotals(String userId, DayRange range) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(personal, userId);
+            if (scope != null) return totals(scope, range);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.personalTotals(userId, range);
+    }
+
+    @Override
+    public ExpenseTotals groupTotals(String groupId, DayRange range) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(groups, groupId);
+            if (scope != null) return totals(scope, range);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.groupTotals(groupId, range);
+    }
+
+    @Override
+    public Map<String, ExpenseTotals> memberTotals(String groupId, DayRange range) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(groups, groupId);
+            if (scope != null) {
+                Map<String, ExpenseTotals> byUser = new HashMap<>();
+                scope.byUser.forEach((userId, entries) -> {
+                    ExpenseTotals totals = totals(entries, range);
+                    if (totals.count() > 0) byUser.put(userId, totals);
+                });
+                return byUser;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.memberTotals(groupId, range);
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> personalTotalsBy(String userId, DayRange range,
+                                                                 Breakdown by) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(personal, userId);
+            if (scope != null) return totalsBy(scope, range, by);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.personalTotalsBy(userId, range, by);
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> groupTotalsBy(String groupId, DayRange range,
+                                                              Breakdown by) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(groups, groupId);
+            if (scope != null) return totalsBy(scope, range, by);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.groupTotalsBy(groupId, range, by);
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> memberTotalsBy(String groupId, String userId, DayRange range,
+                                                               Breakdown by) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(groups, groupId);
+            if (scope != null) return InMemoryExpenseRepository.totalsBy(scope.byUser.get(userId), range, by);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.memberTotalsBy(groupId, userId, range, by);
+    }
+
+    @Override
+    public List<Expense> findAll() throws Exception {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long personalTotalMinor(String userId) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(personal, userId);
+            if (scope != null) return scope.totalMinor;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.personalTotalMinor(userId);
+    }
+
+    @Override
+    public long groupTotalMinor(String groupId) throws Exception {
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(groups, groupId);
+            if (scope != null) return scope.totalMinor;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delegate.groupTotalMinor(groupId);
+    }
+
+    // ==== LOADING ====
+
+    @FunctionalInterface
+    private interface Loader {
+        List<Expense> load() throws Exception;
+    }
+
+    /**
+     * Caller holds the read lock. Counts a hit when the scope is there.
+     */
+    private Scope resident(Map<String, Scope> scopes, String key) {
+        Scope scope = scopes.get(key);
+        if (scope != null) {
+            scope.lastUsed = clock.incrementAndGet();
+            hits.incrementAndGet();
+        }
+        return scope;
+    }
+
+    /**
+     * The cached scope, or load it from the delegate. The loaded scope is kept only if no
+     * write happened while it was read and it fits the row limit.
+     */
+    private Scope load(Map<String, Scope> scopes, String key, Loader loader) throws Exception {
+        long version;
+        lock.readLock().lock();
+        try {
+            Scope scope = resident(scopes, key);
+            if (scope != null) return scope;
+            version = writeVersion;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        misses.incrementAndGet();
+        List<Expense> rows = loader.load();
+        Scope loaded = new Scope();
+        for (Expense row : rows) {
+            loaded.add(IdGenerator.parse(row.getExpenseId()), row);
+        }
+        loaded.lastUsed = clock.incrementAndGet();
+
+        lock.writeLock().lock();
+        try {
+            Scope existing = scopes.get(key);
+            if (existing != null) return existing;
+            if (writeVersion != version || rows.size() > config.maxRows) return loaded;
+            scopes.put(key, loaded);
+            for (Expense row : rows) {
+                byId.put(IdGenerator.parse(row.getExpenseId()), row);
+            }
+            evictOverLimit(loaded);
+            return loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Caller holds the write lock
+     */
+    private void drop(Map<String, Scope> scopes, String key) {
+        Scope scope = scopes.remove(key);
+        if (scope == null) return;
+        for (DayKey dayKey : scope.byDay.keySet()) {
+            byId.remove(dayKey.id());
+        }
+    }
+
+    /**
+     * Caller holds the write lock. Drops least recently used scopes, never the one just loaded.
+     */
+    private void evictOverLimit(Scope keep) {
+        while (personal.size() + groups.size() > config.maxScopes || byId.size() > config.maxRows) {
+            Map<String, Scope> victimMap = null;
+            String victimKey = null;
+            long oldest = Long.MAX_VALUE;
+            for (Map<String, Scope> scopes : List.of(personal, groups)) {
+                for (Map.Entry<String, Scope> e : scopes.entrySet()) {
+                    if (e.getValue() != keep && e.getValue().lastUsed < oldest) {
+                        oldest = e.getValue().lastUsed;
+                        victimMap = scopes;
+                        victimKey = e.getKey();
+                    }
+                }
+            }
+            if (victimMap == null) return;
+            drop(victimMap, victimKey);
+            evictions++;
+        }
+    }
+
+    // ==== INDEX QUERIES ====
+
+    private List<Expense> newestFirst(Scope scope, NavigableMap<DayKey, Expense> entries, DayRange range) {
+        lock.readLock().lock();
+        try {
+            List<Expense> expenses = new ArrayList<>();
+            if (entries == null) return expenses;
+            for (Expense stored : DayKey.within(entries, range).descendingMap().values()) {
+                expenses.add(InMemoryExpenseRepository.copy(stored));
+            }
+            return expenses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the category index when filtering by category, otherwise the day index
+     */
+    private static ExpensePage page(Scope scope, DayRange range, int categoryId,
+                                    ExpensePage.Cursor after, int limit) {
+        NavigableMap<DayKey, Expense> entries = categoryId == ANY_CATEGORY
+                ? scope.byDay : scope.byCategory.get(categoryId);
+        List<Expense> fetched = new ArrayList<>();
+        if (entries == null) return ExpensePage.of(fetched, limit);
+        DayKey lower = DayKey.first(range.first());
+        DayKey upper = new DayKey(after.epochDay(), after.expenseId());
+        boolean upperInclusive = false;
+        DayKey rangeTop = DayKey.last(range.last());
+        if (rangeTop.compareTo(upper) < 0) {
+            upper = rangeTop;
+            upperInclusive = true;
+        }
+        if (upper.compareTo(lower) < 0) return ExpensePage.of(fetched, limit);
+        for (Expense stored : entries.subMap(lower, true, upper, upperInclusive).descendingMap().values()) {
+            fetched.add(InMemoryExpenseRepository.copy(stored));
+            if (fetched.size() > limit) break;
+        }
+        return ExpensePage.of(fetched, limit);
+    }
+
+    private static ExpenseTotals totals(Scope scope, DayRange range) {
+        if (range.equals(DayRange.ALL)) return new ExpenseTotals(scope.byDay.size(), scope.totalMinor);
+        return totals(scope.byDay, range);
+    }
+
+    /**
+     * Category totals come from the category index, one range count per category;
+     * the other breakdowns walk the day index
+     */
+    private static NavigableMap<Integer, ExpenseTotals> totalsBy(Scope scope, DayRange range, Breakdown by) {
+        if (by != Breakdown.CATEGORY) return InMemoryExpenseRepository.totalsBy(scope.byDay, range, by);
+        NavigableMap<Integer, ExpenseTotals> byCategory = new TreeMap<>();
+        scope.byCategory.forEach((categoryId, entries) -> {
+            ExpenseTotals totals = totals(entries, range);
+            if (totals.count() > 0) byCategory.put(categoryId, totals);
+        });
+        return byCategory;
+    }
+
+    private static ExpenseTotals totals(NavigableMap<DayKey, Expense> entries, DayRange range) {
+        int count = 0;
+        long total = 0;
+        for (Expense stored : DayKey.within(entries, range).values()) {
+            count++;
+            total += stored.getAmountMinor();
+        }
+        return new ExpenseTotals(count, total);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.repository;
+
+import org.example.model.DayRange;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+
+/**
+ * Sort key matching ORDER BY epoch_day, expense_id, for the in-memory indexes
+ */
+record DayKey(int epochDay, long id) implements Comparable<DayKey> {
+
+    static DayKey first(int epochDay) {
+        return new DayKey(epochDay, Long.MIN_VALUE);
+    }
+
+    static DayKey last(int epochDay) {
+        return new DayKey(epochDay, Long.MAX_VALUE);
+    }
+
+    /**
+     * The entries dated within range; empty for an inverted range, which subMap rejects
+     */
+    static <V> NavigableMap<DayKey, V> within(NavigableMap<DayKey, V> entries, DayRange range) {
+        if (range.first() > range.last()) return Collections.emptyNavigableMap();
+        return entries.subMap(first(range.first()), true, last(range.last()), true);
+    }
+
+    @Override
+    public int compareTo(DayKey o) {
+        int c = Integer.compare(epochDay, o.epochDay);
+        return c != 0 ? c : Long.compare(id, o.id);
+    }
+}
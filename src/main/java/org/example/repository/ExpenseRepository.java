@@ -0,0 +1,157 @@
+package org.example.repository;
+
+import org.example.model.DayRange;
+import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.ExpenseTotals;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Expense Repository
+ * Storage for expenses and the category dictionary. Lists are newest first
+ * (epoch day, then id). Expenses handed in must already carry their category id;
+ * expenses handed out carry both the id and the name.
+ */
+public interface ExpenseRepository {
+
+    /**
+     * categoryId argument that matches every category
+     */
+    int ANY_CATEGORY = -1;
+
+    /**
+     * How totalsBy() groups rows: by category id, by epoch day, or by day of the
+     * week (0 = Monday .. 6 = Sunday)
+     */
+    enum Breakdown {
+        CATEGORY, DAY, WEEKDAY;
+
+        public int keyOf(Expense expense) {
+            return switch (this) {
+                case CATEGORY -> expense.getCategoryId();
+                case DAY -> expense.getEpochDay();
+                // Epoch day 0 was a Thursday
+                case WEEKDAY -> Math.floorMod(expense.getEpochDay() + 3, 7);
+            };
+        }
+    }
+
+    // ==== CATEGORIES ====
+
+    /**
+     * Every category, id -> name
+     */
+    Map<Integer, String> loadCategories() throws Exception;
+
+    /**
+     * Id of the category with this name (case-insensitive), adding it if it is new
+     */
+    int addCategory(String name) throws Exception;
+
+    // ==== WRITES ====
+
+    /**
+     * Store a new expense. Completes with a copy carrying the generated id.
+     */
+    CompletableFuture<Expense> insertAsync(Expense expense);
+
+    /**
+     * Store many new expenses in one transaction: all of them or none. Returns copies
+     * carrying the generated ids, in the order given.
+     */
+    List<Expense> insertAll(List<Expense> expenses) throws Exception;
+
+    /**
+     * Replace category, amount, date and note of the expense with the same id
+     */
+    boolean update(Expense expense) throws Exception;
+
+    /**
+     * Apply update() to every expense in the list, in one transaction.
+     * Returns how many of them exist.
+     */
+    int updateAll(List<Expense> expenses) throws Exception;
+
+    /**
+     * Move every listed expense to categoryId, in one transaction, leaving amount, date
+     * and note as stored. Returns how many of them exist.
+     */
+    int updateCategory(Collection<String> expenseIds, int categoryId) throws Exception;
+
+    boolean delete(String expenseId) throws Exception;
+
+    /**
+     * Delete every listed expense in one transaction; returns how many existed
+     */
+    int deleteAll(Collection<String> expenseIds) throws Exception;
+
+    int deleteByGroup(String groupId) throws Exception;
+
+    // ==== READS ====
+
+    Expense findById(String expenseId) throws Exception;
+
+    /**
+     * The stored expenses with these ids, in no particular order; ids that don't exist are skipped
+     */
+    List<Expense> findByIds(Collection<String> expenseIds) throws Exception;
+
+    /**
+     * Personal (non-group) expenses of a user dated within range
+     */
+    List<Expense> findPersonal(String userId, DayRange range) throws Exception;
+
+    List<Expense> findGroup(String groupId, DayRange range) throws Exception;
+
+    List<Expense> findGroupByUser(String groupId, String userId) throws Exception;
+
+    // ==== PAGES ====
+
+    /**
+     * Up to limit personal expenses of a user below the cursor, within range and of one
+     * category (or ANY_CATEGORY). Pass ExpensePage.Cursor.START for the first page.
+     */
+    ExpensePage findPersonalPage(String userId, DayRange range, int categoryId,
+                                 ExpensePage.Cursor after, int limit) throws Exception;
+
+    ExpensePage findGroupPage(String groupId, DayRange range, int categoryId,
+                              ExpensePage.Cursor after, int limit) throws Exception;
+
+    /**
+     * Count and sum of a user's personal expenses within range
+     */
+    ExpenseTotals personalTotals(String userId, DayRange range) throws Exception;
+
+    ExpenseTotals groupTotals(String groupId, DayRange range) throws Exception;
+
+    /**
+     * Count and sum of each member's expenses in a group dated within range, by user id.
+     * Members with no expenses in the range are absent.
+     */
+    Map<String, ExpenseTotals> memberTotals(String groupId, DayRange range) throws Exception;
+
+    /**
+     * Count and sum of a user's personal expenses within range per breakdown key, in key
+     * order. Keys with no expenses are absent.
+     */
+    NavigableMap<Integer, ExpenseTotals> personalTotalsBy(String userId, DayRange range, Breakdown by) throws Exception;
+
+    NavigableMap<Integer, ExpenseTotals> groupTotalsBy(String groupId, DayRange range, Breakdown by) throws Exception;
+
+    /**
+     * Like groupTotalsBy(), over one member's expenses in the group
+     */
+    NavigableMap<Integer, ExpenseTotals> memberTotalsBy(String groupId, String userId, DayRange range,
+                                                        Breakdown by) throws Exception;
+
+    List<Expense> findAll() throws Exception;
+
+    long personalTotalMinor(String userId) throws Exception;
+
+    long groupTotalMinor(String groupId) throws Exception;
+}
@@ -0,0 +1,62 @@
+package org.example.repository;
+
+import org.example.model.Group;
+import org.example.model.GroupMember;
+
+import java.util.List;
+
+/**
+ * Group Repository
+ * Storage for groups, their memberships (with the member's group role) and group budgets.
+ */
+public interface GroupRepository {
+
+    /**
+     * Store a group together with its creator as the first admin
+     */
+    boolean insert(Group group, String creatorUserId, String joinedAt) throws Exception;
+
+    Group findById(String groupId) throws Exception;
+
+    /**
+     * Groups the user belongs to, by name
+     */
+    List<Group> findForUser(String userId) throws Exception;
+
+    /**
+     * Deletes the group and its memberships (not its expenses)
+     */
+    boolean delete(String groupId) throws Exception;
+
+    // ==== MEMBERS ====
+
+    /**
+     * Members with user details, by member role (descending), then by name
+     */
+    List<GroupMember> findMembers(String groupId) throws Exception;
+
+    List<String> findMemberIds(String groupId) throws Exception;
+
+    List<String> findAdminIds(String groupId) throws Exception;
+
+    /**
+     * "admin" / "member", or null if the user is not in the group
+     */
+    String findMemberRole(String groupId, String userId) throws Exception;
+
+    int countMembers(String groupId) throws Exception;
+
+    int countAdmins(String groupId) throws Exception;
+
+    boolean addMember(String groupId, String userId, String memberRole, String joinedAt) throws Exception;
+
+    boolean setMemberRole(String groupId, String userId, String memberRole) throws Exception;
+
+    boolean removeMember(String groupId, String userId) throws Exception;
+
+    // ==== BUDGET ====
+
+    long monthlyBudgetMinor(String groupId) throws Exception;
+
+    void setMonthlyBudget(String groupId, long amountMinor) throws Exception;
+}
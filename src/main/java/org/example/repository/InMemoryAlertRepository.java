@@ -0,0 +1,133 @@
+package org.example.repository;
+
+import org.example.model.ParentChildAlert;
+import org.example.service.IdGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory Alert Repository
+ * Alerts indexed by recipient and by sender, each in id (= creation) order,
+ * with a running unread count per recipient.
+ */
+public class InMemoryAlertRepository implements AlertRepository {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, ParentChildAlert> byId = new HashMap<>();
+    private final Map<String, NavigableMap<Long, ParentChildAlert>> byRecipient = new HashMap<>();
+    private final Map<String, NavigableMap<Long, ParentChildAlert>> bySender = new HashMap<>();
+    private final Map<String, Integer> unreadCounts = new HashMap<>();
+
+    @Override
+    public boolean insert(ParentChildAlert alert) {
+        lock.writeLock().lock();
+        try {
+            long id = IdGenerator.next();
+            alert.setAlertId(IdGenerator.format(id));
+            ParentChildAlert stored = copy(alert);
+            byId.put(id, stored);
+            byRecipient.computeIfAbsent(stored.getToUserId(), k -> new TreeMap<>()).put(id, stored);
+            bySender.computeIfAbsent(stored.getFromUserId(), k -> new TreeMap<>()).put(id, stored);
+            if (isUnread(stored)) unreadCounts.merge(stored.getToUserId(), 1, Integer::sum);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ParentChildAlert> findForRecipient(String userId) {
+        lock.readLock().lock();
+        try {
+            return newestFirst(byRecipient.get(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ParentChildAlert> findFromSender(String userId) {
+        lock.readLock().lock();
+        try {
+            return newestFirst(bySender.get(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countUnread(String userId) {
+        lock.readLock().lock();
+        try {
+            return unreadCounts.getOrDefault(userId, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean markRead(String alertId) {
+        long id = IdGenerator.parse(alertId);
+        lock.writeLock().lock();
+        try {
+            ParentChildAlert stored = byId.get(id);
+            if (stored == null) return false;
+            if (isUnread(stored)) unreadCounts.merge(stored.getToUserId(), -1, Integer::sum);
+            stored.setReadStatus("read");
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String alertId) {
+        long id = IdGenerator.parse(alertId);
+        lock.writeLock().lock();
+        try {
+            ParentChildAlert stored = byId.remove(id);
+            if (stored == null) return false;
+            byRecipient.get(stored.getToUserId()).remove(id);
+            bySender.get(stored.getFromUserId()).remove(id);
+            if (isUnread(stored)) unreadCounts.merge(stored.getToUserId(), -1, Integer::sum);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== HELPERS ====
+
+    private static boolean isUnread(ParentChildAlert alert) {
+        return "unread".equals(alert.getReadStatus());
+    }
+
+    private static List<ParentChildAlert> newestFirst(NavigableMap<Long, ParentChildAlert> alerts) {
+        List<ParentChildAlert> result = new ArrayList<>();
+        if (alerts == null) return result;
+        for (ParentChildAlert stored : alerts.descendingMap().values()) {
+            result.add(copy(stored));
+        }
+        return result;
+    }
+
+    private static ParentChildAlert copy(ParentChildAlert alert) {
+        ParentChildAlert copy = new ParentChildAlert();
+        copy.setAlertId(alert.getAlertId());
+        copy.setFromUserId(alert.getFromUserId());
+        copy.setToUserId(alert.getToUserId());
+        copy.setType(alert.getType());
+        copy.setMessage(alert.getMessage());
+        copy.setCreatedAt(alert.getCreatedAt());
+        copy.setReadStatus(alert.getReadStatus());
+        return copy;
+    }
+}
@@ -0,0 +1,542 @@
+package org.example.repository;
+
+import org.example.model.DayRange;
+import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.ExpenseTotals;
+import org.example.service.CategoryRegistry;
+import org.example.service.IdGenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory Expense Repository
+ * Expenses held in maps, for benchmarks and load tests without disk I/O.
+ * Besides the id map, every expense sits in a per-user (personal) or per-group
+ * TreeMap ordered by (epoch day, id), so a DayRange query is a subMap view
+ * rather than a scan, and running totals make the sum queries O(1).
+ * Stored objects never leave the repository; callers get copies.
+ */
+public class InMemoryExpenseRepository implements ExpenseRepository {
+
+    // Same built-in list (and therefore ids) as the v5 migration seeds
+    private static final String[] DEFAULT_CATEGORIES = {
+            "Food", "Transport", "Shopping", "Entertainment", "Bills", "Healthcare", "Health", "Education",
+            "Groceries", "Utilities", "Rent", "Housing", "Savings", "Technology", "Travel", "Gifts",
+            "Clothing", "Fitness", "Other"
+    };
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Expense> byId = new HashMap<>();
+    private final NavigableMap<DayKey, Expense> all = new TreeMap<>();
+    private final Map<String, NavigableMap<DayKey, Expense>> personalByUser = new HashMap<>();
+    private final Map<String, NavigableMap<DayKey, Expense>> byGroup = new HashMap<>();
+    private final Map<String, Long> personalTotals = new HashMap<>();
+    private final Map<String, Long> groupTotals = new HashMap<>();
+
+    // Index = category id (0 unused, like SQLite rowids)
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+
+    public InMemoryExpenseRepository() {
+        categoryNames.add(null);
+        for (String name : DEFAULT_CATEGORIES) {
+            addCategoryLocked(name);
+        }
+    }
+
+    // ==== CATEGORIES ====
+
+    @Override
+    public Map<Integer, String> loadCategories() {
+        lock.readLock().lock();
+        try {
+            Map<Integer, String> categories = new HashMap<>();
+            for (int id = 1; id < categoryNames.size(); id++) {
+                categories.put(id, categoryNames.get(id));
+            }
+            return categories;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int addCategory(String name) {
+        lock.writeLock().lock();
+        try {
+            return addCategoryLocked(name.trim());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int addCategoryLocked(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Integer existing = categoryIds.get(key);
+        if (existing != null) return existing;
+        int id = categoryNames.size();
+        categoryNames.add(name);
+        categoryIds.put(key, id);
+        return id;
+    }
+
+    // ==== WRITES ====
+
+    /**
+     * Completes immediately - there is no writer thread to queue on
+     */
+    @Override
+    public CompletableFuture<Expense> insertAsync(Expense expense) {
+        lock.writeLock().lock();
+        try {
+            long id = IdGenerator.next();
+            Expense stored = copy(expense);
+            stored.setExpenseId(IdGenerator.format(id));
+            stored.setCategory(CategoryRegistry.nameOf(expense.getCategoryId()));
+            stored.setCategoryId(expense.getCategoryId());
+            byId.put(id, stored);
+            index(id, stored);
+            return CompletableFuture.completedFuture(copy(stored));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Expense> insertAll(List<Expense> expenses) {
+        lock.writeLock().lock();
+        try {
+            List<Expense> result = new ArrayList<>(expenses.size());
+            for (Expense expense : expenses) {
+                long id = IdGenerator.next();
+                Expense stored = copy(expense);
+                stored.setExpenseId(IdGenerator.format(id));
+                stored.setCategory(CategoryRegistry.nameOf(expense.getCategoryId()));
+                stored.setCategoryId(expense.getCategoryId());
+                byId.put(id, stored);
+                index(id, stored);
+                result.add(copy(stored));
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(Expense expense) {
+        long id = IdGenerator.parse(expense.getExpenseId());
+        lock.writeLock().lock();
+        try {
+            Expense stored = byId.get(id);
+            if (stored == null) return false;
+            unindex(id, stored);
+            stored.setCategory(CategoryRegistry.nameOf(expense.getCategoryId()));
+            stored.setCategoryId(expense.getCategoryId());
+            stored.setAmount(expense.getAmount());
+            stored.setEpochDay(expense.getEpochDay());
+            stored.setNote(expense.getNote());
+            index(id, stored);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateAll(List<Expense> expenses) {
+        expenses.forEach(e -> IdGenerator.parse(e.getExpenseId()));
+        lock.writeLock().lock();
+        try {
+            int updated = 0;
+            for (Expense expense : expenses) {
+                if (update(expense)) updated++;
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateCategory(Collection<String> expenseIds, int categoryId) {
+        expenseIds.forEach(IdGenerator::parse);
+        lock.writeLock().lock();
+        try {
+            int updated = 0;
+            for (String expenseId : expenseIds) {
+                long id = IdGenerator.parse(expenseId);
+                Expense stored = byId.get(id);
+                if (stored == null) continue;
+                unindex(id, stored);
+                stored.setCategory(CategoryRegistry.nameOf(categoryId));
+                stored.setCategoryId(categoryId);
+                index(id, stored);
+                updated++;
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String expenseId) {
+        long id = IdGenerator.parse(expenseId);
+        lock.writeLock().lock();
+        try {
+            Expense stored = byId.remove(id);
+            if (stored == null) return false;
+            unindex(id, stored);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids are parsed up front, so a malformed one fails the call before anything changes
+     */
+    @Override
+    public int deleteAll(Collection<String> expenseIds) {
+        expenseIds.forEach(IdGenerator::parse);
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            for (String expenseId : expenseIds) {
+                if (delete(expenseId)) deleted++;
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteByGroup(String groupId) {
+        lock.writeLock().lock();
+        try {
+            NavigableMap<DayKey, Expense> group = byGroup.get(groupId);
+            if (group == null) return 0;
+            List<DayKey> keys = new ArrayList<>(group.keySet());
+            for (DayKey key : keys) {
+                unindex(key.id(), byId.remove(key.id()));
+            }
+            return keys.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== READS ====
+
+    @Override
+    public Expense findById(String expenseId) {
+        long id = IdGenerator.parse(expenseId);
+        lock.readLock().lock();
+        try {
+            Expense stored = byId.get(id);
+            return stored != null ? copy(stored) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Expense> findByIds(Collection<String> expenseIds) {
+        List<Expense> found = new ArrayList<>(expenseIds.size());
+        lock.readLock().lock();
+        try {
+            for (String expenseId : expenseIds) {
+                Expense stored = byId.get(IdGenerator.parse(expenseId));
+                if (stored != null) found.add(copy(stored));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public List<Expense> findPersonal(String userId, DayRange range) {
+        lock.readLock().lock();
+        try {
+            return newestFirst(personalByUser.get(userId), range);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Expense> findGroup(String groupId, DayRange range) {
+        lock.readLock().lock();
+        try {
+            return newestFirst(byGroup.get(groupId), range);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Expense> findGroupByUser(String groupId, String userId) {
+        lock.readLock().lock();
+        try {
+            List<Expense> expenses = new ArrayList<>();
+            NavigableMap<DayKey, Expense> group = byGroup.get(groupId);
+            if (group == null) return expenses;
+            for (Expense stored : group.descendingMap().values()) {
+                if (userId.equals(stored.getUserId())) expenses.add(copy(stored));
+            }
+            return expenses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==== PAGES ====
+
+    @Override
+    public ExpensePage findPersonalPage(String userId, DayRange range, int categoryId,
+                                        ExpensePage.Cursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(personalByUser.get(userId), range, categoryId, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ExpensePage findGroupPage(String groupId, DayRange range, int categoryId,
+                                     ExpensePage.Cursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(byGroup.get(groupId), range, categoryId, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ExpenseTotals personalTotals(String userId, DayRange range) {
+        lock.readLock().lock();
+        try {
+            return totals(personalByUser.get(userId), range);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ExpenseTotals groupTotals(String groupId, DayRange range) {
+        lock.readLock().lock();
+        try {
+            return totals(byGroup.get(groupId), range);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, ExpenseTotals> memberTotals(String groupId, DayRange range) {
+        lock.readLock().lock();
+        try {
+            Map<String, ExpenseTotals> byUser = new HashMap<>();
+            NavigableMap<DayKey, Expense> entries = byGroup.get(groupId);
+            if (entries == null) return byUser;
+            for (Expense stored : DayKey.within(entries, range).values()) {
+                byUser.merge(stored.getUserId(), new ExpenseTotals(1, stored.getAmountMinor()), ExpenseTotals::plus);
+            }
+            return byUser;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> personalTotalsBy(String userId, DayRange range, Breakdown by) {
+        lock.readLock().lock();
+        try {
+            return totalsBy(personalByUser.get(userId), range, by);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> groupTotalsBy(String groupId, DayRange range, Breakdown by) {
+        lock.readLock().lock();
+        try {
+            return totalsBy(byGroup.get(groupId), range, by);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> memberTotalsBy(String groupId, String userId, DayRange range,
+                                                               Breakdown by) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Integer, ExpenseTotals> totals = new TreeMap<>();
+            NavigableMap<DayKey, Expense> entries = byGroup.get(groupId);
+            if (entries == null) return totals;
+            for (Expense stored : DayKey.within(entries, range).values()) {
+                if (!userId.equals(stored.getUserId())) continue;
+                totals.merge(by.keyOf(stored), new ExpenseTotals(1, stored.getAmountMinor()), ExpenseTotals::plus);
+            }
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Expense> findAll() {
+        lock.readLock().lock();
+        try {
+            return newestFirst(all, DayRange.ALL);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long personalTotalMinor(String userId) {
+        lock.readLock().lock();
+        try {
+            return personalTotals.getOrDefault(userId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long groupTotalMinor(String groupId) {
+        lock.readLock().lock();
+        try {
+            return groupTotals.getOrDefault(groupId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==== INDEXES ====
+
+    private static boolean isPersonal(Expense expense) {
+        return expense.getGroupId() == null || expense.getGroupId().isEmpty();
+    }
+
+    private void index(long id, Expense stored) {
+        DayKey key = new DayKey(stored.getEpochDay(), id);
+        all.put(key, stored);
+        if (isPersonal(stored)) {
+            personalByUser.computeIfAbsent(stored.getUserId(), k -> new TreeMap<>()).put(key, stored);
+            personalTotals.merge(stored.getUserId(), stored.getAmountMinor(), Long::sum);
+        } else {
+            byGroup.computeIfAbsent(stored.getGroupId(), k -> new TreeMap<>()).put(key, stored);
+            groupTotals.merge(stored.getGroupId(), stored.getAmountMinor(), Long::sum);
+        }
+    }
+
+    private void unindex(long id, Expense stored) {
+        DayKey key = new DayKey(stored.getEpochDay(), id);
+        all.remove(key);
+        if (isPersonal(stored)) {
+            removeFrom(personalByUser, stored.getUserId(), key);
+            personalTotals.merge(stored.getUserId(), -stored.getAmountMinor(), Long::sum);
+        } else {
+            removeFrom(byGroup, stored.getGroupId(), key);
+            groupTotals.merge(stored.getGroupId(), -stored.getAmountMinor(), Long::sum);
+        }
+    }
+
+    private static void removeFrom(Map<String, NavigableMap<DayKey, Expense>> index, String owner, DayKey key) {
+        NavigableMap<DayKey, Expense> entries = index.get(owner);
+        if (entries == null) return;
+        entries.remove(key);
+        if (entries.isEmpty()) index.remove(owner);
+    }
+
+    /**
+     * Walks down from the cursor (exclusive) to the start of the range
+     */
+    private static ExpensePage page(NavigableMap<DayKey, Expense> entries, DayRange range, int categoryId,
+                                    ExpensePage.Cursor after, int limit) {
+        List<Expense> fetched = new ArrayList<>();
+        if (entries == null) return ExpensePage.of(fetched, limit);
+        DayKey lower = new DayKey(range.first(), Long.MIN_VALUE);
+        DayKey upper = new DayKey(after.epochDay(), after.expenseId());
+        boolean upperInclusive = false;
+        DayKey rangeTop = new DayKey(range.last(), Long.MAX_VALUE);
+        if (rangeTop.compareTo(upper) < 0) {
+            upper = rangeTop;
+            upperInclusive = true;
+        }
+        if (upper.compareTo(lower) < 0) return ExpensePage.of(fetched, limit);
+        NavigableMap<DayKey, Expense> candidates = entries.subMap(lower, true, upper, upperInclusive);
+        for (Expense stored : candidates.descendingMap().values()) {
+            if (categoryId != ANY_CATEGORY && stored.getCategoryId() != categoryId) continue;
+            fetched.add(copy(stored));
+            if (fetched.size() > limit) break;
+        }
+        return ExpensePage.of(fetched, limit);
+    }
+
+    private static ExpenseTotals totals(NavigableMap<DayKey, Expense> entries, DayRange range) {
+        if (entries == null) return ExpenseTotals.EMPTY;
+        int count = 0;
+        long total = 0;
+        for (Expense stored : DayKey.within(entries, range).values()) {
+            count++;
+            total += stored.getAmountMinor();
+        }
+        return new ExpenseTotals(count, total);
+    }
+
+    static NavigableMap<Integer, ExpenseTotals> totalsBy(NavigableMap<DayKey, Expense> entries, DayRange range,
+                                                         Breakdown by) {
+        NavigableMap<Integer, ExpenseTotals> totals = new TreeMap<>();
+        if (entries == null) return totals;
+        for (Expense stored : DayKey.within(entries, range).values()) {
+            totals.merge(by.keyOf(stored), new ExpenseTotals(1, stored.getAmountMinor()), ExpenseTotals::plus);
+        }
+        return totals;
+    }
+
+    private static List<Expense> newestFirst(NavigableMap<DayKey, Expense> entries, DayRange range) {
+        List<Expense> expenses = new ArrayList<>();
+        if (entries == null) return expenses;
+        for (Expense stored : DayKey.within(entries, range).descendingMap().values()) {
+            expenses.add(copy(stored));
+        }
+        return expenses;
+    }
+
+    static Expense copy(Expense source) {
+        Expense copy = new Expense();
+        copy.setExpenseId(source.getExpenseId());
+        copy.setUserId(source.getUserId());
+        copy.setGroupId(source.getGroupId());
+        copy.setCategory(source.getCategory());
+        copy.setCategoryId(source.getCategoryId());
+        copy.setAmount(source.getAmount());
+        copy.setEpochDay(source.getEpochDay());
+        copy.setNote(source.getNote());
+        return copy;
+    }
+}
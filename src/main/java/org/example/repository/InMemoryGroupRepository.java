@@ -0,0 +1,272 @@
+package org.example.repository;
+
+import org.example.model.Group;
+import org.example.model.GroupMember;
+import org.example.model.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory Group Repository
+ * Groups with their memberships indexed both ways (group -> members, user ->
+ * groups) and per-group admin counts. Member names and emails come from the
+ * user repository, as the SQLite backend joins USERS.
+ */
+public class InMemoryGroupRepository implements GroupRepository {
+
+    private record Membership(String memberRole, String joinedAt) {}
+
+    // Same order as the SQLite query: member_role DESC, then name
+    private static final Comparator<GroupMember> MEMBER_ORDER = Comparator
+            .comparing(GroupMember::getMemberRole, Comparator.reverseOrder())
+            .thenComparing(GroupMember::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final UserRepository users;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Group> byId = new HashMap<>();
+    private final Map<String, Map<String, Membership>> membersByGroup = new HashMap<>();
+    private final Map<String, Set<String>> groupsByUser = new HashMap<>();
+    private final Map<String, Integer> adminCounts = new HashMap<>();
+    private final Map<String, Long> budgets = new HashMap<>();
+
+    public InMemoryGroupRepository(UserRepository users) {
+        this.users = users;
+    }
+
+    @Override
+    public boolean insert(Group group, String creatorUserId, String joinedAt) {
+        lock.writeLock().lock();
+        try {
+            if (byId.containsKey(group.getGroupId())) {
+                throw new IllegalStateException("Group already exists: " + group.getGroupId());
+            }
+            byId.put(group.getGroupId(), new Group(group.getGroupId(), group.getGroupName()));
+            membersByGroup.put(group.getGroupId(), new LinkedHashMap<>());
+            return addMemberLocked(group.getGroupId(), creatorUserId, "admin", joinedAt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Group findById(String groupId) {
+        lock.readLock().lock();
+        try {
+            Group group = byId.get(groupId);
+            return group != null ? new Group(group.getGroupId(), group.getGroupName()) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Group> findForUser(String userId) {
+        lock.readLock().lock();
+        try {
+            List<Group> groups = new ArrayList<>();
+            for (String groupId : groupsByUser.getOrDefault(userId, Set.of())) {
+                Group group = byId.get(groupId);
+                if (group != null) groups.add(new Group(group.getGroupId(), group.getGroupName()));
+            }
+            groups.sort(Comparator.comparing(Group::getGroupName, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return groups;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String groupId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Membership> members = membersByGroup.remove(groupId);
+            if (members != null) {
+                for (String userId : members.keySet()) {
+                    removeFromUser(userId, groupId);
+                }
+            }
+            adminCounts.remove(groupId);
+            return byId.remove(groupId) != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== MEMBERS ====
+
+    /**
+     * User lookups happen outside the lock; the user repository has its own
+     */
+    @Override
+    public List<GroupMember> findMembers(String groupId) throws Exception {
+        Map<String, Membership> snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = new LinkedHashMap<>(membersByGroup.getOrDefault(groupId, Map.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<GroupMember> members = new ArrayList<>();
+        for (Map.Entry<String, Membership> entry : snapshot.entrySet()) {
+            User user = users.findById(entry.getKey());
+            if (user == null) continue; // inner join
+            GroupMember member = new GroupMember(user.getUserId(), user.getName(), user.getEmail(),
+                    user.getRole(), groupId, entry.getValue().memberRole());
+            member.setJoinedAt(entry.getValue().joinedAt());
+            members.add(member);
+        }
+        members.sort(MEMBER_ORDER);
+        return members;
+    }
+
+    @Override
+    public List<String> findMemberIds(String groupId) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(membersByGroup.getOrDefault(groupId, Map.of()).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> findAdminIds(String groupId) {
+        lock.readLock().lock();
+        try {
+            List<String> adminIds = new ArrayList<>();
+            membersByGroup.getOrDefault(groupId, Map.of()).forEach((userId, membership) -> {
+                if ("admin".equals(membership.memberRole())) adminIds.add(userId);
+            });
+            return adminIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String findMemberRole(String groupId, String userId) {
+        lock.readLock().lock();
+        try {
+            Membership membership = membersByGroup.getOrDefault(groupId, Map.of()).get(userId);
+            return membership != null ? membership.memberRole() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countMembers(String groupId) {
+        lock.readLock().lock();
+        try {
+            return membersByGroup.getOrDefault(groupId, Map.of()).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countAdmins(String groupId) {
+        lock.readLock().lock();
+        try {
+            return adminCounts.getOrDefault(groupId, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean addMember(String groupId, String userId, String memberRole, String joinedAt) {
+        lock.writeLock().lock();
+        try {
+            return addMemberLocked(groupId, userId, memberRole, joinedAt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean setMemberRole(String groupId, String userId, String memberRole) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Membership> members = membersByGroup.get(groupId);
+            Membership old = members != null ? members.get(userId) : null;
+            if (old == null) return false;
+            members.put(userId, new Membership(memberRole, old.joinedAt()));
+            adjustAdmins(groupId, old.memberRole(), -1);
+            adjustAdmins(groupId, memberRole, 1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeMember(String groupId, String userId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Membership> members = membersByGroup.get(groupId);
+            Membership old = members != null ? members.remove(userId) : null;
+            if (old == null) return false;
+            adjustAdmins(groupId, old.memberRole(), -1);
+            removeFromUser(userId, groupId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== BUDGET ====
+
+    @Override
+    public long monthlyBudgetMinor(String groupId) {
+        lock.readLock().lock();
+        try {
+            return budgets.getOrDefault(groupId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setMonthlyBudget(String groupId, long amountMinor) {
+        lock.writeLock().lock();
+        try {
+            budgets.put(groupId, amountMinor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== HELPERS ====
+
+    private boolean addMemberLocked(String groupId, String userId, String memberRole, String joinedAt) {
+        Map<String, Membership> members = membersByGroup.computeIfAbsent(groupId, k -> new LinkedHashMap<>());
+        if (members.containsKey(userId)) return false;
+        members.put(userId, new Membership(memberRole, joinedAt));
+        groupsByUser.computeIfAbsent(userId, k -> new LinkedHashSet<>()).add(groupId);
+        adjustAdmins(groupId, memberRole, 1);
+        return true;
+    }
+
+    private void adjustAdmins(String groupId, String memberRole, int delta) {
+        if ("admin".equals(memberRole)) adminCounts.merge(groupId, delta, Integer::sum);
+    }
+
+    private void removeFromUser(String userId, String groupId) {
+        Set<String> groups = groupsByUser.get(userId);
+        if (groups == null) return;
+        groups.remove(groupId);
+        if (groups.isEmpty()) groupsByUser.remove(userId);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.repository;
+
+import org.example.model.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory User Repository
+ * Users indexed by id and by lower-cased email, plus parent/child links in
+ * both directions. Callers get copies of the stored users.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, User> byId = new HashMap<>();
+    private final Map<String, String> idsByEmail = new HashMap<>();
+    private final Map<String, Set<String>> childrenByParent = new HashMap<>();
+    private final Map<String, String> parentByChild = new HashMap<>();
+    private final Map<String, Long> budgets = new HashMap<>();
+
+    /**
+     * @throws IllegalStateException if the id or email is taken, like the USERS constraints
+     */
+    @Override
+    public boolean insert(User user) {
+        String emailKey = emailKey(user.getEmail());
+        lock.writeLock().lock();
+        try {
+            if (byId.containsKey(user.getUserId()) || idsByEmail.containsKey(emailKey)) {
+                throw new IllegalStateException("User already exists: " + user.getEmail());
+            }
+            byId.put(user.getUserId(), copy(user));
+            idsByEmail.put(emailKey, user.getUserId());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public User findById(String userId) {
+        lock.readLock().lock();
+        try {
+            return copyOrNull(byId.get(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            String userId = idsByEmail.get(emailKey(email));
+            return userId != null ? copyOrNull(byId.get(userId)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==== PARENT / CHILD ====
+
+    @Override
+    public List<User> findChildren(String parentId) {
+        lock.readLock().lock();
+        try {
+            List<User> children = new ArrayList<>();
+            for (String childId : childrenByParent.getOrDefault(parentId, Set.of())) {
+                User child = byId.get(childId);
+                if (child != null) children.add(copy(child));
+            }
+            return children;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public User findParent(String childId) {
+        lock.readLock().lock();
+        try {
+            String parentId = parentByChild.get(childId);
+            return parentId != null ? copyOrNull(byId.get(parentId)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean linkParent(String parentId, String childId) {
+        lock.writeLock().lock();
+        try {
+            if (!childrenByParent.computeIfAbsent(parentId, k -> new LinkedHashSet<>()).add(childId)) {
+                return false;
+            }
+            parentByChild.putIfAbsent(childId, parentId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== BUDGET ====
+
+    @Override
+    public long monthlyBudgetMinor(String userId) {
+        lock.readLock().lock();
+        try {
+            return budgets.getOrDefault(userId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setMonthlyBudget(String userId, long amountMinor) {
+        lock.writeLock().lock();
+        try {
+            budgets.put(userId, amountMinor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==== HELPERS ====
+
+    private static String emailKey(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static User copyOrNull(User user) {
+        return user != null ? copy(user) : null;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getUserId(), user.getName(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.repository;
+
+import org.example.model.DayRange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DayRange split for EXPENSE_TOTALS: the calendar months it covers completely, as
+ * yyyymm keys firstMonth..lastMonth (none if firstMonth > lastMonth), plus the days of
+ * partly covered months at either end, which still have to be summed from EXPENSES.
+ * DayRange.ALL is the all-time key 0.
+ */
+record MonthSpan(int firstMonth, int lastMonth, List<DayRange> edges) {
+
+    // Month keys exist for the years SQLite's date functions handle
+    private static final int FIRST_DAY = (int) LocalDate.of(0, 1, 1).toEpochDay();
+    private static final int LAST_DAY = (int) LocalDate.of(9999, 12, 31).toEpochDay();
+
+    static final MonthSpan ALL_TIME = new MonthSpan(0, 0, List.of());
+
+    /**
+     * The split, or null if the range reaches past the years that have month keys
+     */
+    static MonthSpan of(DayRange range) {
+        if (range.equals(DayRange.ALL)) return ALL_TIME;
+        if (range.first() < FIRST_DAY || range.last() > LAST_DAY) return null;
+        if (range.first() > range.last()) return new MonthSpan(1, 0, List.of());
+
+        LocalDate first = LocalDate.ofEpochDay(range.first());
+        LocalDate last = LocalDate.ofEpochDay(range.last());
+        LocalDate fullStart = first.getDayOfMonth() == 1 ? first : first.plusMonths(1).withDayOfMonth(1);
+        LocalDate fullEnd = last.getDayOfMonth() == last.lengthOfMonth() ? last : last.withDayOfMonth(1).minusDays(1);
+        if (fullStart.isAfter(fullEnd)) return new MonthSpan(1, 0, List.of(range));
+
+        List<DayRange> edges = new ArrayList<>(2);
+        if (first.isBefore(fullStart)) edges.add(DayRange.of(first, fullStart.minusDays(1)));
+        if (last.isAfter(fullEnd)) edges.add(DayRange.of(fullEnd.plusDays(1), last));
+        return new MonthSpan(key(fullStart), key(fullEnd), edges);
+    }
+
+    boolean hasMonths() {
+        return firstMonth <= lastMonth;
+    }
+
+    private static int key(LocalDate day) {
+        return day.getYear() * 100 + day.getMonthValue();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.repository;
+
+import org.example.service.CategoryRegistry;
+import org.example.service.DatabaseHelper;
+
+import java.util.Locale;
+
+/**
+ * Repositories
+ * Picks the storage backend the services run on. SQLITE is the application
+ * database; MEMORY keeps everything in indexed maps (nothing is persisted), for
+ * benchmarks and load tests that should not measure disk I/O.
+ * SQLITE expenses are read through a CachingExpenseRepository unless
+ * -Dexpense.cache.enabled=false.
+ *
+ * The backend is chosen once at startup, with -Dexpense.repository=sqlite|memory
+ * or use() before initialize().
+ */
+public class Repositories {
+
+    public enum Backend { SQLITE, MEMORY }
+
+    private static volatile Backend backend;
+    private static volatile ExpenseRepository expenses;
+    private static volatile UserRepository users;
+    private static volatile GroupRepository groups;
+    private static volatile AlertRepository alerts;
+
+    /**
+     * Switch to a fresh set of repositories for the backend. Any cached category
+     * ids belong to the old backend, so the registry is reloaded.
+     */
+    public static synchronized void use(Backend selected) {
+        if (selected == Backend.MEMORY) {
+            InMemoryUserRepository memoryUsers = new InMemoryUserRepository();
+            users = memoryUsers;
+            groups = new InMemoryGroupRepository(memoryUsers);
+            expenses = new InMemoryExpenseRepository();
+            alerts = new InMemoryAlertRepository();
+        } else {
+            users = new SqliteUserRepository();
+            groups = new SqliteGroupRepository();
+            CachingExpenseRepository.Config cache = CachingExpenseRepository.Config.fromSystemProperties();
+            expenses = cache.enabled
+                    ? new CachingExpenseRepository(new SqliteExpenseRepository(), cache)
+                    : new SqliteExpenseRepository();
+            alerts = new SqliteAlertRepository();
+        }
+        backend = selected;
+        CategoryRegistry.reload();
+    }
+
+    public static Backend backend() {
+        ensureSelected();
+        return backend;
+    }
+
+    /**
+     * Open the backend: migrations and connection pools for SQLITE, nothing for MEMORY
+     */
+    public static void initialize() {
+        if (backend() == Backend.SQLITE) {
+            DatabaseHelper.initialize();
+        }
+        System.out.println("Repository backend: " + backend);
+    }
+
+    public static void shutdown() {
+        if (backend == Backend.SQLITE) {
+            DatabaseHelper.shutdown();
+        }
+    }
+
+    public static ExpenseRepository expenses() {
+        ensureSelected();
+        return expenses;
+    }
+
+    public static UserRepository users() {
+        ensureSelected();
+        return users;
+    }
+
+    public static GroupRepository groups() {
+        ensureSelected();
+        return groups;
+    }
+
+    public static AlertRepository alerts() {
+        ensureSelected();
+        return alerts;
+    }
+
+    private static void ensureSelected() {
+        if (backend == null) {
+            synchronized (Repositories.class) {
+                if (backend == null) {
+                    String name = System.getProperty("expense.repository", "sqlite");
+                    use(Backend.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.repository;
+
+import org.example.model.ParentChildAlert;
+import org.example.service.DatabaseHelper;
+import org.example.service.IdGenerator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQLite Alert Repository
+ * PARENT_CHILD_ALERTS in the application database.
+ */
+public class SqliteAlertRepository implements AlertRepository {
+
+    @Override
+    public boolean insert(ParentChildAlert alert) throws Exception {
+        long alertId = IdGenerator.next();
+        boolean inserted = DatabaseHelper.write(conn -> {
+            String query = "INSERT INTO PARENT_CHILD_ALERTS (alert_id, from_user_id, to_user_id, type, message, created_at, read_status) " +
+                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setLong(1, alertId);
+                stmt.setString(2, alert.getFromUserId());
+                stmt.setString(3, alert.getToUserId());
+                stmt.setString(4, alert.getType());
+                stmt.setString(5, alert.getMessage());
+                stmt.setString(6, alert.getCreatedAt());
+                stmt.setString(7, alert.getReadStatus());
+                return stmt.executeUpdate() > 0;
+            }
+        });
+        if (inserted) alert.setAlertId(IdGenerator.format(alertId));
+        return inserted;
+    }
+
+    @Override
+    public List<ParentChildAlert> findForRecipient(String userId) throws Exception {
+        return findAlerts("SELECT * FROM PARENT_CHILD_ALERTS WHERE to_user_id = ? ORDER BY alert_id DESC", userId);
+    }
+
+    @Override
+    public List<ParentChildAlert> findFromSender(String userId) throws Exception {
+        return findAlerts("SELECT * FROM PARENT_CHILD_ALERTS WHERE from_user_id = ? ORDER BY alert_id DESC", userId);
+    }
+
+    @Override
+    public int countUnread(String userId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            String query = "SELECT COUNT(*) FROM PARENT_CHILD_ALERTS WHERE to_user_id = ? AND read_status = 'unread'";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, userId);
+
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @Override
+    public boolean markRead(String alertId) throws Exception {
+        long id = IdGenerator.parse(alertId);
+        return DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("UPDATE PARENT_CHILD_ALERTS SET read_status = 'read' WHERE alert_id = ?")) {
+                stmt.setLong(1, id);
+                return stmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean delete(String alertId) throws Exception {
+        long id = IdGenerator.parse(alertId);
+        return DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM PARENT_CHILD_ALERTS WHERE alert_id = ?")) {
+                stmt.setLong(1, id);
+                return stmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    // ==== HELPERS ====
+
+    private static List<ParentChildAlert> findAlerts(String query, String userId) throws Exception {
+        List<ParentChildAlert> alerts = new ArrayList<>();
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, userId);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                alerts.add(createAlertFromResultSet(rs));
+            }
+        }
+        return alerts;
+    }
+
+    private static ParentChildAlert createAlertFromResultSet(ResultSet rs) throws SQLException {
+        ParentChildAlert alert = new ParentChildAlert();
+        alert.setAlertId(IdGenerator.format(rs.getLong("alert_id")));
+        alert.setFromUserId(rs.getString("from_user_id"));
+        alert.setToUserId(rs.getString("to_user_id"));
+        alert.setType(rs.getString("type"));
+        alert.setMessage(rs.getString("message"));
+        alert.setCreatedAt(rs.getString("created_at"));
+        alert.setReadStatus(rs.getString("read_status"));
+        return alert;
+    }
+}
@@ -0,0 +1,596 @@
+package org.example.repository;
+
+import org.example.model.DayRange;
+import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.ExpenseTotals;
+import org.example.model.Money;
+import org.example.service.CategoryRegistry;
+import org.example.service.DatabaseHelper;
+import org.example.service.IdGenerator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SQLite Expense Repository
+ * EXPENSES and CATEGORIES in the application database. Reads use pooled
+ * connections; writes go through the DatabaseHelper write queue.
+ */
+public class SqliteExpenseRepository implements ExpenseRepository {
+
+    // Rows bound before each executeBatch(); keeps the driver's pending batch small
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    // Ids bound per UPDATE/DELETE/SELECT ... IN (...); well under SQLite's host parameter limit
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    // Owner filters for summing EXPENSES rows directly
+    private static final String PERSONAL_ROWS = "user_id = ? AND group_id IS NULL";
+    private static final String GROUP_ROWS = "group_id = ?";
+
+    // ==== CATEGORIES ====
+
+    @Override
+    public Map<Integer, String> loadCategories() throws Exception {
+        Map<Integer, String> categories = new HashMap<>();
+        try (Connection conn = DatabaseHelper.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT category_id, name FROM CATEGORIES")) {
+            while (rs.next()) {
+                categories.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Runs on the writer thread; must not be called from inside a DatabaseHelper.write() command
+     */
+    @Override
+    public int addCategory(String name) throws Exception {
+        Integer id = DatabaseHelper.write(conn -> {
+            try (PreparedStatement insert = conn.prepareStatement("INSERT OR IGNORE INTO CATEGORIES (name) VALUES (?)")) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement select = conn.prepareStatement("SELECT category_id FROM CATEGORIES WHERE name = ?")) {
+                select.setString(1, name);
+                ResultSet rs = select.executeQuery();
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        });
+        if (id == null) {
+            throw new IllegalStateException("Could not add category " + name);
+        }
+        return id;
+    }
+
+    // ==== WRITES ====
+
+    /**
+     * Queued on the writer thread, so a burst of inserts is group-committed
+     */
+    @Override
+    public CompletableFuture<Expense> insertAsync(Expense expense) {
+        long expenseId = IdGenerator.next();
+        return DatabaseHelper.writeAsync(conn -> {
+            String query = "INSERT INTO EXPENSES (expense_id, user_id, group_id, category_id, amount_minor, epoch_day, note) " +
+                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setLong(1, expenseId);
+                stmt.setString(2, expense.getUserId());
+                stmt.setString(3, storedGroupId(expense.getGroupId()));
+                stmt.setInt(4, expense.getCategoryId());
+                stmt.setLong(5, expense.getAmountMinor());
+                stmt.setInt(6, expense.getEpochDay());
+                stmt.setString(7, expense.getNote());
+
+                if (stmt.executeUpdate() == 0) return null;
+                Expense stored = new Expense(IdGenerator.format(expenseId), expense.getUserId(), storedGroupId(expense.getGroupId()),
+                        CategoryRegistry.nameOf(expense.getCategoryId()), expense.getAmount(), expense.getDate(), expense.getNote());
+                stored.setCategoryId(expense.getCategoryId());
+                return stored;
+            }
+        });
+    }
+
+    /**
+     * One write command, so the whole list commits (or rolls back) together; rows are
+     * sent with addBatch/executeBatch a chunk at a time
+     */
+    @Override
+    public List<Expense> insertAll(List<Expense> expenses) throws Exception {
+        if (expenses.isEmpty()) return new ArrayList<>();
+        long[] ids = new long[expenses.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = IdGenerator.next();
+        }
+        DatabaseHelper.write(conn -> {
+            String query = "INSERT INTO EXPENSES (expense_id, user_id, group_id, category_id, amount_minor, epoch_day, note) " +
+                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                int queued = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    Expense expense = expenses.get(i);
+                    stmt.setLong(1, ids[i]);
+                    stmt.setString(2, expense.getUserId());
+                    stmt.setString(3, storedGroupId(expense.getGroupId()));
+                    stmt.setInt(4, expense.getCategoryId());
+                    stmt.setLong(5, expense.getAmountMinor());
+                    stmt.setInt(6, expense.getEpochDay());
+                    stmt.setString(7, expense.getNote());
+                    stmt.addBatch();
+                    if (++queued == INSERT_BATCH_SIZE) {
+                        stmt.executeBatch();
+                        queued = 0;
+                    }
+                }
+                if (queued > 0) stmt.executeBatch();
+            }
+            return null;
+        });
+
+        List<Expense> stored = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Expense expense = expenses.get(i);
+            Expense copy = new Expense(IdGenerator.format(ids[i]), expense.getUserId(), storedGroupId(expense.getGroupId()),
+                    CategoryRegistry.nameOf(expense.getCategoryId()), expense.getAmount(), expense.getDate(), expense.getNote());
+            copy.setCategoryId(expense.getCategoryId());
+            stored.add(copy);
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean update(Expense expense) throws Exception {
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            String query = "UPDATE EXPENSES SET category_id = ?, amount_minor = ?, epoch_day = ?, note = ? " +
+                          "WHERE expense_id = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setInt(1, expense.getCategoryId());
+                stmt.setLong(2, expense.getAmountMinor());
+                stmt.setInt(3, expense.getEpochDay());
+                stmt.setString(4, expense.getNote());
+                stmt.setLong(5, IdGenerator.parse(expense.getExpenseId()));
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    @Override
+    public int updateAll(List<Expense> expenses) throws Exception {
+        if (expenses.isEmpty()) return 0;
+        long[] ids = new long[expenses.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = IdGenerator.parse(expenses.get(i).getExpenseId());
+        }
+        return DatabaseHelper.write(conn -> {
+            String query = "UPDATE EXPENSES SET category_id = ?, amount_minor = ?, epoch_day = ?, note = ? " +
+                          "WHERE expense_id = ?";
+            int updated = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                for (int i = 0; i < ids.length; i++) {
+                    Expense expense = expenses.get(i);
+                    stmt.setInt(1, expense.getCategoryId());
+                    stmt.setLong(2, expense.getAmountMinor());
+                    stmt.setInt(3, expense.getEpochDay());
+                    stmt.setString(4, expense.getNote());
+                    stmt.setLong(5, ids[i]);
+                    stmt.addBatch();
+                    if ((i + 1) % INSERT_BATCH_SIZE == 0 || i == ids.length - 1) {
+                        for (int count : stmt.executeBatch()) {
+                            if (count > 0) updated += count;
+                        }
+                    }
+                }
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * UPDATE ... SET category_id = ? WHERE expense_id IN (...), chunked like deleteAll(),
+     * all in one write command
+     */
+    @Override
+    public int updateCategory(Collection<String> expenseIds, int categoryId) throws Exception {
+        if (expenseIds.isEmpty()) return 0;
+        List<Long> ids = new ArrayList<>(expenseIds.size());
+        for (String expenseId : expenseIds) {
+            ids.add(IdGenerator.parse(expenseId));
+        }
+        return DatabaseHelper.write(conn -> {
+            int updated = 0;
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE EXPENSES SET category_id = ? WHERE expense_id IN (" + placeholders + ")")) {
+                    stmt.setInt(1, categoryId);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 2, chunk.get(i));
+                    }
+                    updated += stmt.executeUpdate();
+                }
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public boolean delete(String expenseId) throws Exception {
+        long id = IdGenerator.parse(expenseId);
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM EXPENSES WHERE expense_id = ?")) {
+                stmt.setLong(1, id);
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    /**
+     * DELETE ... WHERE expense_id IN (...), a chunk of ids per statement, all in one write command
+     */
+    @Override
+    public int deleteAll(Collection<String> expenseIds) throws Exception {
+        if (expenseIds.isEmpty()) return 0;
+        List<Long> ids = new ArrayList<>(expenseIds.size());
+        for (String expenseId : expenseIds) {
+            ids.add(IdGenerator.parse(expenseId));
+        }
+        return DatabaseHelper.write(conn -> {
+            int deleted = 0;
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "DELETE FROM EXPENSES WHERE expense_id IN (" + placeholders + ")")) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 1, chunk.get(i));
+                    }
+                    deleted += stmt.executeUpdate();
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public int deleteByGroup(String groupId) throws Exception {
+        return DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM EXPENSES WHERE group_id = ?")) {
+                stmt.setString(1, groupId);
+                return stmt.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Personal expenses are stored with a NULL group_id (never ''), so PERSONAL_ROWS is an index equality
+     */
+    private static String storedGroupId(String groupId) {
+        return groupId == null || groupId.isEmpty() ? null : groupId;
+    }
+
+    // ==== READS ====
+
+    @Override
+    public Expense findById(String expenseId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM EXPENSES WHERE expense_id = ?");
+            stmt.setLong(1, IdGenerator.parse(expenseId));
+
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? createExpenseFromResultSet(rs) : null;
+        }
+    }
+
+    /**
+     * SELECT ... WHERE expense_id IN (...), a chunk of ids per statement like deleteAll()
+     */
+    @Override
+    public List<Expense> findByIds(Collection<String> expenseIds) throws Exception {
+        List<Long> ids = new ArrayList<>(expenseIds.size());
+        for (String expenseId : expenseIds) {
+            ids.add(IdGenerator.parse(expenseId));
+        }
+        List<Expense> found = new ArrayList<>(ids.size());
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT * FROM EXPENSES WHERE expense_id IN (" + placeholders + ")");
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setLong(i + 1, chunk.get(i));
+                }
+                found.addAll(readAll(stmt.executeQuery()));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * An index range scan on epoch_day
+     */
+    @Override
+    public List<Expense> findPersonal(String userId, DayRange range) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            String query = "SELECT * FROM EXPENSES WHERE user_id = ? AND group_id IS NULL " +
+                          "AND epoch_day BETWEEN ? AND ? ORDER BY epoch_day DESC, expense_id DESC";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, userId);
+            stmt.setInt(2, range.first());
+            stmt.setInt(3, range.last());
+            return readAll(stmt.executeQuery());
+        }
+    }
+
+    @Override
+    public List<Expense> findGroup(String groupId, DayRange range) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            String query = "SELECT * FROM EXPENSES WHERE group_id = ? AND epoch_day BETWEEN ? AND ? " +
+                          "ORDER BY epoch_day DESC, expense_id DESC";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, groupId);
+            stmt.setInt(2, range.first());
+            stmt.setInt(3, range.last());
+            return readAll(stmt.executeQuery());
+        }
+    }
+
+    @Override
+    public List<Expense> findGroupByUser(String groupId, String userId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            String query = "SELECT * FROM EXPENSES WHERE group_id = ? AND user_id = ? ORDER BY epoch_day DESC, expense_id DESC";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, groupId);
+            stmt.setString(2, userId);
+            return readAll(stmt.executeQuery());
+        }
+    }
+
+    @Override
+    public List<Expense> findAll() throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM EXPENSES ORDER BY epoch_day DESC, expense_id DESC");
+            return readAll(stmt.executeQuery());
+        }
+    }
+
+    // ==== PAGES ====
+
+    /**
+     * Keyset page: (epoch_day, expense_id) < cursor walks the day index backwards from the
+     * cursor, so the cost is one page whatever its depth. One more row than the page is
+     * fetched to learn whether another page follows.
+     */
+    @Override
+    public ExpensePage findPersonalPage(String userId, DayRange range, int categoryId,
+                                        ExpensePage.Cursor after, int limit) throws Exception {
+        String query = "SELECT * FROM EXPENSES WHERE user_id = ? AND group_id IS NULL " +
+                      "AND epoch_day BETWEEN ? AND ? AND (? < 0 OR category_id = ?) " +
+                      "AND (epoch_day, expense_id) < (?, ?) " +
+                      "ORDER BY epoch_day DESC, expense_id DESC LIMIT ?";
+        return findPage(query, userId, range, categoryId, after, limit);
+    }
+
+    @Override
+    public ExpensePage findGroupPage(String groupId, DayRange range, int categoryId,
+                                     ExpensePage.Cursor after, int limit) throws Exception {
+        String query = "SELECT * FROM EXPENSES WHERE group_id = ? " +
+                      "AND epoch_day BETWEEN ? AND ? AND (? < 0 OR category_id = ?) " +
+                      "AND (epoch_day, expense_id) < (?, ?) " +
+                      "ORDER BY epoch_day DESC, expense_id DESC LIMIT ?";
+        return findPage(query, groupId, range, categoryId, after, limit);
+    }
+
+    // ==== TOTALS ====
+    // Whole months come from EXPENSE_TOTALS (kept current by triggers); only the
+    // partial months at the ends of a range are summed from EXPENSES.
+
+    @Override
+    public ExpenseTotals personalTotals(String userId, DayRange range) throws Exception {
+        return totals("", userId, PERSONAL_ROWS, userId, range);
+    }
+
+    @Override
+    public ExpenseTotals groupTotals(String groupId, DayRange range) throws Exception {
+        return totals(groupId, "", GROUP_ROWS, groupId, range);
+    }
+
+    @Override
+    public Map<String, ExpenseTotals> memberTotals(String groupId, DayRange range) throws Exception {
+        MonthSpan span = MonthSpan.of(range);
+        Map<String, ExpenseTotals> byUser = new HashMap<>();
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            if (span == null) {
+                addMemberRows(conn, groupId, range, byUser);
+                return byUser;
+            }
+            if (span.hasMonths()) {
+                PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT user_id, SUM(expense_count), SUM(total_minor) FROM EXPENSE_TOTALS " +
+                        "WHERE group_id = ? AND user_id <> '' AND month BETWEEN ? AND ? GROUP BY user_id");
+                stmt.setString(1, groupId);
+                stmt.setInt(2, span.firstMonth());
+                stmt.setInt(3, span.lastMonth());
+                mergeByUser(stmt.executeQuery(), byUser);
+            }
+            for (DayRange edge : span.edges()) {
+                addMemberRows(conn, groupId, edge, byUser);
+            }
+            return byUser;
+        }
+    }
+
+    @Override
+    public long personalTotalMinor(String userId) throws Exception {
+        return personalTotals(userId, DayRange.ALL).totalMinor();
+    }
+
+    @Override
+    public long groupTotalMinor(String groupId) throws Exception {
+        return groupTotals(groupId, DayRange.ALL).totalMinor();
+    }
+
+    // ==== BREAKDOWNS ====
+    // Read from DAILY_ROLLUP (kept current by triggers): at most one row per day and
+    // category in the range, however many expenses there are.
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> personalTotalsBy(String userId, DayRange range,
+                                                                 Breakdown by) throws Exception {
+        return totalsBy("", userId, range, by);
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> groupTotalsBy(String groupId, DayRange range,
+                                                              Breakdown by) throws Exception {
+        return totalsBy(groupId, "", range, by);
+    }
+
+    @Override
+    public NavigableMap<Integer, ExpenseTotals> memberTotalsBy(String groupId, String userId, DayRange range,
+                                                               Breakdown by) throws Exception {
+        return totalsBy(groupId, userId, range, by);
+    }
+
+    // ==== HELPERS ====
+
+    private static ExpensePage findPage(String query, String owner, DayRange range, int categoryId,
+                                        ExpensePage.Cursor after, int limit) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, owner);
+            stmt.setInt(2, range.first());
+            stmt.setInt(3, range.last());
+            stmt.setInt(4, categoryId);
+            stmt.setInt(5, categoryId);
+            stmt.setInt(6, after.epochDay());
+            stmt.setLong(7, after.expenseId());
+            stmt.setInt(8, limit + 1);
+            return ExpensePage.of(readAll(stmt.executeQuery()), limit);
+        }
+    }
+
+    private static ExpenseTotals totals(String groupKey, String userKey, String rows, String owner,
+                                        DayRange range) throws Exception {
+        MonthSpan span = MonthSpan.of(range);
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            if (span == null) return sumRows(conn, rows, owner, range);
+            ExpenseTotals totals = ExpenseTotals.EMPTY;
+            if (span.hasMonths()) {
+                PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT COALESCE(SUM(expense_count), 0), COALESCE(SUM(total_minor), 0) FROM EXPENSE_TOTALS " +
+                        "WHERE group_id = ? AND user_id = ? AND month BETWEEN ? AND ?");
+                stmt.setString(1, groupKey);
+                stmt.setString(2, userKey);
+                stmt.setInt(3, span.firstMonth());
+                stmt.setInt(4, span.lastMonth());
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) totals = new ExpenseTotals(rs.getInt(1), rs.getLong(2));
+            }
+            for (DayRange edge : span.edges()) {
+                totals = totals.plus(sumRows(conn, rows, owner, edge));
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * COUNT / SUM over the EXPENSES rows matching the owner filter within range
+     */
+    private static ExpenseTotals sumRows(Connection conn, String rows, String owner, DayRange range) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*), COALESCE(SUM(amount_minor), 0) FROM EXPENSES " +
+                "WHERE " + rows + " AND epoch_day BETWEEN ? AND ?");
+        stmt.setString(1, owner);
+        stmt.setInt(2, range.first());
+        stmt.setInt(3, range.last());
+
+        ResultSet rs = stmt.executeQuery();
+        return rs.next() ? new ExpenseTotals(rs.getInt(1), rs.getLong(2)) : ExpenseTotals.EMPTY;
+    }
+
+    /**
+     * One GROUP BY over the owner's DAILY_ROLLUP rows within range
+     */
+    private static NavigableMap<Integer, ExpenseTotals> totalsBy(String groupKey, String userKey, DayRange range,
+                                                                 Breakdown by) throws Exception {
+        String key = switch (by) {
+            case CATEGORY -> "category_id";
+            case DAY -> "epoch_day";
+            // % truncates toward zero, so shift negative days before taking the weekday
+            case WEEKDAY -> "(epoch_day % 7 + 10) % 7";
+        };
+        NavigableMap<Integer, ExpenseTotals> totals = new TreeMap<>();
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT " + key + ", SUM(expense_count), SUM(total_minor) " +
+                    "FROM DAILY_ROLLUP WHERE group_id = ? AND user_id = ? AND epoch_day BETWEEN ? AND ? GROUP BY 1");
+            stmt.setString(1, groupKey);
+            stmt.setString(2, userKey);
+            stmt.setInt(3, range.first());
+            stmt.setInt(4, range.last());
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                totals.put(rs.getInt(1), new ExpenseTotals(rs.getInt(2), rs.getLong(3)));
+            }
+        }
+        return totals;
+    }
+
+    private static void addMemberRows(Connection conn, String groupId, DayRange range,
+                                      Map<String, ExpenseTotals> byUser) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(
+                "SELECT user_id, COUNT(*), SUM(amount_minor) FROM EXPENSES " +
+                "WHERE group_id = ? AND epoch_day BETWEEN ? AND ? GROUP BY user_id");
+        stmt.setString(1, groupId);
+        stmt.setInt(2, range.first());
+        stmt.setInt(3, range.last());
+        mergeByUser(stmt.executeQuery(), byUser);
+    }
+
+    private static void mergeByUser(ResultSet rs, Map<String, ExpenseTotals> byUser) throws SQLException {
+        while (rs.next()) {
+            ExpenseTotals totals = new ExpenseTotals(rs.getInt(2), rs.getLong(3));
+            if (totals.count() > 0) byUser.merge(rs.getString(1), totals, ExpenseTotals::plus);
+        }
+    }
+
+    private static List<Expense> readAll(ResultSet rs) throws SQLException {
+        List<Expense> expenses = new ArrayList<>();
+        while (rs.next()) {
+            expenses.add(createExpenseFromResultSet(rs));
+        }
+        return expenses;
+    }
+
+    private static Expense createExpenseFromResultSet(ResultSet rs) throws SQLException {
+        Expense expense = new Expense();
+        expense.setExpenseId(IdGenerator.format(rs.getLong("expense_id")));
+        expense.setUserId(rs.getString("user_id"));
+        expense.setGroupId(rs.getString("group_id"));
+        int categoryId = rs.getInt("category_id");
+        expense.setCategory(CategoryRegistry.nameOf(categoryId));
+        expense.setCategoryId(categoryId);
+        expense.setAmount(Money.ofMinor(rs.getLong("amount_minor")));
+        expense.setEpochDay(rs.getInt("epoch_day"));
+        expense.setNote(rs.getString("note"));
+        return expense;
+    }
+}
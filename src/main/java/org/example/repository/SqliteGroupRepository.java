@@ -0,0 +1,248 @@
+package org.example.repository;
+
+import org.example.model.Group;
+import org.example.model.GroupMember;
+import org.example.service.DatabaseHelper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQLite Group Repository
+ * GROUPS, GROUP_MEMBERS and GROUP_BUDGETS in the application database.
+ * Writes go through the DatabaseHelper write queue like expense writes.
+ */
+public class SqliteGroupRepository implements GroupRepository {
+
+    /**
+     * Group row and admin membership in one transaction
+     */
+    @Override
+    public boolean insert(Group group, String creatorUserId, String joinedAt) throws Exception {
+        return DatabaseHelper.write(conn -> {
+            try (PreparedStatement groupStmt = conn.prepareStatement("INSERT INTO GROUPS (group_id, group_name) VALUES (?, ?)")) {
+                groupStmt.setString(1, group.getGroupId());
+                groupStmt.setString(2, group.getGroupName());
+                groupStmt.executeUpdate();
+            }
+            String memberQuery = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) VALUES (?, ?, 'admin', ?)";
+            try (PreparedStatement memberStmt = conn.prepareStatement(memberQuery)) {
+                memberStmt.setString(1, group.getGroupId());
+                memberStmt.setString(2, creatorUserId);
+                memberStmt.setString(3, joinedAt);
+                return memberStmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public Group findById(String groupId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM GROUPS WHERE group_id = ?");
+            stmt.setString(1, groupId);
+
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return new Group(rs.getString("group_id"), rs.getString("group_name"));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Group> findForUser(String userId) throws Exception {
+        List<Group> groups = new ArrayList<>();
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            String query = "SELECT g.group_id, g.group_name FROM GROUPS g " +
+                          "INNER JOIN GROUP_MEMBERS gm ON g.group_id = gm.group_id " +
+                          "WHERE gm.user_id = ? ORDER BY g.group_name";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, userId);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                groups.add(new Group(rs.getString("group_id"), rs.getString("group_name")));
+            }
+        }
+        return groups;
+    }
+
+    @Override
+    public boolean delete(String groupId) throws Exception {
+        return DatabaseHelper.write(conn -> {
+            try (PreparedStatement members = conn.prepareStatement("DELETE FROM GROUP_MEMBERS WHERE group_id = ?")) {
+                members.setString(1, groupId);
+                members.executeUpdate();
+            }
+            try (PreparedStatement group = conn.prepareStatement("DELETE FROM GROUPS WHERE group_id = ?")) {
+                group.setString(1, groupId);
+                return group.executeUpdate() > 0;
+            }
+        });
+    }
+
+    // ==== MEMBERS ====
+
+    @Override
+    public List<GroupMember> findMembers(String groupId) throws Exception {
+        List<GroupMember> members = new ArrayList<>();
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            String query = "SELECT u.user_id, u.name, u.email, u.role, gm.member_role, gm.joined_at " +
+                          "FROM USERS u " +
+                          "INNER JOIN GROUP_MEMBERS gm ON u.user_id = gm.user_id " +
+                          "WHERE gm.group_id = ? " +
+                          "ORDER BY gm.member_role DESC, u.name"; // Admins first
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, groupId);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                String memberRole = rs.getString("member_role");
+                GroupMember member = new GroupMember(rs.getString("user_id"), rs.getString("name"), rs.getString("email"),
+                        rs.getString("role"), groupId, memberRole != null ? memberRole : "member");
+                member.setJoinedAt(rs.getString("joined_at"));
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+    @Override
+    public List<String> findMemberIds(String groupId) throws Exception {
+        return findUserIds("SELECT user_id FROM GROUP_MEMBERS WHERE group_id = ?", groupId);
+    }
+
+    @Override
+    public List<String> findAdminIds(String groupId) throws Exception {
+        return findUserIds("SELECT user_id FROM GROUP_MEMBERS WHERE group_id = ? AND member_role = 'admin'", groupId);
+    }
+
+    @Override
+    public String findMemberRole(String groupId, String userId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT member_role FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?");
+            stmt.setString(1, groupId);
+            stmt.setString(2, userId);
+
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                String role = rs.getString("member_role");
+                return role != null ? role : "member";
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int countMembers(String groupId) throws Exception {
+        return count("SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ?", groupId);
+    }
+
+    @Override
+    public int countAdmins(String groupId) throws Exception {
+        return count("SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ? AND member_role = 'admin'", groupId);
+    }
+
+    /**
+     * No-op (false) if the user is already a member
+     */
+    @Override
+    public boolean addMember(String groupId, String userId, String memberRole, String joinedAt) throws Exception {
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            String query = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) " +
+                          "SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, groupId);
+                stmt.setString(2, userId);
+                stmt.setString(3, memberRole);
+                stmt.setString(4, joinedAt);
+                stmt.setString(5, groupId);
+                stmt.setString(6, userId);
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    @Override
+    public boolean setMemberRole(String groupId, String userId, String memberRole) throws Exception {
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE GROUP_MEMBERS SET member_role = ? WHERE group_id = ? AND user_id = ?")) {
+                stmt.setString(1, memberRole);
+                stmt.setString(2, groupId);
+                stmt.setString(3, userId);
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    @Override
+    public boolean removeMember(String groupId, String userId) throws Exception {
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?")) {
+                stmt.setString(1, groupId);
+                stmt.setString(2, userId);
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    // ==== BUDGET ====
+
+    @Override
+    public long monthlyBudgetMinor(String groupId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement("SELECT monthly_budget_minor FROM GROUP_BUDGETS WHERE group_id = ?");
+            ps.setString(1, groupId);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    @Override
+    public void setMonthlyBudget(String groupId, long amountMinor) throws Exception {
+        DatabaseHelper.write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO GROUP_BUDGETS (group_id, monthly_budget_minor, currency, updated_at) VALUES (?, ?, 'BDT', ?) " +
+                    "ON CONFLICT(group_id) DO UPDATE SET monthly_budget_minor = excluded.monthly_budget_minor, updated_at = excluded.updated_at")) {
+                ps.setString(1, groupId);
+                ps.setLong(2, amountMinor);
+                ps.setString(3, LocalDateTime.now().toString());
+                return ps.executeUpdate();
+            }
+        });
+    }
+
+    // ==== HELPERS ====
+
+    private static List<String> findUserIds(String query, String groupId) throws Exception {
+        List<String> userIds = new ArrayList<>();
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, groupId);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                userIds.add(rs.getString("user_id"));
+            }
+        }
+        return userIds;
+    }
+
+    private static int count(String query, String groupId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, groupId);
+
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
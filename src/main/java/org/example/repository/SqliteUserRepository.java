@@ -0,0 +1,143 @@
+package org.example.repository;
+
+import org.example.model.User;
+import org.example.service.DatabaseHelper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQLite User Repository
+ * USERS, PARENT_RELATION and BUDGETS in the application database.
+ */
+public class SqliteUserRepository implements UserRepository {
+
+    @Override
+    public boolean insert(User user) throws Exception {
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            String query = "INSERT INTO USERS (user_id, name, email, password, role) VALUES (?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, user.getUserId());
+                stmt.setString(2, user.getName());
+                stmt.setString(3, user.getEmail());
+                stmt.setString(4, user.getPassword());
+                stmt.setString(5, user.getRole());
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    @Override
+    public User findById(String userId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM USERS WHERE user_id = ?");
+            stmt.setString(1, userId);
+
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? createUserFromResultSet(rs) : null;
+        }
+    }
+
+    @Override
+    public User findByEmail(String email) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM USERS WHERE email = ? COLLATE NOCASE");
+            stmt.setString(1, email);
+
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? createUserFromResultSet(rs) : null;
+        }
+    }
+
+    // ==== PARENT / CHILD ====
+
+    @Override
+    public List<User> findChildren(String parentId) throws Exception {
+        List<User> children = new ArrayList<>();
+        String query = "SELECT u.user_id, u.name, u.email, u.password, u.role " +
+                "FROM PARENT_RELATION pr " +
+                "JOIN USERS u ON pr.child_id = u.user_id " +
+                "WHERE pr.parent_id = ?";
+        try (Connection conn = DatabaseHelper.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, parentId);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                children.add(createUserFromResultSet(rs));
+            }
+        }
+        return children;
+    }
+
+    @Override
+    public User findParent(String childId) throws Exception {
+        String query = "SELECT u.user_id, u.name, u.email, u.password, u.role " +
+                "FROM PARENT_RELATION pr " +
+                "JOIN USERS u ON pr.parent_id = u.user_id " +
+                "WHERE pr.child_id = ?";
+        try (Connection conn = DatabaseHelper.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, childId);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? createUserFromResultSet(rs) : null;
+        }
+    }
+
+    @Override
+    public boolean linkParent(String parentId, String childId) throws Exception {
+        int rowsAffected = DatabaseHelper.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO PARENT_RELATION (parent_id, child_id) VALUES (?, ?)")) {
+                stmt.setString(1, parentId);
+                stmt.setString(2, childId);
+                return stmt.executeUpdate();
+            }
+        });
+        return rowsAffected > 0;
+    }
+
+    // ==== BUDGET ====
+
+    @Override
+    public long monthlyBudgetMinor(String userId) throws Exception {
+        try (Connection conn = DatabaseHelper.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement("SELECT monthly_budget_minor FROM BUDGETS WHERE user_id = ?");
+            ps.setString(1, userId);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    @Override
+    public void setMonthlyBudget(String userId, long amountMinor) throws Exception {
+        DatabaseHelper.write(conn -> {
+            // upsert
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO BUDGETS (user_id, monthly_budget_minor, currency, updated_at) VALUES (?, ?, 'BDT', ?) " +
+                    "ON CONFLICT(user_id) DO UPDATE SET monthly_budget_minor = excluded.monthly_budget_minor, updated_at = excluded.updated_at")) {
+                ps.setString(1, userId);
+                ps.setLong(2, amountMinor);
+                ps.setString(3, LocalDateTime.now().toString());
+                return ps.executeUpdate();
+            }
+        });
+    }
+
+    // ==== HELPERS ====
+
+    private static User createUserFromResultSet(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setUserId(rs.getString("user_id"));
+        user.setName(rs.getString("name"));
+        user.setEmail(rs.getString("email"));
+        user.setPassword(rs.getString("password"));
+        user.setRole(rs.getString("role"));
+        return user;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.repository;
+
+import org.example.model.User;
+
+import java.util.List;
+
+/**
+ * User Repository
+ * Storage for users, parent-child links and personal budgets.
+ * Email lookups are case-insensitive.
+ */
+public interface UserRepository {
+
+    boolean insert(User user) throws Exception;
+
+    User findById(String userId) throws Exception;
+
+    User findByEmail(String email) throws Exception;
+
+    // ==== PARENT / CHILD ====
+
+    List<User> findChildren(String parentId) throws Exception;
+
+    User findParent(String childId) throws Exception;
+
+    boolean linkParent(String parentId, String childId) throws Exception;
+
+    // ==== BUDGET ====
+
+    /**
+     * Monthly budget in paisa; 0 if none was set
+     */
+    long monthlyBudgetMinor(String userId) throws Exception;
+
+    void setMonthlyBudget(String userId, long amountMinor) throws Exception;
+}
@@ -0,0 +1,115 @@
+package org.example.service;
+
+import org.example.model.DayRange;
+import org.example.model.ExpenseTotals;
+import org.example.repository.ExpenseRepository.Breakdown;
+import org.example.repository.Repositories;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Aggregation Service
+ * Breakdowns for the analytics screens - per category, per day, per weekday and per
+ * member - computed by the repository (GROUP BY in SQLite) over a date range, so a
+ * screen reads one row per key instead of every expense in the range.
+ */
+public class AggregationService {
+
+    // ==== CATEGORIES ====
+
+    public static CategoryTotals getPersonalCategoryTotals(String userId, DayRange range) {
+        return toCategoryTotals(personal(userId, range, Breakdown.CATEGORY));
+    }
+
+    public static CategoryTotals getGroupCategoryTotals(String groupId, DayRange range) {
+        return toCategoryTotals(group(groupId, range, Breakdown.CATEGORY));
+    }
+
+    // ==== DAILY SERIES ====
+
+    /**
+     * Count and total per epoch day, oldest first; days without expenses are absent
+     */
+    public static NavigableMap<Integer, ExpenseTotals> getPersonalDailyTotals(String userId, DayRange range) {
+        return personal(userId, range, Breakdown.DAY);
+    }
+
+    public static NavigableMap<Integer, ExpenseTotals> getGroupDailyTotals(String groupId, DayRange range) {
+        return group(groupId, range, Breakdown.DAY);
+    }
+
+    /**
+     * One member's share of a group, per epoch day
+     */
+    public static NavigableMap<Integer, ExpenseTotals> getMemberDailyTotals(String groupId, String userId,
+                                                                            DayRange range) {
+        try {
+            return Repositories.expenses().memberTotalsBy(groupId, userId, range, Breakdown.DAY);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new TreeMap<>();
+    }
+
+    // ==== WEEKDAYS ====
+
+    /**
+     * Paisa per day of the week; index 0 is Monday
+     */
+    public static long[] getPersonalWeekdayTotals(String userId, DayRange range) {
+        return toWeekdays(personal(userId, range, Breakdown.WEEKDAY));
+    }
+
+    public static long[] getGroupWeekdayTotals(String groupId, DayRange range) {
+        return toWeekdays(group(groupId, range, Breakdown.WEEKDAY));
+    }
+
+    // ==== MEMBERS ====
+
+    /**
+     * Count and total per member of a group within range, by user id
+     */
+    public static Map<String, ExpenseTotals> getMemberTotals(String groupId, DayRange range) {
+        try {
+            return Repositories.expenses().memberTotals(groupId, range);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new HashMap<>();
+    }
+
+    // ==== HELPERS ====
+
+    private static NavigableMap<Integer, ExpenseTotals> personal(String userId, DayRange range, Breakdown by) {
+        try {
+            return Repositories.expenses().personalTotalsBy(userId, range, by);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new TreeMap<>();
+    }
+
+    private static NavigableMap<Integer, ExpenseTotals> group(String groupId, DayRange range, Breakdown by) {
+        try {
+            return Repositories.expenses().groupTotalsBy(groupId, range, by);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new TreeMap<>();
+    }
+
+    private static CategoryTotals toCategoryTotals(Map<Integer, ExpenseTotals> byCategory) {
+        CategoryTotals totals = new CategoryTotals();
+        byCategory.forEach((categoryId, t) -> totals.add(categoryId, t.totalMinor()));
+        return totals;
+    }
+
+    private static long[] toWeekdays(Map<Integer, ExpenseTotals> byWeekday) {
+        long[] totals = new long[7];
+        byWeekday.forEach((weekday, t) -> totals[weekday] = t.totalMinor());
+        return totals;
+    }
+}
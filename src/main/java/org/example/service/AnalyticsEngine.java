@@ -0,0 +1,144 @@
+package org.example.service;
+
+import org.example.model.DayRange;
+import org.example.model.Expense;
+
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Analytics Engine
+ * Computes the figures the analytics screens show - all-time, month, week and
+ * last-30-day totals, the peak day, and category, weekday and member breakdowns -
+ * in one pass over ExpenseColumns. The pass only adds into primitive arrays sized
+ * up front: no boxing, no maps, no per-row objects.
+ *
+ * Breakdowns cover the rows inside the window the caller picks (all time for the
+ * personal summary, this month for group analytics); the totals always cover their
+ * own fixed periods.
+ */
+public class AnalyticsEngine {
+
+    // Last-N-days window used for trend comparisons
+    public static final int RECENT_DAYS = 30;
+
+    /**
+     * Result of one pass. Amounts are paisa.
+     */
+    public static final class Summary {
+        // Every row
+        public int count;
+        public long total;
+        // The calendar month and week containing today, and the last RECENT_DAYS days
+        public long monthTotal;
+        public long weekTotal;
+        public int recentCount;
+        public long recentTotal;
+
+        // Rows inside the window; the breakdowns below only count these
+        public int windowCount;
+        public long windowTotal;
+        public int peakDay = Expense.NO_DATE;
+        public long peakAmount;
+        // Index 0 is Monday
+        public final long[] byWeekday = new long[7];
+        // Indexed by category id
+        public long[] byCategory;
+        // Indexed like ExpenseColumns.userId(i)
+        public long[] byUser;
+
+        private ExpenseColumns columns;
+
+        public CategoryTotals categories() {
+            return new CategoryTotals(byCategory);
+        }
+
+        /**
+         * Window totals per user id, for users with spending in the window. Expenses
+         * without a user are left out.
+         */
+        public Map<String, Long> userTotals() {
+            Map<String, Long> totals = new HashMap<>();
+            for (int u = 0; u < byUser.length; u++) {
+                String id = columns.userId(u);
+                if (byUser[u] != 0 && !id.isEmpty()) totals.put(id, byUser[u]);
+            }
+            return totals;
+        }
+
+        public LocalDate peakDate() {
+            return peakDay != Expense.NO_DATE ? LocalDate.ofEpochDay(peakDay) : null;
+        }
+    }
+
+    /**
+     * Analyze with breakdowns over window; month, week and recent periods are taken from today
+     */
+    public static Summary summarize(ExpenseColumns columns, DayRange window, LocalDate today, WeekFields weekFields) {
+        DayRange month = DayRange.month(today);
+        DayRange week = DayRange.week(today, weekFields);
+        DayRange recent = DayRange.of(today.minusDays(RECENT_DAYS), null);
+
+        Summary s = new Summary();
+        s.columns = columns;
+        s.byCategory = new long[Math.max(CategoryRegistry.capacity(), maxCategory(columns) + 1)];
+        s.byUser = new long[columns.userCount()];
+
+        int[] days = columns.epochDay;
+        long[] amounts = columns.amountMinor;
+        short[] categories = columns.categoryId;
+        int[] users = columns.user;
+
+        // Rows are newest day first, so a day's total is complete when the day changes
+        int runDay = Expense.NO_DATE;
+        long runTotal = 0;
+
+        for (int i = 0; i < columns.size; i++) {
+            int d = days[i];
+            long amount = amounts[i];
+            s.count++;
+            s.total += amount;
+            if (d == Expense.NO_DATE) continue;
+
+            if (month.contains(d)) s.monthTotal += amount;
+            if (week.contains(d)) s.weekTotal += amount;
+            if (recent.contains(d)) {
+                s.recentCount++;
+                s.recentTotal += amount;
+            }
+            if (!window.contains(d)) continue;
+
+            s.windowCount++;
+            s.windowTotal += amount;
+            s.byCategory[categories[i] & 0xFFFF] += amount;
+            s.byUser[users[i]] += amount;
+            // Epoch day 0 was a Thursday
+            s.byWeekday[Math.floorMod(d + 3, 7)] += amount;
+
+            if (d != runDay) {
+                if (runTotal > s.peakAmount) {
+                    s.peakAmount = runTotal;
+                    s.peakDay = runDay;
+                }
+                runDay = d;
+                runTotal = 0;
+            }
+            runTotal += amount;
+        }
+        if (runTotal > s.peakAmount) {
+            s.peakAmount = runTotal;
+            s.peakDay = runDay;
+        }
+        return s;
+    }
+
+    private static int maxCategory(ExpenseColumns columns) {
+        int max = 0;
+        for (int i = 0; i < columns.size; i++) {
+            max = Math.max(max, columns.categoryId[i] & 0xFFFF);
+        }
+        return max;
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.service;
 
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.Money;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -15,94 +17,157 @@ import java.util.stream.Collectors;
 public class AnalyticsService {
 
     public static class PersonalAnalyticsSummary {
-        public double monthlyTotal;
-        public double weeklyTotal;
+        public Money monthlyTotal;
+        public Money weeklyTotal;
         public LocalDate highestSpendingDay;
-        public double highestSpendingAmount;
-        public Map<String, Double> categoryTotals;
+        public Money highestSpendingAmount;
+        public Money monthlyBudget;
+        // Unmodifiable; categories are ordered highest total first
+        public Map<String, Money> categoryTotals;
         public List<String> suggestions;
     }
 
-    /**
-     * Build analytics summary for a user's personal expenses.
-     */
-    public static PersonalAnalyticsSummary buildPersonalSummary(String userId) {
-        List<Expense> expenses = ExpenseService.getPersonalExpensesObservable(userId);
-        LocalDate now = LocalDate.now();
-        WeekFields wf = WeekFields.of(Locale.getDefault());
+    // ==== SUMMARY CACHE ====
+    // Summaries are kept per user and day (the month, week and 30-day windows move with
+    // the date) and dropped when that user's personal expenses or budget change.
 
-        double monthly = 0.0;
-        double weekly = 0.0;
-        Map<LocalDate, Double> byDay = new HashMap<>();
-        Map<String, Double> categoryTotals = new HashMap<>();
-        Map<DayOfWeek, Double> byDayOfWeek = new HashMap<>();
-        List<Expense> last30Days = new ArrayList<>();
+    public static class Config {
+        public boolean enabled = true;
+        public int maxSummaries = 32;
 
-        for (Expense e : expenses) {
-            LocalDate d;
-            try {
-                d = LocalDate.parse(e.getDate());
-            } catch (Exception ex) {
-                continue;
-            }
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.enabled = Boolean.parseBoolean(System.getProperty("expense.analytics.cache.enabled", String.valueOf(c.enabled)));
+            c.maxSummaries = Integer.getInteger("expense.analytics.cache.max", c.maxSummaries);
+            return c;
+        }
+    }
 
-            // Monthly total
-            if (d.getYear() == now.getYear() && d.getMonth() == now.getMonth()) {
-                monthly += e.getAmount();
-            }
+    private record SummaryKey(String userId, LocalDate day) {}
 
-            // Weekly total
-            if (d.get(wf.weekOfYear()) == now.get(wf.weekOfYear()) && d.getYear() == now.getYear()) {
-                weekly += e.getAmount();
-            }
+    private static final Config config = Config.fromSystemProperties();
 
-            // Daily totals
-            byDay.merge(d, e.getAmount(), Double::sum);
+    // Access-ordered, so the eldest entry is the least recently used. Guarded by itself.
+    private static final Map<SummaryKey, PersonalAnalyticsSummary> summaries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SummaryKey, PersonalAnalyticsSummary> eldest) {
+            return size() > config.maxSummaries;
+        }
+    };
 
-            // Category totals
-            categoryTotals.merge(Optional.ofNullable(e.getCategory()).orElse("Uncategorized"),
-                e.getAmount(), Double::sum);
+    // Bumped by every invalidation; a summary computed across one is not stored
+    private static long generation;
+    private static long hits;
+    private static long misses;
+    private static long invalidations;
 
-            // Day of week patterns
-            byDayOfWeek.merge(d.getDayOfWeek(), e.getAmount(), Double::sum);
+    static {
+        // Synchronous, so the entry is gone before the write call returns
+        EventBus.subscribe(EventBus.Event.class, AnalyticsService::onChange);
+    }
 
-            // Last 30 days
-            if (!d.isBefore(now.minusDays(30))) {
-                last30Days.add(e);
+    private static void onChange(EventBus.Event event) {
+        switch (event) {
+            case EventBus.ExpenseAdded added -> invalidateOwners(added.expenses());
+            case EventBus.ExpenseDeleted deleted -> invalidateOwners(deleted.expenses());
+            case EventBus.ExpenseUpdated updated -> {
+                invalidateOwners(updated.before());
+                invalidateOwners(updated.after());
             }
+            case EventBus.BudgetChanged budget -> {
+                if (budget.userId() != null) invalidate(budget.userId());
+            }
+            case EventBus.MemberJoined joined -> { }
         }
+    }
 
-        // Find highest spending day
-        LocalDate maxDay = null;
-        double maxAmt = 0.0;
-        for (Map.Entry<LocalDate, Double> en : byDay.entrySet()) {
-            if (en.getValue() > maxAmt) {
-                maxAmt = en.getValue();
-                maxDay = en.getKey();
+    private static void invalidateOwners(List<Expense> expenses) {
+        Set<String> owners = new HashSet<>();
+        for (Expense e : expenses) {
+            // Only personal expenses feed the personal summary
+            if (e.getGroupId() == null || e.getGroupId().isEmpty()) owners.add(e.getUserId());
+        }
+        owners.forEach(AnalyticsService::invalidate);
+    }
+
+    /**
+     * Drop the user's cached summaries, for changes the event bus does not report
+     */
+    public static void invalidate(String userId) {
+        synchronized (summaries) {
+            generation++;
+            if (summaries.keySet().removeIf(key -> key.userId().equals(userId))) invalidations++;
+        }
+    }
+
+    /**
+     * Cached summary count and hit rate
+     */
+    public static String getSummaryCacheStats() {
+        synchronized (summaries) {
+            return String.format("summaries=%d (max %d), hits=%d, misses=%d, invalidations=%d",
+                    summaries.size(), config.maxSummaries, hits, misses, invalidations);
+        }
+    }
+
+    // ==== PERSONAL SUMMARY ====
+
+    /**
+     * Build analytics summary for a user's personal expenses. The result may be shared
+     * with later callers until the user's expenses or budget change; do not modify it.
+     */
+    public static PersonalAnalyticsSummary buildPersonalSummary(String userId) {
+        LocalDate now = LocalDate.now();
+        if (!config.enabled) return computePersonalSummary(userId, now);
+
+        SummaryKey key = new SummaryKey(userId, now);
+        long startedAt;
+        synchronized (summaries) {
+            PersonalAnalyticsSummary cached = summaries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
             }
+            misses++;
+            startedAt = generation;
+        }
+        PersonalAnalyticsSummary s = computePersonalSummary(userId, now);
+        synchronized (summaries) {
+            if (generation == startedAt) summaries.put(key, s);
         }
+        return s;
+    }
+
+    private static PersonalAnalyticsSummary computePersonalSummary(String userId, LocalDate now) {
+        List<Expense> expenses = ExpenseService.getPersonalExpensesObservable(userId);
+        WeekFields wf = WeekFields.of(Locale.getDefault());
+
+        // One pass over primitive columns; breakdowns cover all dated expenses
+        AnalyticsEngine.Summary a = AnalyticsEngine.summarize(ExpenseColumns.of(expenses), DayRange.ALL, now, wf);
 
         PersonalAnalyticsSummary s = new PersonalAnalyticsSummary();
-        s.monthlyTotal = monthly;
-        s.weeklyTotal = weekly;
-        s.highestSpendingDay = maxDay;
-        s.highestSpendingAmount = maxAmt;
-        s.categoryTotals = categoryTotals.entrySet().stream()
-                .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (x, y) -> x, LinkedHashMap::new));
-        s.suggestions = buildSmartSuggestions(s, userId, byDayOfWeek, last30Days, now);
+        s.monthlyTotal = Money.ofMinor(a.monthTotal);
+        s.weeklyTotal = Money.ofMinor(a.weekTotal);
+        s.highestSpendingDay = a.peakDate();
+        s.highestSpendingAmount = Money.ofMinor(a.peakAmount);
+        s.monthlyBudget = BudgetService.getMonthlyBudget(userId);
+        Map<String, Money> categoryTotals = new LinkedHashMap<>();
+        a.categories().toSortedMap().forEach((name, total) -> categoryTotals.put(name, Money.ofMinor(total)));
+        // Cached summaries are shared between callers, so nothing in them may change
+        s.categoryTotals = Collections.unmodifiableMap(categoryTotals);
+        s.suggestions = List.copyOf(buildSmartSuggestions(s, a, now));
         return s;
     }
 
-    private static List<String> buildSmartSuggestions(PersonalAnalyticsSummary s, String userId,
-                                                      Map<DayOfWeek, Double> byDayOfWeek,
-                                                      List<Expense> last30Days, LocalDate now) {
+    private static List<String> buildSmartSuggestions(PersonalAnalyticsSummary s, AnalyticsEngine.Summary a,
+                                                      LocalDate now) {
         List<String> tips = new ArrayList<>();
 
         // Budget-related suggestions
-        double budget = BudgetService.getMonthlyBudget(userId);
-        if (budget > 0) {
-            double percentage = (s.monthlyTotal / budget) * 100;
+        Money budget = s.monthlyBudget;
+        double monthlyTotal = s.monthlyTotal.toDouble();
+        if (budget.isPositive()) {
+            double percentage = (monthlyTotal / budget.toDouble()) * 100;
             int daysInMonth = now.lengthOfMonth();
             int dayOfMonth = now.getDayOfMonth();
             double expectedPercentage = ((double) dayOfMonth / daysInMonth) * 100;
@@ -114,29 +179,29 @@ public class AnalyticsService {
                 tips.add("✅ Great job! You're spending less than expected and staying within budget.");
             }
 
-            double remaining = budget - s.monthlyTotal;
-            if (remaining > 0) {
+            Money remaining = budget.minus(s.monthlyTotal);
+            if (remaining.isPositive()) {
                 int daysLeft = daysInMonth - dayOfMonth;
-                double dailyAvailable = remaining / Math.max(daysLeft, 1);
-                tips.add(String.format("💰 Budget remaining: ৳%.2f. You can spend ৳%.2f per day.",
-                    remaining, dailyAvailable));
+                Money dailyAvailable = Money.ofMinor(remaining.getMinor() / Math.max(daysLeft, 1));
+                tips.add(String.format("💰 Budget remaining: %s. You can spend %s per day.",
+                    remaining.format(), dailyAvailable.format()));
             } else {
-                tips.add(String.format("🚨 Budget exceeded by ৳%.2f. Consider reducing spending.",
-                    Math.abs(remaining)));
+                tips.add(String.format("🚨 Budget exceeded by %s. Consider reducing spending.",
+                    Money.format(-remaining.getMinor())));
             }
         } else {
-            if (s.monthlyTotal > 0) {
+            if (s.monthlyTotal.isPositive()) {
                 tips.add("💡 Tip: Set a monthly budget to track your spending better.");
             }
         }
 
         // Category analysis
         if (!s.categoryTotals.isEmpty()) {
-            Map.Entry<String, Double> top = s.categoryTotals.entrySet().iterator().next();
-            double topPercentage = (top.getValue() / s.monthlyTotal) * 100;
+            Map.Entry<String, Money> top = s.categoryTotals.entrySet().iterator().next();
+            double topPercentage = (top.getValue().toDouble() / monthlyTotal) * 100;
 
-            tips.add(String.format("📊 Top category: %s (৳%.2f, %.0f%% of spending). " +
-                "Review if this seems high.", top.getKey(), top.getValue(), topPercentage));
+            tips.add(String.format("📊 Top category: %s (%s, %.0f%% of spending). " +
+                "Review if this seems high.", top.getKey(), top.getValue().format(), topPercentage));
 
             // Check if one category dominates
             if (topPercentage > 50) {
@@ -145,13 +210,10 @@ public class AnalyticsService {
         }
 
         // Spending trend prediction
-        if (last30Days.size() > 0) {
-            double avg30Days = last30Days.stream()
-                .mapToDouble(Expense::getAmount)
-                .average()
-                .orElse(0);
+        if (a.recentCount > 0) {
+            double avg30Days = (double) a.recentTotal / a.recentCount / 100.0;
 
-            double currentMonthAvg = s.monthlyTotal / now.getDayOfMonth();
+            double currentMonthAvg = monthlyTotal / now.getDayOfMonth();
 
             if (currentMonthAvg > avg30Days * 1.2) {
                 tips.add(String.format("📈 Spending trend increasing! Current daily avg: ৳%.2f vs 30-day avg: ৳%.2f",
@@ -168,31 +230,33 @@ public class AnalyticsService {
         }
 
         // Day of week patterns
-        if (!byDayOfWeek.isEmpty()) {
-            DayOfWeek mostExpensiveDay = byDayOfWeek.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
-
-            if (mostExpensiveDay != null) {
-                tips.add(String.format("📅 Pattern detected: You spend most on %ss. Plan ahead!",
-                    mostExpensiveDay.toString()));
+        DayOfWeek mostExpensiveDay = null;
+        long mostExpensiveAmount = 0;
+        for (int i = 0; i < a.byWeekday.length; i++) {
+            if (a.byWeekday[i] > mostExpensiveAmount) {
+                mostExpensiveAmount = a.byWeekday[i];
+                mostExpensiveDay = DayOfWeek.of(i + 1);
             }
         }
+        if (mostExpensiveDay != null) {
+            tips.add(String.format("📅 Pattern detected: You spend most on %ss. Plan ahead!",
+                mostExpensiveDay.toString()));
+        }
 
         // Peak spending alert
-        if (s.highestSpendingDay != null && s.highestSpendingAmount > 0) {
-            if (s.highestSpendingAmount > s.monthlyTotal * 0.2) {
-                tips.add(String.format("🔥 Single-day spike: ৳%.2f on %s. This was %.0f%% of your monthly spending!",
-                    s.highestSpendingAmount, s.highestSpendingDay,
-                    (s.highestSpendingAmount / s.monthlyTotal) * 100));
+        if (s.highestSpendingDay != null && s.highestSpendingAmount.isPositive()) {
+            double highest = s.highestSpendingAmount.toDouble();
+            if (highest > monthlyTotal * 0.2) {
+                tips.add(String.format("🔥 Single-day spike: %s on %s. This was %.0f%% of your monthly spending!",
+                    s.highestSpendingAmount.format(), s.highestSpendingDay,
+                    (highest / monthlyTotal) * 100));
             }
         }
 
         // Weekly comparison
-        if (s.weeklyTotal > 0 && s.monthlyTotal > 0) {
-            double weeklyProjection = s.weeklyTotal * 4.3; // ~4.3 weeks per month
-            if (weeklyProjection > s.monthlyTotal * 1.2) {
+        if (s.weeklyTotal.isPositive() && s.monthlyTotal.isPositive()) {
+            double weeklyProjection = s.weeklyTotal.toDouble() * 4.3; // ~4.3 weeks per month
+            if (weeklyProjection > monthlyTotal * 1.2) {
                 tips.add("⚠️ This week's spending is higher than usual. Consider slowing down.");
             }
         }
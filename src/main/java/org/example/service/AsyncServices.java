@@ -0,0 +1,189 @@
+package org.example.service;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import org.example.model.DayRange;
+import org.example.model.Expense;
+import org.example.model.ExpenseTotals;
+import org.example.model.GroupMember;
+import org.example.model.Money;
+import org.example.model.ParentChildAlert;
+import org.example.model.User;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Async Services
+ * Non-blocking variants of the service calls the dashboards make. Each call runs on
+ * its own virtual thread, so independent loads proceed in parallel while the JavaFX
+ * Application Thread keeps painting. Futures complete on the background thread; use
+ * onFx() (or thenAcceptAsync(..., FX)) to touch the scene graph with the result.
+ *
+ * ObservableLists owned by the services are only ever mutated on the FX thread:
+ * the *Observable variants fetch in the background and publish via Platform.runLater.
+ */
+public class AsyncServices {
+
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("svc-", 0).factory());
+
+    /**
+     * Runs tasks on the JavaFX Application Thread
+     */
+    public static final Executor FX = task -> {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+    };
+
+    /**
+     * Run any blocking call in the background
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /**
+     * Hand a result to the FX thread. Failures are logged like the synchronous services do.
+     */
+    public static <T> CompletableFuture<Void> onFx(CompletableFuture<T> future, Consumer<T> action) {
+        return future.thenAcceptAsync(action, FX).exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        });
+    }
+
+    // ==================== EXPENSES ====================
+
+    public static CompletableFuture<ObservableList<Expense>> personalExpensesObservable(String userId) {
+        return supply(() -> ExpenseService.getPersonalExpenses(userId))
+                .thenApplyAsync(expenses -> ExpenseService.publishPersonalExpenses(userId, expenses), FX);
+    }
+
+    public static CompletableFuture<ObservableList<Expense>> groupExpensesObservable(String groupId) {
+        return supply(() -> ExpenseService.getGroupExpenses(groupId))
+                .thenApplyAsync(expenses -> ExpenseService.publishGroupExpenses(groupId, expenses), FX);
+    }
+
+    public static CompletableFuture<Money> totalExpenses(String userId) {
+        return supply(() -> ExpenseService.getTotalExpenses(userId));
+    }
+
+    public static CompletableFuture<Money> groupTotalExpenses(String groupId) {
+        return supply(() -> ExpenseService.getGroupTotalExpenses(groupId));
+    }
+
+    public static CompletableFuture<ExpenseTotals> personalTotals(String userId, DayRange range) {
+        return supply(() -> ExpenseService.getPersonalTotals(userId, range));
+    }
+
+    public static CompletableFuture<ExpenseTotals> groupTotals(String groupId, DayRange range) {
+        return supply(() -> ExpenseService.getGroupTotals(groupId, range));
+    }
+
+    public static CompletableFuture<List<Expense>> groupExpensesByUser(String groupId, String userId) {
+        return supply(() -> ExpenseService.getGroupExpensesByUser(groupId, userId));
+    }
+
+    // ==================== GROUPS ====================
+
+    public static CompletableFuture<Integer> memberCount(String groupId) {
+        return supply(() -> GroupService.getMemberCount(groupId));
+    }
+
+    public static CompletableFuture<List<GroupMember>> groupMembers(String groupId) {
+        return supply(() -> GroupService.getGroupMembersWithDetails(groupId));
+    }
+
+    public static CompletableFuture<Boolean> isAdmin(String groupId, String userId) {
+        return supply(() -> GroupService.isAdmin(groupId, userId));
+    }
+
+    // ==================== BUDGETS ====================
+
+    public static CompletableFuture<Money> monthlyBudget(String userId) {
+        return supply(() -> BudgetService.getMonthlyBudget(userId));
+    }
+
+    public static CompletableFuture<Money> groupMonthlyBudget(String groupId) {
+        return supply(() -> GroupBudgetService.getMonthlyBudget(groupId));
+    }
+
+    public static CompletableFuture<Void> setMonthlyBudget(String userId, Money amount) {
+        return run(() -> BudgetService.setMonthlyBudget(userId, amount));
+    }
+
+    public static CompletableFuture<Void> setGroupMonthlyBudget(String groupId, Money amount) {
+        return run(() -> GroupBudgetService.setMonthlyBudget(groupId, amount));
+    }
+
+    // ==================== ALERTS & INVITES ====================
+
+    public static CompletableFuture<Integer> unreadAlertCount(String userId) {
+        return supply(() -> ParentChildAlertService.getUnreadAlertCount(userId));
+    }
+
+    public static CompletableFuture<List<ParentChildAlert>> sentAlerts(String userId) {
+        return supply(() -> ParentChildAlertService.getSentAlerts(userId));
+    }
+
+    public static CompletableFuture<List<String[]>> pendingParentInvites(String childId) {
+        return supply(() -> InviteService.getPendingParentInvitesForChild(childId));
+    }
+
+    public static CompletableFuture<List<String[]>> pendingGroupInvites(String userId) {
+        return supply(() -> InviteService.getPendingGroupInvitesForUser(userId));
+    }
+
+    /**
+     * Unread alerts plus pending parent and group invites - the dashboard badge number.
+     * The three queries run concurrently.
+     */
+    public static CompletableFuture<Integer> alertBadgeCount(String userId) {
+        CompletableFuture<Integer> alerts = unreadAlertCount(userId);
+        CompletableFuture<List<String[]>> parentInvites = pendingParentInvites(userId);
+        CompletableFuture<List<String[]>> groupInvites = pendingGroupInvites(userId);
+        return CompletableFuture.allOf(alerts, parentInvites, groupInvites)
+                .thenApply(v -> alerts.join() + parentInvites.join().size() + groupInvites.join().size());
+    }
+
+    // ==================== USERS ====================
+
+    public static CompletableFuture<User> userById(String userId) {
+        return supply(() -> UserService.getUserById(userId));
+    }
+
+    /**
+     * Display names for a set of user IDs (falls back to the ID for unknown users)
+     */
+    public static CompletableFuture<Map<String, String>> userNames(Collection<String> userIds) {
+        return supply(() -> {
+            Map<String, String> names = new HashMap<>();
+            for (String id : userIds) {
+                if (id == null || names.containsKey(id)) continue;
+                User user = UserService.getUserById(id);
+                names.put(id, user != null ? user.getName() : id);
+            }
+            return names;
+        });
+    }
+
+    public static void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.service;
+
+import org.example.repository.Repositories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Category Registry
+ * In-memory copy of the CATEGORIES dictionary. EXPENSES rows store a small
+ * category_id; the registry maps ids to one shared name String and back, so
+ * filters compare ints and aggregations index arrays by id. Name lookups are
+ * case-insensitive, like the NOCASE name column.
+ */
+public class CategoryRegistry {
+
+    /**
+     * Id for an expense whose category is not in the dictionary. Never stored.
+     */
+    public static final int UNKNOWN = 0;
+
+    private static final String UNKNOWN_NAME = "Uncategorized";
+
+    // Index = category_id; replaced (copy-on-write) when a category is added
+    private static volatile String[] names;
+    private static final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Name for an id, or "Uncategorized" for UNKNOWN / unrecognised ids
+     */
+    public static String nameOf(int id) {
+        String[] n = names();
+        return id > 0 && id < n.length && n[id] != null ? n[id] : UNKNOWN_NAME;
+    }
+
+    /**
+     * Id for an existing category, or UNKNOWN. Never writes.
+     */
+    public static int lookup(String name) {
+        names();
+        if (name == null) return UNKNOWN;
+        Integer id = idsByKey.get(key(name));
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Id for a category, adding it to the dictionary if it is new.
+     * Must not be called from inside a DatabaseHelper.write() command.
+     */
+    public static int idFor(String name) throws Exception {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Category name is required");
+        }
+        int existing = lookup(name);
+        if (existing != UNKNOWN) return existing;
+
+        synchronized (CategoryRegistry.class) {
+            existing = lookup(name);
+            if (existing != UNKNOWN) return existing;
+
+            String trimmed = name.trim();
+            int id = Repositories.expenses().addCategory(trimmed);
+            // Reload the stored spelling - an existing row may differ in case
+            String stored = Repositories.expenses().loadCategories().get(id);
+            register(id, stored != null ? stored : trimmed);
+            return id;
+        }
+    }
+
+    /**
+     * Array length that fits every current id; size per-category arrays with this
+     */
+    public static int capacity() {
+        return names().length;
+    }
+
+    /**
+     * All category names, in id order
+     */
+    public static List<String> allNames() {
+        List<String> result = new ArrayList<>();
+        for (String name : names()) {
+            if (name != null) result.add(name);
+        }
+        return result;
+    }
+
+    /**
+     * Drop the cached dictionary; the next call reloads it from the database
+     */
+    public static synchronized void reload() {
+        names = null;
+        idsByKey.clear();
+    }
+
+    // ==== INTERNALS ====
+
+    private static String[] names() {
+        String[] n = names;
+        if (n == null) {
+            synchronized (CategoryRegistry.class) {
+                if (names == null) load();
+                n = names;
+            }
+        }
+        return n;
+    }
+
+    private static void load() {
+        String[] loaded = new String[1];
+        try {
+            for (Map.Entry<Integer, String> entry : Repositories.expenses().loadCategories().entrySet()) {
+                int id = entry.getKey();
+                if (id >= loaded.length) loaded = Arrays.copyOf(loaded, Math.max(id + 1, loaded.length * 2));
+                loaded[id] = entry.getValue();
+                idsByKey.put(key(loaded[id]), id);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        names = loaded;
+    }
+
+    private static void register(int id, String name) {
+        String[] n = names();
+        if (id >= n.length) n = Arrays.copyOf(n, id + 1);
+        else n = n.clone();
+        n[id] = name;
+        names = n;
+        idsByKey.put(key(name), id);
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.service;
+
+import org.example.model.Expense;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Category Totals
+ * Paisa per category, kept in an array indexed by category id instead of a
+ * map keyed by name. Names are only looked up when a result is displayed.
+ */
+public class CategoryTotals {
+
+    private long[] totals;
+
+    public CategoryTotals() {
+        this(new long[CategoryRegistry.capacity()]);
+    }
+
+    /**
+     * Wrap totals already indexed by category id (not copied)
+     */
+    CategoryTotals(long[] totals) {
+        this.totals = totals;
+    }
+
+    public static CategoryTotals of(Iterable<Expense> expenses) {
+        CategoryTotals t = new CategoryTotals();
+        for (Expense e : expenses) {
+            t.add(e);
+        }
+        return t;
+    }
+
+    public void add(Expense e) {
+        int id = e.getCategoryId();
+        if (id == CategoryRegistry.UNKNOWN) {
+            id = CategoryRegistry.lookup(e.getCategory());
+        }
+        add(id, e.getAmountMinor());
+    }
+
+    public void add(int categoryId, long amountMinor) {
+        if (categoryId >= totals.length) {
+            // A category added after this was sized
+            totals = Arrays.copyOf(totals, Math.max(categoryId + 1, CategoryRegistry.capacity()));
+        }
+        totals[categoryId] += amountMinor;
+    }
+
+    public long get(int categoryId) {
+        return categoryId < totals.length ? totals[categoryId] : 0;
+    }
+
+    public long get(String name) {
+        return get(CategoryRegistry.lookup(name));
+    }
+
+    public boolean isEmpty() {
+        for (long t : totals) {
+            if (t != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Id of the largest category, or -1 if nothing was added
+     */
+    public int topCategoryId() {
+        int top = -1;
+        for (int id = 0; id < totals.length; id++) {
+            if (totals[id] != 0 && (top < 0 || totals[id] > totals[top])) top = id;
+        }
+        return top;
+    }
+
+    /**
+     * Categories with spending, largest first, keyed by display name
+     */
+    public Map<String, Long> toSortedMap() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < totals.length; id++) {
+            if (totals[id] != 0) ids.add(id);
+        }
+        ids.sort((a, b) -> Long.compare(totals[b], totals[a]));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int id : ids) {
+            result.put(CategoryRegistry.nameOf(id), totals[id]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,369 @@
+package org.example.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection Pool
+ * Keeps a bounded set of long-lived SQLite connections and hands them out
+ * through DatabaseHelper.getConnection(). Closing a borrowed connection
+ * returns it to the pool instead of closing the underlying file handle.
+ */
+public class ConnectionPool {
+
+    /**
+     * Pool settings. Defaults can be overridden with -Dexpense.db.pool.* system properties.
+     */
+    public static class Config {
+        public int maxSize = 4;
+        public long borrowTimeoutMillis = 10_000;
+        public int validationTimeoutSeconds = 2;
+        public long validateAfterIdleMillis = 30_000;
+        public long leakThresholdMillis = 30_000;
+        public boolean threadAffinity = true;
+        public int statementCacheSize = 64;
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.maxSize = Integer.getInteger("expense.db.pool.size", c.maxSize);
+            c.borrowTimeoutMillis = Long.getLong("expense.db.pool.borrowTimeoutMs", c.borrowTimeoutMillis);
+            c.validationTimeoutSeconds = Integer.getInteger("expense.db.pool.validationTimeoutSec", c.validationTimeoutSeconds);
+            c.validateAfterIdleMillis = Long.getLong("expense.db.pool.validateAfterIdleMs", c.validateAfterIdleMillis);
+            c.leakThresholdMillis = Long.getLong("expense.db.pool.leakThresholdMs", c.leakThresholdMillis);
+            c.threadAffinity = Boolean.parseBoolean(
+                    System.getProperty("expense.db.pool.threadAffinity", String.valueOf(c.threadAffinity)));
+            c.statementCacheSize = Integer.getInteger("expense.db.pool.statementCacheSize", c.statementCacheSize);
+            return c;
+        }
+    }
+
+    /**
+     * Per-connection setup run once when a physical connection is opened (e.g. PRAGMAs).
+     */
+    @FunctionalInterface
+    public interface Initializer {
+        void initialize(Connection conn) throws SQLException;
+    }
+
+    private final String url;
+    private final Config config;
+    private final Initializer initializer;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger physicalCount = new AtomicInteger();
+    private final ThreadLocal<PooledConnection> lastUsed = new ThreadLocal<>();
+    private final ScheduledExecutorService leakDetector;
+    private volatile QueryMetrics metrics;
+    private volatile boolean closed;
+
+    // Counters for getStats()
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong affinityHits = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong leaksReported = new AtomicLong();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+    public ConnectionPool(String url, Config config) {
+        this(url, config, conn -> {});
+    }
+
+    public ConnectionPool(String url, Config config, Initializer initializer) {
+        this.url = url;
+        this.config = config;
+        this.initializer = initializer;
+
+        if (config.leakThresholdMillis > 0) {
+            leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-pool-leak-detector");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = Math.max(1_000, config.leakThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            leakDetector = null;
+        }
+    }
+
+    /**
+     * Borrow a connection. The caller must close() it to hand it back.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        PooledConnection pc = null;
+        while (pc == null) {
+            pc = takeIdle();
+            if (pc == null) {
+                pc = createIfAllowed();
+            }
+            if (pc == null) {
+                waits.incrementAndGet();
+                try {
+                    pc = idle.pollFirst(config.borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (pc == null) {
+                    throw new SQLException("Timed out after " + config.borrowTimeoutMillis +
+                            " ms waiting for a database connection (" + getStats() + ")");
+                }
+            }
+            if (!validate(pc)) {
+                discard(pc);
+                pc = null;
+            }
+        }
+
+        pc.borrowedAt = System.currentTimeMillis();
+        pc.borrowedBy = Thread.currentThread().getName();
+        pc.borrowSite = config.leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+        pc.leakReported = false;
+        borrowed.add(pc);
+        borrows.incrementAndGet();
+        if (config.threadAffinity) {
+            lastUsed.set(pc);
+        }
+        return pc.newHandle();
+    }
+
+    private PooledConnection takeIdle() {
+        if (config.threadAffinity) {
+            PooledConnection preferred = lastUsed.get();
+            if (preferred != null && idle.remove(preferred)) {
+                affinityHits.incrementAndGet();
+                return preferred;
+            }
+        }
+        return idle.pollFirst();
+    }
+
+    private PooledConnection createIfAllowed() throws SQLException {
+        while (true) {
+            int current = physicalCount.get();
+            if (current >= config.maxSize) return null;
+            if (physicalCount.compareAndSet(current, current + 1)) break;
+        }
+        Connection physical = null;
+        try {
+            physical = DriverManager.getConnection(url);
+            initializer.initialize(physical);
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            physicalCount.decrementAndGet();
+            if (physical != null) {
+                try { physical.close(); } catch (SQLException ignored) {}
+            }
+            throw e;
+        }
+    }
+
+    private boolean validate(PooledConnection pc) {
+        try {
+            if (pc.physical.isClosed()) return false;
+            long idleFor = System.currentTimeMillis() - pc.lastReturnedAt;
+            if (pc.lastReturnedAt > 0 && idleFor > config.validateAfterIdleMillis) {
+                return pc.physical.isValid(config.validationTimeoutSeconds);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        discarded.incrementAndGet();
+        physicalCount.decrementAndGet();
+        if (lastUsed.get() == pc) lastUsed.remove();
+        if (pc.statements != null) pc.statements.closeAll();
+        try { pc.physical.close(); } catch (SQLException ignored) {}
+    }
+
+    private void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        pc.borrowSite = null;
+        try {
+            pc.closeOpenStatements();
+            if (pc.statements != null) pc.statements.resetAll();
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            pc.physical.clearWarnings();
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection after failed reset: " + e.getMessage());
+            discard(pc);
+            return;
+        }
+
+        pc.lastReturnedAt = System.currentTimeMillis();
+        if (closed) {
+            discard(pc);
+        } else {
+            // LIFO keeps the most recently used (warm) connections in play
+            idle.offerFirst(pc);
+        }
+    }
+
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection pc : borrowed) {
+            if (!pc.leakReported && now - pc.borrowedAt > config.leakThresholdMillis) {
+                pc.leakReported = true;
+                leaksReported.incrementAndGet();
+                System.err.println("⚠ Possible connection leak: held by thread '" + pc.borrowedBy +
+                        "' for " + (now - pc.borrowedAt) + " ms");
+                if (pc.borrowSite != null) {
+                    pc.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Record every statement run on connections borrowed from now on. Null turns it off.
+     */
+    public void setQueryMetrics(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Close all idle connections; borrowed ones are closed as they come back.
+     */
+    public void shutdown() {
+        closed = true;
+        if (leakDetector != null) leakDetector.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+    }
+
+    public String getStats() {
+        return String.format("size=%d/%d, idle=%d, active=%d, borrows=%d, affinityHits=%d, waits=%d, discarded=%d, leaks=%d, %s",
+                physicalCount.get(), config.maxSize, idle.size(), borrowed.size(), borrows.get(),
+                affinityHits.get(), waits.get(), discarded.get(), leaksReported.get(), statementCounters);
+    }
+
+    /**
+     * One physical connection plus the bookkeeping the pool needs.
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final List<Statement> openStatements = new ArrayList<>();
+        final StatementCache statements;
+        volatile long borrowedAt;
+        volatile long lastReturnedAt;
+        volatile String borrowedBy;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = config.statementCacheSize > 0
+                    ? new StatementCache(physical, config.statementCacheSize, statementCounters)
+                    : null;
+        }
+
+        Connection newHandle() {
+            QueryMetrics m = metrics;
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this, m != null ? m.tracker() : null));
+        }
+
+        void closeOpenStatements() {
+            // Services rarely close their statements; they used to die with the connection
+            for (Statement s : openStatements) {
+                try { s.close(); } catch (SQLException ignored) {}
+            }
+            openStatements.clear();
+        }
+    }
+
+    /**
+     * The Connection a caller sees. close() hands the physical connection back;
+     * any use after that fails instead of touching a connection someone else owns.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private final QueryMetrics.Tracker tracker;
+        private boolean returned;
+
+        Handle(PooledConnection pc, QueryMetrics.Tracker tracker) {
+            this.pc = pc;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        if (tracker != null) tracker.finishAll();
+                        release(pc);
+                    }
+                    return null;
+                case "commit":
+                case "rollback":
+                    if (tracker != null && !returned) tracker.finishAll();
+                    break;
+                case "isClosed":
+                    return returned || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + url + (returned ? ", returned" : "") + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (pc.statements != null && "prepareStatement".equals(method.getName())
+                    && args.length == 1) {
+                PreparedStatement cached = pc.statements.prepare((String) args[0]);
+                if (cached != null) {
+                    return tracker != null ? tracker.wrap(cached, (String) args[0]) : cached;
+                }
+            }
+            try {
+                Object result = method.invoke(pc.physical, args);
+                if (result instanceof Statement) {
+                    pc.openStatements.add((Statement) result);
+                    if (tracker != null) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return tracker.wrap((Statement) result, sql);
+                    }
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
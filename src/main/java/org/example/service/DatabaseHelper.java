@@ -1,8 +1,13 @@
 package org.example.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Database Helper Service
@@ -12,168 +17,190 @@ public class DatabaseHelper {
 
     private static final String DB_URL = "jdbc:sqlite:expense_tracker.db";
 
+    private static final ConnectionPool pool;
+    private static final ConnectionPool writerPool;
+    private static final WriteQueue writeQueue;
+    private static final QueryMetrics queryMetrics = new QueryMetrics();
+
+    static {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            pool = new ConnectionPool(DB_URL, ConnectionPool.Config.fromSystemProperties(),
+                    DatabaseHelper::configureConnection);
+
+            // The writer keeps one connection for its whole life; a single-slot pool gives it
+            // the same statement cache as readers. It is never "returned", so no leak checks.
+            ConnectionPool.Config writerConfig = ConnectionPool.Config.fromSystemProperties();
+            writerConfig.maxSize = 1;
+            writerConfig.threadAffinity = false;
+            writerConfig.leakThresholdMillis = 0;
+            writerPool = new ConnectionPool(DB_URL, writerConfig, DatabaseHelper::configureConnection);
+            if (Boolean.parseBoolean(System.getProperty("expense.db.metrics", "true"))) {
+                pool.setQueryMetrics(queryMetrics);
+                writerPool.setQueryMetrics(queryMetrics);
+
+                // Statements slower than the threshold go to logs/slow-queries.log; 0 disables
+                SlowQueryLog.Config slowConfig = SlowQueryLog.Config.fromSystemProperties();
+                if (slowConfig.thresholdMillis > 0) {
+                    queryMetrics.setSlowQueryLog(new SlowQueryLog(slowConfig));
+                }
+            }
+            writeQueue = new WriteQueue(writerPool.getConnection(),
+                    Integer.getInteger("expense.db.write.maxBatch", 256),
+                    Long.getLong("expense.db.write.maxDelayMicros", 2_000));
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Applied to every new physical connection.
+     * WAL lets readers run while the writer commits; synchronous=NORMAL is durable
+     * in WAL mode except on power loss, and only fsyncs at checkpoints.
+     */
+    private static void configureConnection(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("PRAGMA synchronous=NORMAL");
+            stmt.execute("PRAGMA busy_timeout=5000");
+        }
+    }
+
     /**
-     * Get database connection
+     * Get database connection.
+     * Connections come from a pool; close() returns them instead of closing the file.
      */
     public static Connection getConnection() throws Exception {
-        Class.forName("org.sqlite.JDBC");
-        return DriverManager.getConnection(DB_URL);
+        return pool.getConnection();
     }
 
     /**
-     * Initialize database tables
+     * Queue a write for the single writer thread. It is committed together with
+     * other writes that arrive within a short window; the future completes after commit.
      */
-    public static void initialize() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            // Create USERS table
-            String createUsersTable = """
-                CREATE TABLE IF NOT EXISTS USERS (
-                    user_id TEXT PRIMARY KEY,
-                    name TEXT NOT NULL,
-                    email TEXT UNIQUE NOT NULL,
-                    password TEXT NOT NULL,
-                    role TEXT NOT NULL DEFAULT 'normal'
-                )
-            """;
-            stmt.execute(createUsersTable);
-
-            // Create GROUPS table
-            String createGroupsTable = """
-                CREATE TABLE IF NOT EXISTS GROUPS (
-                    group_id TEXT PRIMARY KEY,
-                    group_name TEXT NOT NULL
-                )
-            """;
-            stmt.execute(createGroupsTable);
-
-            // Create GROUP_MEMBERS table with member role
-            String createGroupMembersTable = """
-                CREATE TABLE IF NOT EXISTS GROUP_MEMBERS (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    group_id TEXT NOT NULL,
-                    user_id TEXT NOT NULL,
-                    member_role TEXT NOT NULL DEFAULT 'member',
-                    joined_at TEXT,
-                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
-                    FOREIGN KEY (user_id) REFERENCES USERS(user_id)
-                )
-            """;
-            stmt.execute(createGroupMembersTable);
-
-            // Add member_role column if not exists (for migration)
-            try {
-                stmt.execute("ALTER TABLE GROUP_MEMBERS ADD COLUMN member_role TEXT NOT NULL DEFAULT 'member'");
-            } catch (Exception ignored) {} // Column may already exist
+    public static <T> CompletableFuture<T> writeAsync(WriteQueue.WriteCommand<T> command) {
+        return writeQueue.submit(command);
+    }
+
+    /**
+     * Run a write on the writer thread and wait for its commit.
+     */
+    public static <T> T write(WriteQueue.WriteCommand<T> command) throws Exception {
+        return await(writeAsync(command));
+    }
+
+    /**
+     * Wait for a queued write, rethrowing the original failure instead of a CompletionException
+     */
+    public static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Pool statistics, e.g. for diagnostics output
+     */
+    public static String getPoolStats() {
+        return "readers[" + pool.getStats() + "] writer[" + writerPool.getStats() + "]";
+    }
+
+    /**
+     * Per-statement call counts and latency histograms (-Dexpense.db.metrics=false disables)
+     */
+    public static QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
 
+    /**
+     * Write the query metrics report to a file, e.g. from a diagnostics action
+     */
+    public static void dumpQueryMetrics(Path file) throws IOException {
+        queryMetrics.dumpTo(file);
+    }
+
+    /**
+     * Flush pending writes and close pooled connections on application exit.
+     * With -Dexpense.db.metrics.dumpFile=path the query metrics are written there afterwards.
+     */
+    public static void shutdown() {
+        writeQueue.shutdown();
+        writerPool.shutdown();
+        pool.shutdown();
+
+        String dumpFile = System.getProperty("expense.db.metrics.dumpFile");
+        if (dumpFile != null && !dumpFile.isBlank()) {
             try {
-                stmt.execute("ALTER TABLE GROUP_MEMBERS ADD COLUMN joined_at TEXT");
-            } catch (Exception ignored) {} // Column may already exist
-
-            // Create EXPENSES table
-            String createExpensesTable = """
-                CREATE TABLE IF NOT EXISTS EXPENSES (
-                    expense_id TEXT PRIMARY KEY,
-                    user_id TEXT NOT NULL,
-                    group_id TEXT,
-                    category TEXT NOT NULL,
-                    amount REAL NOT NULL,
-                    date TEXT NOT NULL,
-                    note TEXT,
-                    FOREIGN KEY (user_id) REFERENCES USERS(user_id),
-                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
-                )
-            """;
-            stmt.execute(createExpensesTable);
-
-            // Create PARENT_RELATION table
-            String createParentRelationTable = """
-                CREATE TABLE IF NOT EXISTS PARENT_RELATION (
-                    parent_id TEXT NOT NULL,
-                    child_id TEXT NOT NULL,
-                    PRIMARY KEY (parent_id, child_id),
-                    FOREIGN KEY (parent_id) REFERENCES USERS(user_id),
-                    FOREIGN KEY (child_id) REFERENCES USERS(user_id)
-                )
-            """;
-            stmt.execute(createParentRelationTable);
-
-            // Create PARENT_INVITES table
-            String createParentInvitesTable = """
-                CREATE TABLE IF NOT EXISTS PARENT_INVITES (
-                    invite_id TEXT PRIMARY KEY,
-                    parent_id TEXT NOT NULL,
-                    child_id TEXT NOT NULL,
-                    status TEXT NOT NULL DEFAULT 'pending', -- 'pending','accepted','declined'
-                    created_at TEXT NOT NULL,
-                    FOREIGN KEY (parent_id) REFERENCES USERS(user_id),
-                    FOREIGN KEY (child_id) REFERENCES USERS(user_id)
-                )
-            """;
-            stmt.execute(createParentInvitesTable);
-
-            // Create GROUP_INVITES table
-            String createGroupInvitesTable = """
-                CREATE TABLE IF NOT EXISTS GROUP_INVITES (
-                    invite_id TEXT PRIMARY KEY,
-                    group_id TEXT NOT NULL,
-                    inviter_id TEXT NOT NULL,
-                    invitee_id TEXT NOT NULL,
-                    status TEXT NOT NULL DEFAULT 'pending', -- 'pending','accepted','declined'
-                    created_at TEXT NOT NULL,
-                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
-                    FOREIGN KEY (inviter_id) REFERENCES USERS(user_id),
-                    FOREIGN KEY (invitee_id) REFERENCES USERS(user_id)
-                )
-            """;
-            stmt.execute(createGroupInvitesTable);
-
-            // Create BUDGETS table (per-user monthly budget)
-            String createBudgetsTable = """
-                CREATE TABLE IF NOT EXISTS BUDGETS (
-                    user_id TEXT PRIMARY KEY,
-                    monthly_budget REAL NOT NULL DEFAULT 0,
-                    currency TEXT NOT NULL DEFAULT 'BDT',
-                    updated_at TEXT NOT NULL,
-                    FOREIGN KEY (user_id) REFERENCES USERS(user_id)
-                )
-            """;
-            stmt.execute(createBudgetsTable);
-
-            // Create GROUP_BUDGETS table (per-group monthly budget)
-            String createGroupBudgetsTable = """
-                CREATE TABLE IF NOT EXISTS GROUP_BUDGETS (
-                    group_id TEXT PRIMARY KEY,
-                    monthly_budget REAL NOT NULL DEFAULT 0,
-                    currency TEXT NOT NULL DEFAULT 'BDT',
-                    updated_at TEXT NOT NULL,
-                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
-                )
-            """;
-            stmt.execute(createGroupBudgetsTable);
-
-            // Create PARENT_CHILD_ALERTS table (for alerts from child to parent and suggestions from parent to child)
-            String createAlertsTable = """
-                CREATE TABLE IF NOT EXISTS PARENT_CHILD_ALERTS (
-                    alert_id TEXT PRIMARY KEY,
-                    from_user_id TEXT NOT NULL,
-                    to_user_id TEXT NOT NULL,
-                    type TEXT NOT NULL,
-                    message TEXT NOT NULL,
-                    created_at TEXT NOT NULL,
-                    read_status TEXT NOT NULL DEFAULT 'unread',
-                    FOREIGN KEY (from_user_id) REFERENCES USERS(user_id),
-                    FOREIGN KEY (to_user_id) REFERENCES USERS(user_id)
-                )
-            """;
-            stmt.execute(createAlertsTable);
-
-            System.out.println("Database initialized successfully");
+                dumpQueryMetrics(Path.of(dumpFile));
+            } catch (IOException e) {
+                System.err.println("Could not write query metrics: " + e.getMessage());
+            }
+        }
+    }
 
+    /**
+     * Initialize database tables.
+     * Runs any pending schema migrations; a database that is already current is left untouched.
+     * With -Dexpense.db.rebuildTotals=true the materialized expense totals and daily rollup
+     * are recomputed too.
+     */
+    public static void initialize() {
+        try (Connection conn = getConnection()) {
+            SchemaMigrator.migrate(conn);
+            seedIdGenerator(conn);
+            System.out.println("Database initialized successfully (schema v" + SchemaMigrator.currentVersion(conn) + ")");
         } catch (Exception e) {
             System.err.println("Error initializing database: " + e.getMessage());
             e.printStackTrace();
+            return;
+        }
+        if (Boolean.getBoolean("expense.db.rebuildTotals")) {
+            try {
+                System.out.println("Rebuilt EXPENSE_TOTALS: " + rebuildExpenseTotals() + " rows");
+                System.out.println("Rebuilt DAILY_ROLLUP: " + rebuildDailyRollup() + " rows");
+            } catch (Exception e) {
+                System.err.println("Error rebuilding expense totals and rollup: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Recompute EXPENSE_TOTALS from EXPENSES in one write transaction. The triggers keep it
+     * current on their own; this repairs it after rows were changed behind their back.
+     * Returns the number of total rows written.
+     */
+    public static int rebuildExpenseTotals() throws Exception {
+        return write(SchemaMigrator::rebuildExpenseTotals);
+    }
+
+    /**
+     * Recompute DAILY_ROLLUP from EXPENSES in one write transaction, like rebuildExpenseTotals().
+     * Returns the number of rollup rows written.
+     */
+    public static int rebuildDailyRollup() throws Exception {
+        return write(SchemaMigrator::rebuildDailyRollup);
+    }
+
+    /**
+     * Keep new keys above every stored one, even if the clock is behind the last run.
+     * MAX() of an INTEGER PRIMARY KEY is a single B-tree seek.
+     */
+    private static void seedIdGenerator(Connection conn) throws SQLException {
+        String query = "SELECT MAX(id) FROM (" +
+                "SELECT MAX(expense_id) AS id FROM EXPENSES " +
+                "UNION ALL SELECT MAX(alert_id) FROM PARENT_CHILD_ALERTS " +
+                "UNION ALL SELECT MAX(invite_id) FROM PARENT_INVITES " +
+                "UNION ALL SELECT MAX(invite_id) FROM GROUP_INVITES)";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            if (rs.next()) {
+                IdGenerator.advancePast(rs.getLong(1));
+            }
         }
     }
 }
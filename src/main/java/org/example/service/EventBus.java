@@ -0,0 +1,162 @@
+package org.example.service;
+
+import org.example.model.Expense;
+import org.example.model.Money;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Event Bus
+ * In-process notifications of committed changes, so aggregates, caches and alerting
+ * can update from what changed instead of recomputing everything. Services publish
+ * after the write has committed; nothing is published for a failed write.
+ *
+ * Synchronous subscribers run on the publishing thread (which may be the FX thread or
+ * a background one) before the service call returns. Asynchronous subscribers run on
+ * the given executor - a background thread by default, or AsyncServices.FX - and each
+ * receives its events one at a time, in publication order. A failing subscriber is
+ * logged and does not affect the publisher or the other subscribers.
+ */
+public class EventBus {
+
+    // ==== EVENTS ====
+
+    public sealed interface Event permits ExpenseAdded, ExpenseUpdated, ExpenseDeleted,
+            BudgetChanged, MemberJoined {
+    }
+
+    /**
+     * Expenses inserted together (one for a single add, many for an import), with their ids
+     */
+    public record ExpenseAdded(List<Expense> expenses) implements Event {
+    }
+
+    /**
+     * Expenses edited together; before.get(i) and after.get(i) are the same expense as it
+     * was read just before the write and as it is now
+     */
+    public record ExpenseUpdated(List<Expense> before, List<Expense> after) implements Event {
+    }
+
+    /**
+     * Expenses deleted together, as they were read just before the delete
+     */
+    public record ExpenseDeleted(List<Expense> expenses) implements Event {
+    }
+
+    /**
+     * A monthly budget was set. Exactly one of userId / groupId is non-null.
+     */
+    public record BudgetChanged(String userId, String groupId, Money budget) implements Event {
+    }
+
+    /**
+     * A user became a member of a group (including its creator, as admin)
+     */
+    public record MemberJoined(String groupId, String userId, String role) implements Event {
+    }
+
+    // ==== SUBSCRIPTIONS ====
+
+    /**
+     * Handle returned by subscribe; close() stops delivery (events already queued for an
+     * asynchronous subscriber may still arrive)
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Subscriber<E extends Event> {
+        final Class<E> type;
+        final Consumer<? super E> handler;
+        final Executor executor;        // null for synchronous subscribers
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        Subscriber(Class<E> type, Consumer<? super E> handler, Executor executor) {
+            this.type = type;
+            this.handler = handler;
+            this.executor = executor;
+        }
+
+        void deliver(Event event) {
+            if (!type.isInstance(event)) return;
+            E typed = type.cast(event);
+            if (executor == null) {
+                handle(typed);
+            } else {
+                // Chained, so this subscriber sees events in order even on a multi-threaded executor
+                synchronized (this) {
+                    tail = tail.thenRunAsync(() -> handle(typed), executor);
+                }
+            }
+        }
+
+        private void handle(E event) {
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                System.err.println("Event subscriber failed on " + event.getClass().getSimpleName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static final List<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Default for asynchronous subscribers: the service virtual threads
+    private static final Executor BACKGROUND = AsyncServices::run;
+
+    /**
+     * Handle events of the type (or Event.class for all of them) on the publishing thread
+     */
+    public static <E extends Event> Subscription subscribe(Class<E> type, Consumer<? super E> handler) {
+        return add(new Subscriber<>(type, handler, null));
+    }
+
+    /**
+     * Handle events of the type in the background, one at a time
+     */
+    public static <E extends Event> Subscription subscribeAsync(Class<E> type, Consumer<? super E> handler) {
+        return subscribeAsync(type, handler, BACKGROUND);
+    }
+
+    /**
+     * Handle events of the type on the executor (e.g. AsyncServices.FX), one at a time
+     */
+    public static <E extends Event> Subscription subscribeAsync(Class<E> type, Consumer<? super E> handler,
+                                                                Executor executor) {
+        return add(new Subscriber<>(type, handler, executor));
+    }
+
+    private static Subscription add(Subscriber<?> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Whether anyone listens for events of the type. Lets publishers skip work (such as
+     * reading rows before a delete) that only subscribers need.
+     */
+    public static boolean hasSubscribers(Class<? extends Event> type) {
+        for (Subscriber<?> subscriber : subscribers) {
+            if (subscriber.type.isAssignableFrom(type)) return true;
+        }
+        return false;
+    }
+
+    // ==== PUBLISHING ====
+
+    /**
+     * Deliver a committed change to every subscriber of its type
+     */
+    public static void publish(Event event) {
+        for (Subscriber<?> subscriber : subscribers) {
+            subscriber.deliver(event);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.example.model.Expense;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Expense Columns
+ * A scope's expenses as parallel primitive arrays - epoch day, amount in paisa,
+ * category id and a small per-snapshot user index - for AnalyticsEngine. Rows are
+ * ordered newest day first, so each day's expenses are adjacent. The snapshot does
+ * not follow later changes to the expenses it was built from.
+ */
+public final class ExpenseColumns {
+
+    final int size;
+    final int[] epochDay;
+    final long[] amountMinor;
+    // Category ids are small dictionary keys; read back with & 0xFFFF
+    final short[] categoryId;
+    final int[] user;
+    private final String[] userIds;
+
+    private ExpenseColumns(int size, int[] epochDay, long[] amountMinor, short[] categoryId,
+                           int[] user, String[] userIds) {
+        this.size = size;
+        this.epochDay = epochDay;
+        this.amountMinor = amountMinor;
+        this.categoryId = categoryId;
+        this.user = user;
+        this.userIds = userIds;
+    }
+
+    /**
+     * Copy the expenses into columns. Expense lists from the services are already newest
+     * first; anything else is sorted here so the analysis pass never has to.
+     */
+    public static ExpenseColumns of(Collection<? extends Expense> expenses) {
+        int n = expenses.size();
+        int[] days = new int[n];
+        long[] amounts = new long[n];
+        short[] categories = new short[n];
+        int[] users = new int[n];
+        Map<String, Integer> userIndex = new HashMap<>();
+
+        int i = 0;
+        boolean newestFirst = true;
+        for (Expense e : expenses) {
+            days[i] = e.getEpochDay();
+            amounts[i] = e.getAmountMinor();
+            categories[i] = toShort(categoryOf(e));
+            users[i] = userIndex.computeIfAbsent(e.getUserId() != null ? e.getUserId() : "", k -> userIndex.size());
+            if (i > 0 && days[i] > days[i - 1]) newestFirst = false;
+            i++;
+        }
+
+        String[] userIds = new String[userIndex.size()];
+        userIndex.forEach((id, index) -> userIds[index] = id);
+        ExpenseColumns columns = new ExpenseColumns(n, days, amounts, categories, users, userIds);
+        if (!newestFirst) columns.sortNewestFirst();
+        return columns;
+    }
+
+    private static int categoryOf(Expense e) {
+        int id = e.getCategoryId();
+        return id != CategoryRegistry.UNKNOWN ? id : CategoryRegistry.lookup(e.getCategory());
+    }
+
+    private static short toShort(int categoryId) {
+        if (categoryId < 0 || categoryId > 0xFFFF) {
+            throw new IllegalArgumentException("Category id out of range for columns: " + categoryId);
+        }
+        return (short) categoryId;
+    }
+
+    /**
+     * Stable sort by day descending: pack (day, original position) into longs and sort those
+     */
+    private void sortNewestFirst() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            // ~day falls as day rises, so ascending keys are newest first
+            keys[i] = (long) ~epochDay[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] days = epochDay.clone();
+        long[] amounts = amountMinor.clone();
+        short[] categories = categoryId.clone();
+        int[] users = user.clone();
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            epochDay[i] = days[from];
+            amountMinor[i] = amounts[from];
+            categoryId[i] = categories[from];
+            user[i] = users[from];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct users; indexes 0..userCount()-1 match AnalyticsEngine.Summary.byUser
+     */
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public String userId(int index) {
+        return userIds[index];
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.service;
+
+import javafx.collections.ListChangeListener;
+import org.example.model.Expense;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expense List Registry
+ * One ExpenseObservableList per scope - a user's personal expenses, a group's expenses,
+ * or all expenses - so screens showing different users or groups no longer share (and
+ * overwrite) a single list. Lists stay resident after their screen closes, so coming
+ * back to a recently viewed group or child is instant; ExpenseService keeps resident
+ * lists current as expenses are added, edited and deleted.
+ *
+ * Bounded by list count and by an estimate of the memory held by the rows; the least
+ * recently used lists are evicted first. Eviction only drops the registry's own reference:
+ * while a screen still holds an evicted list it keeps being updated, and the next lookup
+ * for its scope re-attaches it. Once nothing holds it, it is garbage collected.
+ */
+public class ExpenseListRegistry {
+
+    /**
+     * Registry limits. Defaults can be overridden with -Dexpense.lists.* system properties.
+     */
+    public static class Config {
+        public int maxLists = 16;
+        public long maxBytes = 32L * 1024 * 1024;
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.maxLists = Integer.getInteger("expense.lists.max", c.maxLists);
+            c.maxBytes = Long.getLong("expense.lists.maxBytes", c.maxBytes);
+            return c;
+        }
+    }
+
+    /**
+     * What a list holds: PERSONAL and GROUP are keyed by user / group id, ALL has no id
+     */
+    public enum Kind { PERSONAL, GROUP, ALL }
+
+    public record Scope(Kind kind, String id) {
+        public static final Scope ALL = new Scope(Kind.ALL, "");
+
+        public static Scope personal(String userId) {
+            return new Scope(Kind.PERSONAL, userId);
+        }
+
+        public static Scope group(String groupId) {
+            return new Scope(Kind.GROUP, groupId);
+        }
+
+        /**
+         * The scope an expense belongs to besides ALL
+         */
+        public static Scope of(Expense expense) {
+            String groupId = expense.getGroupId();
+            return groupId == null || groupId.isEmpty() ? personal(expense.getUserId()) : group(groupId);
+        }
+    }
+
+    // Rough per-row footprint: the Expense, its Money, id/user/date strings and list slot
+    private static final long ROW_BYTES = 320;
+
+    private static final class Entry {
+        final ExpenseObservableList list = new ExpenseObservableList();
+        long bytes;
+        boolean resident = true;
+    }
+
+    private final Config config;
+    // Access order: iteration starts at the least recently used list
+    private final LinkedHashMap<Scope, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted lists, reachable only through whoever still holds them
+    private final Map<Scope, WeakReference<Entry>> evicted = new HashMap<>();
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ExpenseListRegistry(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * The resident list for scope, or null if it has to be loaded first
+     */
+    public synchronized ExpenseObservableList find(Scope scope) {
+        Entry entry = entries.get(scope);
+        if (entry == null) entry = reattach(scope);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.list;
+    }
+
+    /**
+     * The list for scope, registering an empty one if there is none yet
+     */
+    public synchronized ExpenseObservableList obtain(Scope scope) {
+        Entry entry = entries.get(scope);
+        if (entry == null) entry = reattach(scope);
+        if (entry == null) {
+            Entry created = new Entry();
+            created.list.addListener((ListChangeListener<Expense>) change -> account(created, change));
+            entries.put(scope, created);
+            evictOverLimit(created);
+            entry = created;
+        }
+        return entry.list;
+    }
+
+    /**
+     * The list for scope that has to be kept current (or null), without counting a hit or
+     * miss: the resident one, which also counts as a use, or an evicted one still held
+     */
+    public synchronized ExpenseObservableList peek(Scope scope) {
+        Entry entry = entries.get(scope);
+        if (entry == null) entry = held(scope);
+        return entry != null ? entry.list : null;
+    }
+
+    /**
+     * Every list that has to be kept current - resident, or evicted but still held - for
+     * updates that can touch any of them
+     */
+    public synchronized List<ExpenseObservableList> resident() {
+        List<ExpenseObservableList> lists = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            lists.add(entry.list);
+        }
+        Iterator<WeakReference<Entry>> it = evicted.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().get();
+            if (entry == null) {
+                it.remove();
+            } else {
+                lists.add(entry.list);
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * Drop a list, e.g. once its group is deleted
+     */
+    public synchronized void remove(Scope scope) {
+        evicted.remove(scope);
+        Entry entry = entries.remove(scope);
+        if (entry != null) {
+            entry.resident = false;
+            totalBytes -= entry.bytes;
+        }
+    }
+
+    public synchronized String getStats() {
+        return String.format("lists=%d (max %d), ~%d KB (max %d KB), evicted still held=%d, hits=%d, misses=%d, evictions=%d",
+                entries.size(), config.maxLists, totalBytes / 1024, config.maxBytes / 1024,
+                evicted.size(), hits, misses, evictions);
+    }
+
+    // ==== EVICTED LISTS ====
+
+    /**
+     * The evicted entry for scope if something still holds its list, else null
+     */
+    private Entry held(Scope scope) {
+        WeakReference<Entry> ref = evicted.get(scope);
+        if (ref == null) return null;
+        Entry entry = ref.get();
+        if (entry == null) evicted.remove(scope);
+        return entry;
+    }
+
+    /**
+     * Make a held evicted list resident again; it was kept current, so it is reused as is
+     */
+    private Entry reattach(Scope scope) {
+        Entry entry = held(scope);
+        if (entry == null) return null;
+        evicted.remove(scope);
+        entry.resident = true;
+        totalBytes += entry.bytes;
+        entries.put(scope, entry);
+        evictOverLimit(entry);
+        return entry;
+    }
+
+    // ==== MEMORY ACCOUNTING ====
+
+    private void account(Entry entry, ListChangeListener.Change<? extends Expense> change) {
+        long delta = 0;
+        while (change.next()) {
+            if (change.wasPermutated()) continue;
+            for (Expense removed : change.getRemoved()) delta -= estimate(removed);
+            for (Expense added : change.getAddedSubList()) delta += estimate(added);
+        }
+        synchronized (this) {
+            entry.bytes += delta;
+            // An evicted list is still kept current for whoever holds it, but no longer counts
+            if (!entry.resident) return;
+            totalBytes += delta;
+            evictOverLimit(entry);
+        }
+    }
+
+    static long estimate(Expense expense) {
+        String note = expense.getNote();
+        return ROW_BYTES + (note != null ? 2L * note.length() : 0);
+    }
+
+    /**
+     * Evict least recently used lists until both limits hold; the list that just changed stays
+     */
+    private void evictOverLimit(Entry current) {
+        Iterator<Map.Entry<Scope, Entry>> it = entries.entrySet().iterator();
+        while ((entries.size() > config.maxLists || totalBytes > config.maxBytes) && it.hasNext()) {
+            Map.Entry<Scope, Entry> eldest = it.next();
+            if (eldest.getValue() == current) continue;
+            it.remove();
+            eldest.getValue().resident = false;
+            totalBytes -= eldest.getValue().bytes;
+            evicted.put(eldest.getKey(), new WeakReference<>(eldest.getValue()));
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.service;
+
+import javafx.collections.ModifiableObservableListBase;
+import org.example.model.Expense;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Expense Observable List
+ * An ObservableList of expenses that can be refreshed in place: applyDiff(rows) turns
+ * the current contents into rows with the fewest adds, removes and replacements,
+ * matched by expense id, and reports them as one change. A view already showing the
+ * list only redraws the rows that changed.
+ *
+ * Rows whose content is unchanged keep their existing Expense instance. Use from the
+ * FX thread only, like any list a view is bound to.
+ */
+public class ExpenseObservableList extends ModifiableObservableListBase<Expense> {
+
+    private List<Expense> rows = new ArrayList<>();
+
+    @Override
+    public Expense get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    protected void doAdd(int index, Expense element) {
+        rows.add(index, element);
+    }
+
+    @Override
+    protected Expense doSet(int index, Expense element) {
+        return rows.set(index, element);
+    }
+
+    @Override
+    protected Expense doRemove(int index) {
+        return rows.remove(index);
+    }
+
+    // ==== DIFF ====
+
+    /**
+     * Make the contents equal to target (same ids, same order), as one change.
+     * Rows that keep their relative order stay put (a longest increasing subsequence of
+     * their new positions); everything else is removed and added at its new index.
+     * Kept rows whose content differs are reported as replaced.
+     */
+    public void applyDiff(List<? extends Expense> target) {
+        List<Expense> old = rows;
+        Map<String, Integer> targetIndex = new HashMap<>(target.size() * 2);
+        for (int i = 0; i < target.size(); i++) {
+            targetIndex.put(target.get(i).getExpenseId(), i);
+        }
+
+        int[] newIndex = new int[old.size()];
+        for (int i = 0; i < old.size(); i++) {
+            newIndex[i] = targetIndex.getOrDefault(old.get(i).getExpenseId(), -1);
+        }
+        boolean[] stays = increasingRun(newIndex);
+
+        List<Expense> next = new ArrayList<>(target.size());
+        beginChange();
+        try {
+            // Removals from the end, so the indices of earlier rows are still valid
+            for (int i = old.size() - 1; i >= 0; i--) {
+                if (!stays[i]) nextRemove(i, old.get(i));
+            }
+
+            // The rows that stay are now in target order; fill in around them
+            int k = 0;
+            for (int i = 0; i < target.size(); i++) {
+                Expense want = target.get(i);
+                while (k < old.size() && !stays[k]) k++;
+                if (k < old.size() && newIndex[k] == i) {
+                    Expense have = old.get(k++);
+                    if (have == want || sameContent(have, want)) {
+                        next.add(have);
+                    } else {
+                        next.add(want);
+                        nextSet(i, have);
+                    }
+                } else {
+                    next.add(want);
+                    nextAdd(i, i + 1);
+                }
+            }
+            rows = next;
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Marks one longest strictly increasing subsequence of the non-negative entries
+     * (patience sorting, O(n log n))
+     */
+    private static boolean[] increasingRun(int[] values) {
+        int n = values.length;
+        int[] tails = new int[n];       // index into values of the smallest tail per length
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            if (values[i] < 0) continue;
+            int lo = 0, hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tails[mid]] < values[i]) lo = mid + 1; else hi = mid;
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) length++;
+        }
+
+        boolean[] marked = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            marked[i] = true;
+        }
+        return marked;
+    }
+
+    private static boolean sameContent(Expense a, Expense b) {
+        return a.getCategoryId() == b.getCategoryId()
+                && a.getAmountMinor() == b.getAmountMinor()
+                && a.getEpochDay() == b.getEpochDay()
+                && Objects.equals(a.getCategory(), b.getCategory())
+                && Objects.equals(a.getNote(), b.getNote())
+                && Objects.equals(a.getUserId(), b.getUserId())
+                && Objects.equals(a.getGroupId(), b.getGroupId());
+    }
+}
@@ -1,15 +1,29 @@
 package org.example.service;
 
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import org.example.model.DayRange;
 import org.example.model.Expense;
+import org.example.model.ExpensePage;
+import org.example.model.ExpenseTotals;
+import org.example.model.Money;
+import org.example.repository.Repositories;
+import org.example.service.EventBus.ExpenseAdded;
+import org.example.service.EventBus.ExpenseDeleted;
+import org.example.service.EventBus.ExpenseUpdated;
+import org.example.service.ExpenseListRegistry.Scope;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Expense Service with ObservableList support for real-time updates
@@ -17,64 +31,84 @@ import java.util.UUID;
  */
 public class ExpenseService {
 
-    // Observable lists for real-time updates
-    private static final ObservableList<Expense> personalExpensesList = FXCollections.observableArrayList();
-    private static final ObservableList<Expense> groupExpensesList = FXCollections.observableArrayList();
-    private static final ObservableList<Expense> allExpensesList = FXCollections.observableArrayList();
+    // Observable lists for real-time updates, one per user / group (plus all expenses).
+    // Refreshed by diff, so bound views only redraw changed rows; recently used lists stay resident.
+    private static final ExpenseListRegistry lists =
+            new ExpenseListRegistry(ExpenseListRegistry.Config.fromSystemProperties());
 
     /**
-     * Get personal expenses as ObservableList for real-time UI updates
+     * Get personal expenses as ObservableList for real-time UI updates.
+     * A list that is still resident is returned as is - it has been kept current.
      */
     public static ObservableList<Expense> getPersonalExpensesObservable(String userId) {
-        personalExpensesList.clear();
-        List<Expense> expenses = getPersonalExpenses(userId);
-        personalExpensesList.addAll(expenses);
-        return personalExpensesList;
+        ExpenseObservableList resident = lists.find(Scope.personal(userId));
+        if (resident != null) return resident;
+        return publishPersonalExpenses(userId, getPersonalExpenses(userId));
     }
 
     /**
      * Get group expenses as ObservableList for real-time UI updates
      */
     public static ObservableList<Expense> getGroupExpensesObservable(String groupId) {
-        groupExpensesList.clear();
-        List<Expense> expenses = getGroupExpenses(groupId);
-        groupExpensesList.addAll(expenses);
-        return groupExpensesList;
+        ExpenseObservableList resident = lists.find(Scope.group(groupId));
+        if (resident != null) return resident;
+        return publishGroupExpenses(groupId, getGroupExpenses(groupId));
+    }
+
+    /**
+     * Bring a user's personal list to these contents with one minimal change (added,
+     * removed and edited rows only). Call on the FX thread.
+     */
+    static ObservableList<Expense> publishPersonalExpenses(String userId, List<Expense> expenses) {
+        ExpenseObservableList list = lists.obtain(Scope.personal(userId));
+        list.applyDiff(expenses);
+        return list;
+    }
+
+    /**
+     * Bring a group's list to these contents with one minimal change. Call on the FX thread.
+     */
+    static ObservableList<Expense> publishGroupExpenses(String groupId, List<Expense> expenses) {
+        ExpenseObservableList list = lists.obtain(Scope.group(groupId));
+        list.applyDiff(expenses);
+        return list;
     }
 
 
     public static ObservableList<Expense> getAllExpensesObservable() {
-        allExpensesList.clear();
-        List<Expense> expenses = getAllExpenses();
-        allExpensesList.addAll(expenses);
-        return allExpensesList;
+        ExpenseObservableList list = lists.obtain(Scope.ALL);
+        list.applyDiff(getAllExpenses());
+        return list;
+    }
+
+    /**
+     * Delete all of a group's expenses (the group itself is being deleted) and drop its list
+     */
+    static void deleteGroupExpenses(String groupId) throws Exception {
+        List<Expense> before = EventBus.hasSubscribers(ExpenseDeleted.class)
+                ? Repositories.expenses().findGroup(groupId, DayRange.ALL) : List.of();
+        Repositories.expenses().deleteByGroup(groupId);
+        if (!before.isEmpty()) EventBus.publish(new ExpenseDeleted(before));
+        lists.remove(Scope.group(groupId));
+        ExpenseObservableList all = lists.peek(Scope.ALL);
+        if (all != null) {
+            all.removeIf(e -> groupId.equals(e.getGroupId()));
+        }
+    }
+
+    /**
+     * Resident list count, estimated memory and hit rate
+     */
+    public static String getListStats() {
+        return lists.getStats();
     }
     public static boolean addExpense(String userId, String groupId, String category,
-                                    double amount, String date, String note) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String expenseId = UUID.randomUUID().toString();
-            String query = "INSERT INTO EXPENSES (expense_id, user_id, group_id, category, amount, date, note) " +
-                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, expenseId);
-            stmt.setString(2, userId);
-            stmt.setString(3, groupId);
-            stmt.setString(4, category);
-            stmt.setDouble(5, amount);
-            stmt.setString(6, date);
-            stmt.setString(7, note);
-
-            int result = stmt.executeUpdate();
-
-            if (result > 0) {
-                Expense newExpense = new Expense(expenseId, userId, groupId, category, amount, date, note);
-                // Add to beginning for newest first
-                if (groupId == null || groupId.isEmpty()) {
-                    personalExpensesList.add(0, newExpense);
-                } else {
-                    groupExpensesList.add(0, newExpense);
-                }
-                allExpensesList.add(0, newExpense);
+                                    Money amount, String date, String note) {
+        try {
+            Expense newExpense = DatabaseHelper.await(insertExpense(userId, groupId, category, amount, date, note));
+            if (newExpense != null) {
+                addToLists(newExpense);
+                EventBus.publish(new ExpenseAdded(List.of(newExpense)));
                 return true;
             }
             return false;
@@ -84,28 +118,108 @@ public class ExpenseService {
         }
     }
 
+    /**
+     * Store a new expense; completes with it (carrying its id) once it is committed
+     */
+    private static CompletableFuture<Expense> insertExpense(String userId, String groupId, String category,
+                                                            Money amount, String date, String note) {
+        Expense expense;
+        try {
+            expense = newExpense(userId, groupId, category, amount, date, note);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return Repositories.expenses().insertAsync(expense);
+    }
+
+    /**
+     * Validated expense ready to insert: category resolved to its id, date checked
+     */
+    private static Expense newExpense(String userId, String groupId, String category,
+                                      Money amount, String date, String note) throws Exception {
+        Expense expense = new Expense(null, userId, groupId, category, amount, date, note);
+        expense.setCategoryId(CategoryRegistry.idFor(category));
+        requireEpochDay(date);
+        return expense;
+    }
+
+    /**
+     * Add many expenses in one transaction, then update the ObservableLists once.
+     * Rows that fail validation (bad date, missing category) are skipped and logged;
+     * the rest are committed together, or none of them if the insert fails.
+     * Returns the stored expenses with their ids.
+     */
+    public static List<Expense> addExpenses(List<Expense> expenses) {
+        List<Expense> valid = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            try {
+                valid.add(newExpense(expense.getUserId(), expense.getGroupId(), expense.getCategory(),
+                        expense.getAmount(), expense.getDate(), expense.getNote()));
+            } catch (Exception e) {
+                System.err.println("Skipping expense: " + e.getMessage());
+            }
+        }
+        try {
+            List<Expense> stored = Repositories.expenses().insertAll(valid);
+            addAllToLists(stored);
+            if (!stored.isEmpty()) EventBus.publish(new ExpenseAdded(stored));
+            return stored;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Add a newly inserted expense to the resident lists it belongs to (newest first)
+     */
+    private static void addToLists(Expense newExpense) {
+        ExpenseObservableList scoped = lists.peek(Scope.of(newExpense));
+        if (scoped != null) scoped.add(0, newExpense);
+        ExpenseObservableList all = lists.peek(Scope.ALL);
+        if (all != null) all.add(0, newExpense);
+    }
+
+    /**
+     * Add a batch of inserted expenses with one change per resident list (newest first)
+     */
+    private static void addAllToLists(List<Expense> added) {
+        if (added.isEmpty()) return;
+        List<Expense> newestFirst = new ArrayList<>(added);
+        newestFirst.sort(Comparator.comparingInt(Expense::getEpochDay)
+                .thenComparingLong(e -> IdGenerator.parse(e.getExpenseId()))
+                .reversed());
+
+        Map<Scope, List<Expense>> byScope = new LinkedHashMap<>();
+        for (Expense expense : newestFirst) {
+            byScope.computeIfAbsent(Scope.of(expense), s -> new ArrayList<>()).add(expense);
+        }
+        byScope.forEach((scope, rows) -> {
+            ExpenseObservableList scoped = lists.peek(scope);
+            if (scoped != null) scoped.addAll(0, rows);
+        });
+        ExpenseObservableList all = lists.peek(Scope.ALL);
+        if (all != null) all.addAll(0, newestFirst);
+    }
+
     /**
      * Update an existing expense and auto-update ObservableLists
      */
     public static boolean updateExpense(String expenseId, String category,
-                                       double amount, String date, String note) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "UPDATE EXPENSES SET category = ?, amount = ?, date = ?, note = ? " +
-                          "WHERE expense_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, category);
-            stmt.setDouble(2, amount);
-            stmt.setString(3, date);
-            stmt.setString(4, note);
-            stmt.setString(5, expenseId);
-
-            int rowsAffected = stmt.executeUpdate();
-
-            if (rowsAffected > 0) {
-                // Update in all ObservableLists
-                updateExpenseInList(personalExpensesList, expenseId, category, amount, date, note);
-                updateExpenseInList(groupExpensesList, expenseId, category, amount, date, note);
-                updateExpenseInList(allExpensesList, expenseId, category, amount, date, note);
+                                       Money amount, String date, String note) {
+        try {
+            int categoryId = CategoryRegistry.idFor(category);
+            Expense changes = new Expense(expenseId, null, null, category, amount, date, note);
+            changes.setCategoryId(categoryId);
+            requireEpochDay(date);
+
+            List<Expense> before = rowsForEvent(ExpenseUpdated.class, List.of(expenseId));
+            if (Repositories.expenses().update(changes)) {
+                // Update in all resident ObservableLists
+                for (ExpenseObservableList list : lists.resident()) {
+                    updateExpenseInList(list, expenseId, categoryId, amount, date, note);
+                }
+                publishUpdated(before, Map.of(expenseId, changes));
                 return true;
             }
             return false;
@@ -119,18 +233,15 @@ public class ExpenseService {
      * Delete an expense and auto-update ObservableLists
      */
     public static boolean deleteExpense(String expenseId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "DELETE FROM EXPENSES WHERE expense_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, expenseId);
-
-            int rowsAffected = stmt.executeUpdate();
-
-            if (rowsAffected > 0) {
-                // Remove from all ObservableLists
-                personalExpensesList.removeIf(e -> e.getExpenseId().equals(expenseId));
-                groupExpensesList.removeIf(e -> e.getExpenseId().equals(expenseId));
-                allExpensesList.removeIf(e -> e.getExpenseId().equals(expenseId));
+        try {
+            List<Expense> before = rowsForEvent(ExpenseDeleted.class, List.of(expenseId));
+            if (Repositories.expenses().delete(expenseId)) {
+                // Remove from all resident ObservableLists
+                Set<String> ids = Set.of(expenseId);
+                for (ExpenseObservableList list : lists.resident()) {
+                    removeFromList(list, ids);
+                }
+                if (!before.isEmpty()) EventBus.publish(new ExpenseDeleted(before));
                 return true;
             }
             return false;
@@ -140,19 +251,117 @@ public class ExpenseService {
         }
     }
 
+    /**
+     * Update many expenses in one transaction, then apply the changes to each
+     * ObservableList as a single change. Each entry carries an expense id and the new
+     * category, amount, date and note. Nothing is changed if any entry is invalid.
+     * Returns how many expenses were updated.
+     */
+    public static int updateExpenses(List<Expense> changes) {
+        try {
+            Map<String, Expense> byId = new HashMap<>();
+            for (Expense change : changes) {
+                Expense normalized = new Expense(change.getExpenseId(), null, null, change.getCategory(),
+                        change.getAmount(), change.getDate(), change.getNote());
+                normalized.setCategoryId(CategoryRegistry.idFor(change.getCategory()));
+                requireEpochDay(change.getDate());
+                byId.put(change.getExpenseId(), normalized);
+            }
+            List<Expense> before = rowsForEvent(ExpenseUpdated.class, byId.keySet());
+            int updated = Repositories.expenses().updateAll(new ArrayList<>(byId.values()));
+            for (ExpenseObservableList list : lists.resident()) {
+                replaceInList(list, byId);
+            }
+            publishUpdated(before, byId);
+            return updated;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Move every given expense to another category in one transaction. Only the category
+     * is written; amount, date and note stay as stored. Returns how many were updated.
+     */
+    public static int updateExpensesCategory(Collection<String> expenseIds, String category) {
+        try {
+            int categoryId = CategoryRegistry.idFor(category);
+            Set<String> ids = new HashSet<>(expenseIds);
+            List<Expense> before = rowsForEvent(ExpenseUpdated.class, ids);
+            int updated = Repositories.expenses().updateCategory(ids, categoryId);
+            for (ExpenseObservableList list : lists.resident()) {
+                recategorizeInList(list, ids, categoryId);
+            }
+            if (!before.isEmpty()) {
+                List<Expense> after = new ArrayList<>(before.size());
+                for (Expense old : before) {
+                    after.add(withCategory(old, categoryId));
+                }
+                EventBus.publish(new ExpenseUpdated(before, after));
+            }
+            return updated;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Delete many expenses in one transaction and remove them from each ObservableList
+     * as a single change. Returns how many expenses were deleted.
+     */
+    public static int deleteExpenses(Collection<String> expenseIds) {
+        try {
+            Set<String> ids = new HashSet<>(expenseIds);
+            List<Expense> before = rowsForEvent(ExpenseDeleted.class, ids);
+            int deleted = Repositories.expenses().deleteAll(ids);
+            for (ExpenseObservableList list : lists.resident()) {
+                removeFromList(list, ids);
+            }
+            if (!before.isEmpty()) EventBus.publish(new ExpenseDeleted(before));
+            return deleted;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    // ==== EVENTS ====
+
+    /**
+     * The stored rows for ids, read before a write so its event can say what changed.
+     * One findByIds() for the whole batch; skipped (empty) when nobody subscribes to the event.
+     */
+    private static List<Expense> rowsForEvent(Class<? extends EventBus.Event> type,
+                                              Collection<String> expenseIds) throws Exception {
+        if (!EventBus.hasSubscribers(type)) return new ArrayList<>();
+        return Repositories.expenses().findByIds(expenseIds);
+    }
+
+    /**
+     * Publish ExpenseUpdated for the rows read before the update, with the changes applied
+     */
+    private static void publishUpdated(List<Expense> before, Map<String, Expense> changes) {
+        if (before.isEmpty()) return;
+        List<Expense> after = new ArrayList<>(before.size());
+        for (Expense old : before) {
+            Expense change = changes.get(old.getExpenseId());
+            Expense updated = new Expense(old.getExpenseId(), old.getUserId(), old.getGroupId(),
+                    CategoryRegistry.nameOf(change.getCategoryId()), change.getAmount(), change.getDate(),
+                    change.getNote());
+            updated.setCategoryId(change.getCategoryId());
+            after.add(updated);
+        }
+        EventBus.publish(new ExpenseUpdated(before, after));
+    }
+
     /**
      * Get expense by ID
      */
     public static Expense getExpenseById(String expenseId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM EXPENSES WHERE expense_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, expenseId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return createExpenseFromResultSet(rs);
-            }
+        try {
+            return Repositories.expenses().findById(expenseId);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -162,125 +371,214 @@ public class ExpenseService {
     /**
      * Get total expenses for a user
      */
-    public static double getTotalExpenses(String userId) {
-        double total = 0.0;
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT SUM(amount) as total FROM EXPENSES WHERE user_id = ? AND (group_id IS NULL OR group_id = '')";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                total = rs.getDouble("total");
-            }
+    public static Money getTotalExpenses(String userId) {
+        long total = 0;
+        try {
+            total = Repositories.expenses().personalTotalMinor(userId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return total;
+        return Money.ofMinor(total);
     }
 
     /**
      * Get total expenses for a group
      */
-    public static double getGroupTotalExpenses(String groupId) {
-        double total = 0.0;
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT SUM(amount) as total FROM EXPENSES WHERE group_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                total = rs.getDouble("total");
-            }
+    public static Money getGroupTotalExpenses(String groupId) {
+        long total = 0;
+        try {
+            total = Repositories.expenses().groupTotalMinor(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return total;
+        return Money.ofMinor(total);
     }
 
     /**
      * Get all personal expenses for a user
      */
-    private static List<Expense> getPersonalExpenses(String userId) {
-        List<Expense> expenses = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM EXPENSES WHERE user_id = ? AND (group_id IS NULL OR group_id = '') ORDER BY date DESC";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
+    static List<Expense> getPersonalExpenses(String userId) {
+        return getPersonalExpensesBetween(userId, DayRange.ALL);
+    }
 
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                expenses.add(createExpenseFromResultSet(rs));
-            }
+    /**
+     * Get all expenses for a group
+     */
+    static List<Expense> getGroupExpenses(String groupId) {
+        return getGroupExpensesBetween(groupId, DayRange.ALL);
+    }
+
+    /**
+     * Personal expenses dated within range (an index range scan on epoch_day)
+     */
+    public static List<Expense> getPersonalExpensesBetween(String userId, DayRange range) {
+        try {
+            return Repositories.expenses().findPersonal(userId, range);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return expenses;
+        return new ArrayList<>();
     }
 
     /**
-     * Get all expenses for a group
+     * Group expenses dated within range (an index range scan on epoch_day)
      */
-    private static List<Expense> getGroupExpenses(String groupId) {
-        List<Expense> expenses = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM EXPENSES WHERE group_id = ? ORDER BY date DESC";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
+    public static List<Expense> getGroupExpensesBetween(String groupId, DayRange range) {
+        try {
+            return Repositories.expenses().findGroup(groupId, range);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
 
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                expenses.add(createExpenseFromResultSet(rs));
-            }
+    /**
+     * One page of a user's personal expenses, newest first. categoryId may be
+     * ExpenseRepository.ANY_CATEGORY; pass ExpensePage.Cursor.START for the first page.
+     */
+    public static ExpensePage getPersonalExpensesPage(String userId, DayRange range, int categoryId,
+                                                      ExpensePage.Cursor after, int pageSize) {
+        try {
+            return Repositories.expenses().findPersonalPage(userId, range, categoryId, after, pageSize);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ExpensePage.of(new ArrayList<>(), pageSize);
+    }
+
+    /**
+     * One page of a group's expenses, newest first
+     */
+    public static ExpensePage getGroupExpensesPage(String groupId, DayRange range, int categoryId,
+                                                   ExpensePage.Cursor after, int pageSize) {
+        try {
+            return Repositories.expenses().findGroupPage(groupId, range, categoryId, after, pageSize);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ExpensePage.of(new ArrayList<>(), pageSize);
+    }
+
+    /**
+     * Count and total of a user's personal expenses within range, without loading them
+     */
+    public static ExpenseTotals getPersonalTotals(String userId, DayRange range) {
+        try {
+            return Repositories.expenses().personalTotals(userId, range);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ExpenseTotals.EMPTY;
+    }
+
+    /**
+     * Count and total of a group's expenses within range, without loading them
+     */
+    public static ExpenseTotals getGroupTotals(String groupId, DayRange range) {
+        try {
+            return Repositories.expenses().groupTotals(groupId, range);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ExpenseTotals.EMPTY;
+    }
+
+    /**
+     * Count and total of each member's expenses in a group within range, by user id
+     */
+    public static Map<String, ExpenseTotals> getGroupMemberTotals(String groupId, DayRange range) {
+        try {
+            return Repositories.expenses().memberTotals(groupId, range);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return expenses;
+        return new HashMap<>();
     }
 
     /**
      * Get all expenses
      */
     private static List<Expense> getAllExpenses() {
-        List<Expense> expenses = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM EXPENSES ORDER BY date DESC";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                expenses.add(createExpenseFromResultSet(rs));
-            }
+        try {
+            return Repositories.expenses().findAll();
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return expenses;
+        return new ArrayList<>();
     }
 
     /**
-     * Helper method to create Expense from ResultSet
+     * Dates are validated before they reach the repository; a bad one fails that insert/update only
      */
-    private static Expense createExpenseFromResultSet(ResultSet rs) throws java.sql.SQLException {
-        Expense expense = new Expense();
-        expense.setExpenseId(rs.getString("expense_id"));
-        expense.setUserId(rs.getString("user_id"));
-        expense.setGroupId(rs.getString("group_id"));
-        expense.setCategory(rs.getString("category"));
-        expense.setAmount(rs.getDouble("amount"));
-        expense.setDate(rs.getString("date"));
-        expense.setNote(rs.getString("note"));
-        return expense;
+    private static int requireEpochDay(String date) {
+        int day = Expense.parseEpochDay(date);
+        if (day == Expense.NO_DATE) {
+            throw new IllegalArgumentException("Invalid expense date: " + date);
+        }
+        return day;
+    }
+
+    /**
+     * Apply changes (by expense id) to copies of the matching rows and diff them in,
+     * so only those rows are reported as replaced
+     */
+    private static void replaceInList(ExpenseObservableList list, Map<String, Expense> changes) {
+        List<Expense> rows = null;
+        for (int i = 0; i < list.size(); i++) {
+            Expense row = list.get(i);
+            Expense change = changes.get(row.getExpenseId());
+            if (change == null) continue;
+            if (rows == null) rows = new ArrayList<>(list);
+            Expense updated = new Expense(row.getExpenseId(), row.getUserId(), row.getGroupId(),
+                    CategoryRegistry.nameOf(change.getCategoryId()), change.getAmount(), change.getDate(), change.getNote());
+            updated.setCategoryId(change.getCategoryId());
+            rows.set(i, updated);
+        }
+        if (rows != null) list.applyDiff(rows);
+    }
+
+    /**
+     * Copies of the matching rows with the new category, diffed in like replaceInList()
+     */
+    private static void recategorizeInList(ExpenseObservableList list, Set<String> expenseIds, int categoryId) {
+        List<Expense> rows = null;
+        for (int i = 0; i < list.size(); i++) {
+            Expense row = list.get(i);
+            if (!expenseIds.contains(row.getExpenseId())) continue;
+            if (rows == null) rows = new ArrayList<>(list);
+            rows.set(i, withCategory(row, categoryId));
+        }
+        if (rows != null) list.applyDiff(rows);
+    }
+
+    private static Expense withCategory(Expense row, int categoryId) {
+        Expense copy = new Expense(row.getExpenseId(), row.getUserId(), row.getGroupId(),
+                CategoryRegistry.nameOf(categoryId), row.getAmount(), row.getDate(), row.getNote());
+        copy.setCategoryId(categoryId);
+        return copy;
+    }
+
+    /**
+     * One removeAll over the matching rows - a single change instead of one per row
+     */
+    private static void removeFromList(ObservableList<Expense> list, Set<String> expenseIds) {
+        Set<Expense> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Expense row : list) {
+            if (expenseIds.contains(row.getExpenseId())) matches.add(row);
+        }
+        if (!matches.isEmpty()) list.removeAll(matches);
     }
 
     /**
      * Helper method to update expense in a list
      */
     private static void updateExpenseInList(ObservableList<Expense> list, String expenseId,
-                                           String category, double amount, String date, String note) {
+                                           int categoryId, Money amount, String date, String note) {
         for (int i = 0; i < list.size(); i++) {
             if (list.get(i).getExpenseId().equals(expenseId)) {
                 Expense updated = list.get(i);
-                updated.setCategory(category);
+                updated.setCategory(CategoryRegistry.nameOf(categoryId));
+                updated.setCategoryId(categoryId);
                 updated.setAmount(amount);
                 updated.setDate(date);
                 updated.setNote(note);
@@ -291,37 +589,29 @@ public class ExpenseService {
     }
 
     /**
-     * Refresh personal expenses for a user
+     * Reload personal expenses for a user, even if the list is resident
      */
     public static void refreshPersonalExpenses(String userId) {
-        getPersonalExpensesObservable(userId);
+        publishPersonalExpenses(userId, getPersonalExpenses(userId));
     }
 
     /**
-     * Refresh group expenses
+     * Reload group expenses, even if the list is resident
      */
     public static void refreshGroupExpenses(String groupId) {
-        getGroupExpensesObservable(groupId);
+        publishGroupExpenses(groupId, getGroupExpenses(groupId));
     }
 
     /**
      * Get all expenses for a specific user within a group.
      */
     public static List<Expense> getGroupExpensesByUser(String groupId, String userId) {
-        List<Expense> expenses = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM EXPENSES WHERE group_id = ? AND user_id = ? ORDER BY date DESC";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, userId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                expenses.add(createExpenseFromResultSet(rs));
-            }
+        try {
+            return Repositories.expenses().findGroupByUser(groupId, userId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return expenses;
+        return new ArrayList<>();
     }
 
     // ==================== JSON EXPORT/IMPORT OPERATIONS ====================
@@ -357,20 +647,13 @@ public class ExpenseService {
         List<Expense> expenses = JsonService.importExpensesFromJson(filePath);
         if (expenses == null) return 0;
 
-        int count = 0;
+        // Rows without an owner belong to the importing user
         for (Expense expense : expenses) {
-            String userId = expense.getUserId() != null ? expense.getUserId() : defaultUserId;
-            boolean added = addExpense(
-                userId,
-                expense.getGroupId(),
-                expense.getCategory(),
-                expense.getAmount(),
-                expense.getDate(),
-                expense.getNote()
-            );
-            if (added) count++;
+            if (expense.getUserId() == null) {
+                expense.setUserId(defaultUserId);
+            }
         }
-        return count;
+        return addExpenses(expenses).size();
     }
 
     /**
@@ -1,35 +1,25 @@
+
 package org.example.service;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.time.LocalDateTime;
+import org.example.model.Money;
+import org.example.repository.Repositories;
 
 /**
  * Group Budget Service: store and fetch per-group monthly budget in BDT.
  */
 public class GroupBudgetService {
 
-    public static double getMonthlyBudget(String groupId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("SELECT monthly_budget FROM GROUP_BUDGETS WHERE group_id = ?");
-            ps.setString(1, groupId);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) return rs.getDouble(1);
+    public static Money getMonthlyBudget(String groupId) {
+        try {
+            return Money.ofMinor(Repositories.groups().monthlyBudgetMinor(groupId));
         } catch (Exception e) { e.printStackTrace(); }
-        return 0.0;
+        return Money.ZERO;
     }
 
-    public static void setMonthlyBudget(String groupId, double amountBDT) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement(
-                    "INSERT INTO GROUP_BUDGETS (group_id, monthly_budget, currency, updated_at) VALUES (?, ?, 'BDT', ?) " +
-                    "ON CONFLICT(group_id) DO UPDATE SET monthly_budget = excluded.monthly_budget, updated_at = excluded.updated_at");
-            ps.setString(1, groupId);
-            ps.setDouble(2, amountBDT);
-            ps.setString(3, LocalDateTime.now().toString());
-            ps.executeUpdate();
+    public static void setMonthlyBudget(String groupId, Money amount) {
+        try {
+            Repositories.groups().setMonthlyBudget(groupId, amount.getMinor());
+            EventBus.publish(new EventBus.BudgetChanged(null, groupId, amount));
         } catch (Exception e) { e.printStackTrace(); }
     }
 }
-
@@ -0,0 +1,192 @@
+package org.example.service;
+
+import org.example.model.DayRange;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Group Member Analytics
+ * Per-member figures for a group - spending in a window, spending in a comparison
+ * window, category mix and rank - computed in parallel over ExpenseColumns.
+ *
+ * The rows of the two windows are found by binary search (columns are newest day
+ * first) and split into ranges on the common fork-join pool. Each task sums its
+ * rows into arrays indexed by member, and by member and category; sibling results
+ * are added together on the way back up, so no array is shared between threads.
+ */
+public class GroupMemberAnalytics {
+
+    // Rows per leaf task; smaller ranges cost more to fork than to sum
+    private static final int LEAF_ROWS = 32_768;
+
+    /**
+     * One member's figures. Amounts are paisa; categories cover the window.
+     */
+    public record MemberStats(String userId, int rank, int count, long totalMinor, long previousMinor,
+                              CategoryTotals categories) {
+
+        /**
+         * Change against the comparison window in percent, or null if nothing was spent then
+         */
+        public Double trendPercent() {
+            return previousMinor > 0 ? (totalMinor - previousMinor) * 100.0 / previousMinor : null;
+        }
+    }
+
+    /**
+     * Members with spending in the window, highest first, and the group figures they add up to
+     */
+    public record Result(List<MemberStats> members, long totalMinor, long previousMinor, CategoryTotals categories) {
+    }
+
+    public static Result compute(ExpenseColumns columns, DayRange window, DayRange previous) {
+        int users = columns.userCount();
+        // Newest first: the span starts at the later window's last day and ends after the earlier one's first
+        int from = firstRowOnOrBefore(columns, Math.max(window.last(), previous.last()));
+        int to = firstRowOnOrBefore(columns, Math.min(window.first(), previous.first()) - 1);
+        int width = Math.max(CategoryRegistry.capacity(), maxCategory(columns, from, to) + 1);
+
+        Partial sums = from < to
+                ? ForkJoinPool.commonPool().invoke(new SumTask(columns, window, previous, width, from, to))
+                : new Partial(users, width);
+
+        // Per-member results are independent; build them in parallel too
+        List<MemberStats> members = IntStream.range(0, users).parallel()
+                .filter(u -> sums.count[u] > 0 && !columns.userId(u).isEmpty())
+                .mapToObj(u -> new MemberStats(columns.userId(u), 0, sums.count[u], sums.total[u], sums.previous[u],
+                        new CategoryTotals(Arrays.copyOfRange(sums.categories, u * width, (u + 1) * width))))
+                .sorted(Comparator.comparingLong(MemberStats::totalMinor).reversed()
+                        .thenComparing(MemberStats::userId))
+                .toList();
+
+        long[] groupCategories = new long[width];
+        long total = 0;
+        long previousTotal = 0;
+        for (int u = 0; u < users; u++) {
+            total += sums.total[u];
+            previousTotal += sums.previous[u];
+            for (int c = 0; c < width; c++) {
+                groupCategories[c] += sums.categories[u * width + c];
+            }
+        }
+        return new Result(ranked(members), total, previousTotal, new CategoryTotals(groupCategories));
+    }
+
+    private static List<MemberStats> ranked(List<MemberStats> sorted) {
+        return IntStream.range(0, sorted.size())
+                .mapToObj(i -> {
+                    MemberStats m = sorted.get(i);
+                    return new MemberStats(m.userId(), i + 1, m.count(), m.totalMinor(), m.previousMinor(), m.categories());
+                })
+                .toList();
+    }
+
+    // ==== FORK-JOIN ====
+
+    /**
+     * Sums of one row range, indexed by member (categories by member * width + category)
+     */
+    private static final class Partial {
+        final int[] count;
+        final long[] total;
+        final long[] previous;
+        final long[] categories;
+
+        Partial(int users, int width) {
+            count = new int[users];
+            total = new long[users];
+            previous = new long[users];
+            categories = new long[users * width];
+        }
+
+        Partial plus(Partial other) {
+            for (int u = 0; u < count.length; u++) {
+                count[u] += other.count[u];
+                total[u] += other.total[u];
+                previous[u] += other.previous[u];
+            }
+            for (int i = 0; i < categories.length; i++) {
+                categories[i] += other.categories[i];
+            }
+            return this;
+        }
+    }
+
+    // Fork-join tasks are never serialized
+    @SuppressWarnings("serial")
+    private static final class SumTask extends RecursiveTask<Partial> {
+        private final ExpenseColumns columns;
+        private final DayRange window;
+        private final DayRange previous;
+        private final int width;
+        private final int from;
+        private final int to;
+
+        SumTask(ExpenseColumns columns, DayRange window, DayRange previous, int width, int from, int to) {
+            this.columns = columns;
+            this.window = window;
+            this.previous = previous;
+            this.width = width;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF_ROWS) return sum();
+            int mid = (from + to) >>> 1;
+            SumTask left = new SumTask(columns, window, previous, width, from, mid);
+            left.fork();
+            Partial right = new SumTask(columns, window, previous, width, mid, to).compute();
+            return left.join().plus(right);
+        }
+
+        private Partial sum() {
+            Partial p = new Partial(columns.userCount(), width);
+            int[] days = columns.epochDay;
+            long[] amounts = columns.amountMinor;
+            short[] categoryIds = columns.categoryId;
+            int[] users = columns.user;
+            for (int i = from; i < to; i++) {
+                int d = days[i];
+                int u = users[i];
+                if (window.contains(d)) {
+                    p.count[u]++;
+                    p.total[u] += amounts[i];
+                    p.categories[u * width + (categoryIds[i] & 0xFFFF)] += amounts[i];
+                } else if (previous.contains(d)) {
+                    p.previous[u] += amounts[i];
+                }
+            }
+            return p;
+        }
+    }
+
+    // ==== HELPERS ====
+
+    /**
+     * Index of the first row dated on or before day (size if none); rows are newest first
+     */
+    private static int firstRowOnOrBefore(ExpenseColumns columns, int day) {
+        int lo = 0;
+        int hi = columns.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (columns.epochDay[mid] > day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int maxCategory(ExpenseColumns columns, int from, int to) {
+        return IntStream.range(from, to).parallel()
+                .map(i -> columns.categoryId[i] & 0xFFFF)
+                .max()
+                .orElse(0);
+    }
+}
@@ -5,10 +5,8 @@ import javafx.collections.ObservableList;
 import org.example.model.Group;
 import org.example.model.GroupMember;
 import org.example.model.User;
+import org.example.repository.Repositories;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -48,34 +46,19 @@ public class GroupService {
      * Create a new group - Creator becomes admin automatically
      */
     public static boolean createGroup(String groupName, String creatorUserId) {
-        Connection conn = null;
         try {
-            conn = DatabaseHelper.getConnection();
-            conn.setAutoCommit(true);
-
             String groupId = UUID.randomUUID().toString();
             String now = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
 
-            // Insert group
-            String groupQuery = "INSERT INTO GROUPS (group_id, group_name) VALUES (?, ?)";
-            PreparedStatement groupStmt = conn.prepareStatement(groupQuery);
-            groupStmt.setString(1, groupId);
-            groupStmt.setString(2, groupName);
-            groupStmt.executeUpdate();
-            groupStmt.close();
-
-            // Add creator as admin member
-            String memberQuery = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) VALUES (?, ?, 'admin', ?)";
-            PreparedStatement memberStmt = conn.prepareStatement(memberQuery);
-            memberStmt.setString(1, groupId);
-            memberStmt.setString(2, creatorUserId);
-            memberStmt.setString(3, now);
-            memberStmt.executeUpdate();
-            memberStmt.close();
+            // Insert group with the creator as admin member
+            Group newGroup = new Group(groupId, groupName);
+            if (!Repositories.groups().insert(newGroup, creatorUserId, now)) {
+                return false;
+            }
 
             // Update observable list
-            Group newGroup = new Group(groupId, groupName);
             userGroupsList.add(0, newGroup);
+            EventBus.publish(new EventBus.MemberJoined(groupId, creatorUserId, "admin"));
 
             System.out.println("✓ Group created successfully. Creator is admin.");
             return true;
@@ -83,10 +66,6 @@ public class GroupService {
             System.err.println("ERROR creating group: " + e.getMessage());
             e.printStackTrace();
             return false;
-        } finally {
-            if (conn != null) {
-                try { conn.close(); } catch (Exception e) { e.printStackTrace(); }
-            }
         }
     }
 
@@ -94,76 +73,32 @@ public class GroupService {
      * Get all groups for a user
      */
     public static List<Group> getUserGroups(String oderId) {
-        List<Group> groups = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT g.group_id, g.group_name FROM GROUPS g " +
-                          "INNER JOIN GROUP_MEMBERS gm ON g.group_id = gm.group_id " +
-                          "WHERE gm.user_id = ? ORDER BY g.group_name";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, oderId);
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                Group group = new Group();
-                group.setGroupId(rs.getString("group_id"));
-                group.setGroupName(rs.getString("group_name"));
-                groups.add(group);
-            }
+        try {
+            return Repositories.groups().findForUser(oderId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return groups;
+        return new ArrayList<>();
     }
 
     /**
      * Get group members with full user details including member role
      */
     public static List<GroupMember> getGroupMembersWithDetails(String groupId) {
-        List<GroupMember> members = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT u.user_id, u.name, u.email, u.role, gm.member_role, gm.joined_at " +
-                          "FROM USERS u " +
-                          "INNER JOIN GROUP_MEMBERS gm ON u.user_id = gm.user_id " +
-                          "WHERE gm.group_id = ? " +
-                          "ORDER BY gm.member_role DESC, u.name"; // Admins first
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                GroupMember member = new GroupMember();
-                member.setUserId(rs.getString("user_id"));
-                member.setName(rs.getString("name"));
-                member.setEmail(rs.getString("email"));
-                member.setRole(rs.getString("role"));
-                member.setGroupId(groupId);
-                String memberRole = rs.getString("member_role");
-                member.setMemberRole(memberRole != null ? memberRole : "member");
-                member.setJoinedAt(rs.getString("joined_at"));
-                members.add(member);
-            }
+        try {
+            return Repositories.groups().findMembers(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return members;
+        return new ArrayList<>();
     }
 
     /**
      * Get group by ID
      */
     public static Group getGroupById(String groupId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM GROUPS WHERE group_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                Group group = new Group();
-                group.setGroupId(rs.getString("group_id"));
-                group.setGroupName(rs.getString("group_name"));
-                return group;
-            }
+        try {
+            return Repositories.groups().findById(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -174,17 +109,8 @@ public class GroupService {
      * Check if user is admin of a group
      */
     public static boolean isAdmin(String groupId, String oderId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT member_role FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, oderId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                String role = rs.getString("member_role");
-                return "admin".equalsIgnoreCase(role);
-            }
+        try {
+            return "admin".equalsIgnoreCase(Repositories.groups().findMemberRole(groupId, oderId));
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -195,15 +121,8 @@ public class GroupService {
      * Get admin count for a group
      */
     public static int getAdminCount(String groupId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ? AND member_role = 'admin'";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+        try {
+            return Repositories.groups().countAdmins(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -219,14 +138,8 @@ public class GroupService {
             return false;
         }
 
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "UPDATE GROUP_MEMBERS SET member_role = 'admin' WHERE group_id = ? AND user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, targetUserId);
-
-            int result = stmt.executeUpdate();
-            if (result > 0) {
+        try {
+            if (Repositories.groups().setMemberRole(groupId, targetUserId, "admin")) {
                 // Update observable list
                 for (GroupMember m : groupMembersList) {
                     if (m.getUserId().equals(targetUserId) && m.getGroupId().equals(groupId)) {
@@ -259,14 +172,8 @@ public class GroupService {
             return false;
         }
 
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "UPDATE GROUP_MEMBERS SET member_role = 'member' WHERE group_id = ? AND user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, targetUserId);
-
-            int result = stmt.executeUpdate();
-            if (result > 0) {
+        try {
+            if (Repositories.groups().setMemberRole(groupId, targetUserId, "member")) {
                 // Update observable list
                 for (GroupMember m : groupMembersList) {
                     if (m.getUserId().equals(targetUserId) && m.getGroupId().equals(groupId)) {
@@ -293,64 +200,27 @@ public class GroupService {
             return false;
         }
 
-        Connection conn = null;
         try {
-            conn = DatabaseHelper.getConnection();
             email = email.trim().toLowerCase();
-            String now = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
 
             // Get user by email
-            String userQuery = "SELECT user_id, name, email, role FROM USERS WHERE LOWER(email) = LOWER(?)";
-            PreparedStatement userStmt = conn.prepareStatement(userQuery);
-            userStmt.setString(1, email);
-            ResultSet userRs = userStmt.executeQuery();
-
-            if (!userRs.next()) {
+            User user = Repositories.users().findByEmail(email);
+            if (user == null) {
                 System.err.println("User not found with email: " + email);
                 return false;
             }
 
-            String oderId = userRs.getString("user_id");
-            String userName = userRs.getString("name");
-            String userEmail = userRs.getString("email");
-            String userRole = userRs.getString("role");
-            userStmt.close();
-
             // Check if already a member
-            String checkQuery = "SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?";
-            PreparedStatement checkStmt = conn.prepareStatement(checkQuery);
-            checkStmt.setString(1, groupId);
-            checkStmt.setString(2, oderId);
-            ResultSet rs = checkStmt.executeQuery();
-
-            if (rs.next() && rs.getInt(1) > 0) {
+            if (isMemberOfGroup(groupId, user.getUserId())) {
                 System.err.println("User is already a member of the group");
                 return false;
             }
-            checkStmt.close();
 
             // Add member (as regular member, not admin)
-            String insertQuery = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) VALUES (?, ?, 'member', ?)";
-            PreparedStatement insertStmt = conn.prepareStatement(insertQuery);
-            insertStmt.setString(1, groupId);
-            insertStmt.setString(2, oderId);
-            insertStmt.setString(3, now);
-            int result = insertStmt.executeUpdate();
-            insertStmt.close();
-
-            if (result > 0) {
-                GroupMember newMember = new GroupMember(oderId, userName, userEmail, userRole, groupId, "member");
-                groupMembersList.add(newMember);
-                return true;
-            }
-            return false;
+            return addMember(groupId, user);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
-        } finally {
-            if (conn != null) {
-                try { conn.close(); } catch (Exception e) { e.printStackTrace(); }
-            }
         }
     }
 
@@ -358,54 +228,36 @@ public class GroupService {
      * Add a member to a group (internal use - after invite accepted)
      */
     public static boolean addMemberToGroup(String groupId, String oderId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String now = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-
+        try {
             // Check if already a member
-            String checkQuery = "SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?";
-            PreparedStatement checkStmt = conn.prepareStatement(checkQuery);
-            checkStmt.setString(1, groupId);
-            checkStmt.setString(2, oderId);
-            ResultSet rs = checkStmt.executeQuery();
-
-            if (rs.next() && rs.getInt(1) > 0) {
+            if (isMemberOfGroup(groupId, oderId)) {
                 return false; // Already a member
             }
 
             // Get user details
-            String userQuery = "SELECT name, email, role FROM USERS WHERE user_id = ?";
-            PreparedStatement userStmt = conn.prepareStatement(userQuery);
-            userStmt.setString(1, oderId);
-            ResultSet userRs = userStmt.executeQuery();
-
-            if (!userRs.next()) {
+            User user = Repositories.users().findById(oderId);
+            if (user == null) {
                 return false; // User not found
             }
 
-            String userName = userRs.getString("name");
-            String userEmail = userRs.getString("email");
-            String userRole = userRs.getString("role");
-
-            // Add member
-            String insertQuery = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) VALUES (?, ?, 'member', ?)";
-            PreparedStatement insertStmt = conn.prepareStatement(insertQuery);
-            insertStmt.setString(1, groupId);
-            insertStmt.setString(2, oderId);
-            insertStmt.setString(3, now);
-            int result = insertStmt.executeUpdate();
-
-            if (result > 0) {
-                GroupMember newMember = new GroupMember(oderId, userName, userEmail, userRole, groupId, "member");
-                groupMembersList.add(newMember);
-                return true;
-            }
-            return false;
+            return addMember(groupId, user);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    private static boolean addMember(String groupId, User user) throws Exception {
+        String now = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        if (Repositories.groups().addMember(groupId, user.getUserId(), "member", now)) {
+            GroupMember newMember = new GroupMember(user.getUserId(), user.getName(), user.getEmail(), user.getRole(), groupId, "member");
+            groupMembersList.add(newMember);
+            EventBus.publish(new EventBus.MemberJoined(groupId, user.getUserId(), "member"));
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Remove a member from a group (Admin only, cannot remove self if last admin)
      */
@@ -422,15 +274,8 @@ public class GroupService {
             return false;
         }
 
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "DELETE FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, targetUserId);
-
-            int rowsAffected = stmt.executeUpdate();
-
-            if (rowsAffected > 0) {
+        try {
+            if (Repositories.groups().removeMember(groupId, targetUserId)) {
                 groupMembersList.removeIf(m -> m.getUserId().equals(targetUserId) && m.getGroupId().equals(groupId));
 
                 // Check if group has no members left
@@ -457,15 +302,8 @@ public class GroupService {
             return false;
         }
 
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "DELETE FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, oderId);
-
-            int rowsAffected = stmt.executeUpdate();
-
-            if (rowsAffected > 0) {
+        try {
+            if (Repositories.groups().removeMember(groupId, oderId)) {
                 groupMembersList.removeIf(m -> m.getUserId().equals(oderId) && m.getGroupId().equals(groupId));
                 userGroupsList.removeIf(g -> g.getGroupId().equals(groupId));
 
@@ -487,26 +325,11 @@ public class GroupService {
      * Delete a group
      */
     public static boolean deleteGroup(String groupId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            // Delete group members first
-            String deleteMembersQuery = "DELETE FROM GROUP_MEMBERS WHERE group_id = ?";
-            PreparedStatement deleteMembersStmt = conn.prepareStatement(deleteMembersQuery);
-            deleteMembersStmt.setString(1, groupId);
-            deleteMembersStmt.executeUpdate();
-
-            // Delete group expenses
-            String deleteExpensesQuery = "DELETE FROM EXPENSES WHERE group_id = ?";
-            PreparedStatement deleteExpensesStmt = conn.prepareStatement(deleteExpensesQuery);
-            deleteExpensesStmt.setString(1, groupId);
-            deleteExpensesStmt.executeUpdate();
-
-            // Delete group
-            String deleteGroupQuery = "DELETE FROM GROUPS WHERE group_id = ?";
-            PreparedStatement deleteGroupStmt = conn.prepareStatement(deleteGroupQuery);
-            deleteGroupStmt.setString(1, groupId);
-            int rowsAffected = deleteGroupStmt.executeUpdate();
-
-            if (rowsAffected > 0) {
+        try {
+            // Delete group expenses first, then members and group
+            ExpenseService.deleteGroupExpenses(groupId);
+
+            if (Repositories.groups().delete(groupId)) {
                 groupMembersList.removeIf(m -> m.getGroupId().equals(groupId));
                 userGroupsList.removeIf(g -> g.getGroupId().equals(groupId));
                 return true;
@@ -522,55 +345,32 @@ public class GroupService {
      * Get all member IDs of a group
      */
     public static List<String> getGroupMembers(String groupId) {
-        List<String> memberIds = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT user_id FROM GROUP_MEMBERS WHERE group_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                memberIds.add(rs.getString("user_id"));
-            }
+        try {
+            return Repositories.groups().findMemberIds(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return memberIds;
+        return new ArrayList<>();
     }
 
     /**
      * Get all admin IDs of a group
      */
     public static List<String> getGroupAdmins(String groupId) {
-        List<String> adminIds = new ArrayList<>();
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT user_id FROM GROUP_MEMBERS WHERE group_id = ? AND member_role = 'admin'";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                adminIds.add(rs.getString("user_id"));
-            }
+        try {
+            return Repositories.groups().findAdminIds(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return adminIds;
+        return new ArrayList<>();
     }
 
     /**
      * Get member count for a group
      */
     public static int getMemberCount(String groupId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+        try {
+            return Repositories.groups().countMembers(groupId);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -581,16 +381,8 @@ public class GroupService {
      * Check if user is member of group
      */
     public static boolean isMemberOfGroup(String groupId, String oderId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT COUNT(*) FROM GROUP_MEMBERS WHERE group_id = ? AND user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, groupId);
-            stmt.setString(2, oderId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
-            }
+        try {
+            return Repositories.groups().findMemberRole(groupId, oderId) != null;
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -0,0 +1,74 @@
+package org.example.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Id Generator
+ * Time-ordered 64-bit keys for expenses, alerts and invites (snowflake layout):
+ *
+ *   0 | 41 bits: milliseconds since 2024-01-01 UTC | 22 bits: sequence
+ *
+ * Keys only ever grow, so inserts append at the right edge of the primary key
+ * B-tree and "newest first" is simply ORDER BY key DESC. Stored as an INTEGER
+ * PRIMARY KEY (SQLite's rowid) - 8 bytes instead of a 36-char UUID string.
+ * Models keep ids as Strings; use format()/parse() at the SQL boundary.
+ */
+public class IdGenerator {
+
+    /**
+     * 2024-01-01T00:00:00Z. 41 bits of milliseconds from here last until 2093.
+     */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    static final int SEQUENCE_BITS = 22;
+
+    private static final AtomicLong last = new AtomicLong();
+
+    /**
+     * Next key. Strictly greater than every key handed out before (including those
+     * passed to advancePast), even if the clock steps backwards: the sequence then
+     * simply keeps counting from the last key.
+     */
+    public static long next() {
+        long floor = idAt(System.currentTimeMillis());
+        while (true) {
+            long prev = last.get();
+            long id = Math.max(prev + 1, floor);
+            if (last.compareAndSet(prev, id)) return id;
+        }
+    }
+
+    /**
+     * Never hand out a key at or below id again. Called at startup with the largest
+     * key already stored, so a clock that is behind the last run cannot collide.
+     */
+    public static void advancePast(long id) {
+        last.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Smallest key for an instant (sequence 0). Instants before EPOCH_MILLIS map to 0.
+     */
+    public static long idAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH_MILLIS) << SEQUENCE_BITS;
+    }
+
+    /**
+     * Creation time encoded in a key, in epoch milliseconds
+     */
+    public static long timestampOf(long id) {
+        return (id >>> SEQUENCE_BITS) + EPOCH_MILLIS;
+    }
+
+    public static String format(long id) {
+        return Long.toString(id);
+    }
+
+    /**
+     * @throws NumberFormatException if the id is not a generated key (e.g. an old UUID)
+     */
+    public static long parse(String id) {
+        if (id == null) throw new NumberFormatException("null id");
+        return Long.parseLong(id);
+    }
+}
@@ -5,19 +5,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class InviteService {
 
     public static String sendParentInvite(String parentId, String childId) {
-        String inviteId = UUID.randomUUID().toString();
+        long inviteId = IdGenerator.next();
         String sql = "INSERT INTO PARENT_INVITES (invite_id, parent_id, child_id, status, created_at) VALUES (?, ?, ?, 'pending', datetime('now'))";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, inviteId);
+            ps.setLong(1, inviteId);
             ps.setString(2, parentId);
             ps.setString(3, childId);
             ps.executeUpdate();
-            return inviteId;
+            return IdGenerator.format(inviteId);
         } catch (Exception e) {
             System.err.println("Error sending parent invite: " + e.getMessage());
             e.printStackTrace();
@@ -29,7 +28,7 @@ public class InviteService {
         String select = "SELECT parent_id, child_id FROM PARENT_INVITES WHERE invite_id = ? AND status = 'pending'";
         String update = "UPDATE PARENT_INVITES SET status = 'accepted' WHERE invite_id = ?";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement sel = conn.prepareStatement(select)) {
-            sel.setString(1, inviteId);
+            sel.setLong(1, IdGenerator.parse(inviteId));
             ResultSet rs = sel.executeQuery();
             if (rs.next()) {
                 String parentId = rs.getString(1);
@@ -42,7 +41,7 @@ public class InviteService {
                     rel.executeUpdate();
                 }
                 try (PreparedStatement upd = conn.prepareStatement(update)) {
-                    upd.setString(1, inviteId);
+                    upd.setLong(1, IdGenerator.parse(inviteId));
                     upd.executeUpdate();
                 }
                 return true;
@@ -57,7 +56,7 @@ public class InviteService {
     public static boolean declineParentInvite(String inviteId) {
         String update = "UPDATE PARENT_INVITES SET status = 'declined' WHERE invite_id = ?";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement ps = conn.prepareStatement(update)) {
-            ps.setString(1, inviteId);
+            ps.setLong(1, IdGenerator.parse(inviteId));
             return ps.executeUpdate() > 0;
         } catch (Exception e) {
             System.err.println("Error declining parent invite: " + e.getMessage());
@@ -68,12 +67,12 @@ public class InviteService {
 
     public static List<String[]> getPendingParentInvitesForChild(String childId) {
         List<String[]> invites = new ArrayList<>();
-        String sql = "SELECT invite_id, parent_id FROM PARENT_INVITES WHERE child_id = ? AND status = 'pending' ORDER BY created_at DESC";
+        String sql = "SELECT invite_id, parent_id FROM PARENT_INVITES WHERE child_id = ? AND status = 'pending' ORDER BY invite_id DESC";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, childId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                invites.add(new String[]{rs.getString(1), rs.getString(2)});
+                invites.add(new String[]{IdGenerator.format(rs.getLong(1)), rs.getString(2)});
             }
         } catch (Exception e) {
             System.err.println("Error fetching parent invites: " + e.getMessage());
@@ -83,15 +82,15 @@ public class InviteService {
     }
 
     public static String sendGroupInvite(String groupId, String inviterId, String inviteeId) {
-        String inviteId = UUID.randomUUID().toString();
+        long inviteId = IdGenerator.next();
         String sql = "INSERT INTO GROUP_INVITES (invite_id, group_id, inviter_id, invitee_id, status, created_at) VALUES (?, ?, ?, ?, 'pending', datetime('now'))";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, inviteId);
+            ps.setLong(1, inviteId);
             ps.setString(2, groupId);
             ps.setString(3, inviterId);
             ps.setString(4, inviteeId);
             ps.executeUpdate();
-            return inviteId;
+            return IdGenerator.format(inviteId);
         } catch (Exception e) {
             System.err.println("Error sending group invite: " + e.getMessage());
             e.printStackTrace();
@@ -99,26 +98,40 @@ public class InviteService {
         }
     }
 
+    /**
+     * Membership and invite status change in one write command, so they commit or roll back together
+     */
     public static boolean acceptGroupInvite(String inviteId) {
         String select = "SELECT group_id, invitee_id FROM GROUP_INVITES WHERE invite_id = ? AND status = 'pending'";
+        String add = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) VALUES (?, ?, 'member', datetime('now'))";
         String update = "UPDATE GROUP_INVITES SET status = 'accepted' WHERE invite_id = ?";
-        try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement sel = conn.prepareStatement(select)) {
-            sel.setString(1, inviteId);
-            ResultSet rs = sel.executeQuery();
-            if (rs.next()) {
-                String groupId = rs.getString(1);
-                String inviteeId = rs.getString(2);
+        try {
+            long id = IdGenerator.parse(inviteId);
+            EventBus.MemberJoined joined = DatabaseHelper.write(conn -> {
+                String groupId;
+                String inviteeId;
+                try (PreparedStatement sel = conn.prepareStatement(select)) {
+                    sel.setLong(1, id);
+                    ResultSet rs = sel.executeQuery();
+                    if (!rs.next()) return null;
+                    groupId = rs.getString(1);
+                    inviteeId = rs.getString(2);
+                }
                 // Add as regular member (not admin)
-                String add = "INSERT INTO GROUP_MEMBERS (group_id, user_id, member_role, joined_at) VALUES (?, ?, 'member', datetime('now'))";
                 try (PreparedStatement ad = conn.prepareStatement(add)) {
                     ad.setString(1, groupId);
                     ad.setString(2, inviteeId);
                     ad.executeUpdate();
                 }
                 try (PreparedStatement upd = conn.prepareStatement(update)) {
-                    upd.setString(1, inviteId);
+                    upd.setLong(1, id);
                     upd.executeUpdate();
                 }
+                return new EventBus.MemberJoined(groupId, inviteeId, "member");
+            });
+            if (joined != null) {
+                // Publish only once the write has committed
+                EventBus.publish(joined);
                 return true;
             }
         } catch (Exception e) {
@@ -131,7 +144,7 @@ public class InviteService {
     public static boolean declineGroupInvite(String inviteId) {
         String update = "UPDATE GROUP_INVITES SET status = 'declined' WHERE invite_id = ?";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement ps = conn.prepareStatement(update)) {
-            ps.setString(1, inviteId);
+            ps.setLong(1, IdGenerator.parse(inviteId));
             return ps.executeUpdate() > 0;
         } catch (Exception e) {
             System.err.println("Error declining group invite: " + e.getMessage());
@@ -161,12 +174,12 @@ public class InviteService {
 
     public static List<String[]> getPendingGroupInvitesForUser(String userId) {
         List<String[]> invites = new ArrayList<>();
-        String sql = "SELECT invite_id, group_id FROM GROUP_INVITES WHERE invitee_id = ? AND status = 'pending' ORDER BY created_at DESC";
+        String sql = "SELECT invite_id, group_id FROM GROUP_INVITES WHERE invitee_id = ? AND status = 'pending' ORDER BY invite_id DESC";
         try (Connection conn = DatabaseHelper.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, userId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                invites.add(new String[]{rs.getString(1), rs.getString(2)});
+                invites.add(new String[]{IdGenerator.format(rs.getLong(1)), rs.getString(2)});
             }
         } catch (Exception e) {
             System.err.println("Error fetching group invites: " + e.getMessage());
@@ -2,11 +2,15 @@ package org.example.service;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import javafx.collections.ObservableList;
 import org.example.model.Expense;
 import org.example.model.Group;
 import org.example.model.GroupMember;
+import org.example.model.Money;
 import org.example.model.User;
 
 import java.io.*;
@@ -24,8 +28,25 @@ public class JsonService {
     private static final Gson gson = new GsonBuilder()
             .setPrettyPrinting()
             .setDateFormat("yyyy-MM-dd")
+            .registerTypeAdapter(Money.class, new MoneyAdapter().nullSafe())
             .create();
 
+    /**
+     * Money is written as a plain decimal ("amount": 1250.5) so exported files keep
+     * their old shape; reading goes through BigDecimal, never through double.
+     */
+    private static class MoneyAdapter extends TypeAdapter<Money> {
+        @Override
+        public void write(JsonWriter out, Money value) throws IOException {
+            out.value(value.toBigDecimal());
+        }
+
+        @Override
+        public Money read(JsonReader in) throws IOException {
+            return Money.parse(in.nextString());
+        }
+    }
+
     // ==================== EXPENSE JSON OPERATIONS ====================
 
     /**
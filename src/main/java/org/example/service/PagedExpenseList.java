@@ -0,0 +1,137 @@
+package org.example.service;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollPane;
+import org.example.model.Expense;
+import org.example.model.ExpensePage;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Paged Expense List
+ * An ObservableList of expenses that starts with one page and grows a page at a
+ * time as the view scrolls. Pages come from keyset queries, so opening a list of
+ * 100k expenses costs one page, and page N costs the same as page 1.
+ *
+ * Use from the FX thread only; pages are fetched in the background and appended
+ * on the FX thread. reload() drops everything (e.g. after an edit) and starts over
+ * from the first page; reload(loader) does the same for a new query.
+ */
+public class PagedExpenseList {
+
+    /**
+     * Default rows per page - two screens of dashboard cards
+     */
+    public static final int DEFAULT_PAGE_SIZE = Integer.getInteger("expense.ui.pageSize", 24);
+
+    // Fetch the next page once the scroll position is this close to the bottom
+    private static final double PREFETCH_THRESHOLD = 0.9;
+
+    /**
+     * Fetches one page below a cursor. Runs on a background thread.
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        ExpensePage load(ExpensePage.Cursor after, int pageSize);
+    }
+
+    private final ObservableList<Expense> items = FXCollections.observableArrayList();
+    private PageLoader loader;
+    private final int pageSize;
+
+    private ExpensePage.Cursor next = ExpensePage.Cursor.START;
+    private boolean exhausted;
+    private CompletableFuture<Void> pending;
+    // Bumped by reload(), so a page requested before it is discarded
+    private int generation;
+
+    public PagedExpenseList(PageLoader loader, int pageSize) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+    }
+
+    public ObservableList<Expense> getItems() {
+        return items;
+    }
+
+    public boolean hasMore() {
+        return !exhausted;
+    }
+
+    public boolean isLoading() {
+        return pending != null;
+    }
+
+    /**
+     * Fetch and append the next page. No-op while a page is in flight or after the last one.
+     */
+    public CompletableFuture<Void> loadNextPage() {
+        if (pending != null) return pending;
+        if (exhausted) return CompletableFuture.completedFuture(null);
+
+        int requested = generation;
+        PageLoader source = loader;
+        ExpensePage.Cursor after = next;
+        pending = AsyncServices.supply(() -> source.load(after, pageSize))
+                .thenAcceptAsync(page -> {
+                    if (requested != generation) return;
+                    pending = null;
+                    next = page.next();
+                    exhausted = !page.hasMore();
+                    items.addAll(page.expenses());
+                }, AsyncServices.FX)
+                .exceptionallyAsync(e -> {
+                    e.printStackTrace();
+                    if (requested == generation) pending = null;
+                    return null;
+                }, AsyncServices.FX);
+        return pending;
+    }
+
+    /**
+     * Drop the loaded pages and fetch the first one again
+     */
+    public CompletableFuture<Void> reload() {
+        generation++;
+        pending = null;
+        next = ExpensePage.Cursor.START;
+        exhausted = false;
+        items.clear();
+        return loadNextPage();
+    }
+
+    /**
+     * Switch to another query (e.g. new filter values) and fetch its first page
+     */
+    public CompletableFuture<Void> reload(PageLoader newLoader) {
+        this.loader = newLoader;
+        return reload();
+    }
+
+    /**
+     * Load the next page whenever the pane is scrolled near the bottom, or its
+     * content is too short to scroll at all (e.g. a search hides most rows)
+     */
+    public void attachTo(ScrollPane pane) {
+        pane.vvalueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal.doubleValue() >= pane.getVmin() + PREFETCH_THRESHOLD * (pane.getVmax() - pane.getVmin())) {
+                loadNextPage();
+            }
+        });
+        pane.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> fillViewport(pane));
+        Node content = pane.getContent();
+        if (content != null) {
+            content.layoutBoundsProperty().addListener((obs, oldVal, newVal) -> fillViewport(pane));
+        }
+    }
+
+    private void fillViewport(ScrollPane pane) {
+        Node content = pane.getContent();
+        if (content != null && hasMore() && !isLoading()
+                && content.getLayoutBounds().getHeight() <= pane.getViewportBounds().getHeight()) {
+            loadNextPage();
+        }
+    }
+}
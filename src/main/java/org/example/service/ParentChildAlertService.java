@@ -3,15 +3,12 @@ package org.example.service;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import org.example.model.ParentChildAlert;
+import org.example.repository.Repositories;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Service for managing alerts between parents and children
@@ -24,22 +21,8 @@ public class ParentChildAlertService {
      * Send an alert from child to parent about budget concerns
      */
     public static boolean sendAlertToParent(String childId, String parentId, String message) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String alertId = UUID.randomUUID().toString();
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-
-            String query = "INSERT INTO PARENT_CHILD_ALERTS (alert_id, from_user_id, to_user_id, type, message, created_at, read_status) " +
-                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, alertId);
-            stmt.setString(2, childId);
-            stmt.setString(3, parentId);
-            stmt.setString(4, "alert");
-            stmt.setString(5, message);
-            stmt.setString(6, timestamp);
-            stmt.setString(7, "unread");
-
-            return stmt.executeUpdate() > 0;
+        try {
+            return insertAlert(childId, parentId, "alert", message);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -50,28 +33,26 @@ public class ParentChildAlertService {
      * Send a suggestion from parent to child
      */
     public static boolean sendSuggestionToChild(String parentId, String childId, String message) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String alertId = UUID.randomUUID().toString();
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-
-            String query = "INSERT INTO PARENT_CHILD_ALERTS (alert_id, from_user_id, to_user_id, type, message, created_at, read_status) " +
-                          "VALUES (?, ?, ?, ?, ?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, alertId);
-            stmt.setString(2, parentId);
-            stmt.setString(3, childId);
-            stmt.setString(4, "suggestion");
-            stmt.setString(5, message);
-            stmt.setString(6, timestamp);
-            stmt.setString(7, "unread");
-
-            return stmt.executeUpdate() > 0;
+        try {
+            return insertAlert(parentId, childId, "suggestion", message);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    private static boolean insertAlert(String fromUserId, String toUserId, String type, String message) throws Exception {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        ParentChildAlert alert = new ParentChildAlert();
+        alert.setFromUserId(fromUserId);
+        alert.setToUserId(toUserId);
+        alert.setType(type);
+        alert.setMessage(message);
+        alert.setCreatedAt(timestamp);
+        alert.setReadStatus("unread");
+        return Repositories.alerts().insert(alert);
+    }
+
     /**
      * Get all alerts for a specific user (parent or child)
      */
@@ -79,22 +60,8 @@ public class ParentChildAlertService {
         alertsList.clear();
         List<ParentChildAlert> alerts = new ArrayList<>();
 
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM PARENT_CHILD_ALERTS WHERE to_user_id = ? ORDER BY created_at DESC";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                ParentChildAlert alert = new ParentChildAlert();
-                alert.setAlertId(rs.getString("alert_id"));
-                alert.setFromUserId(rs.getString("from_user_id"));
-                alert.setToUserId(rs.getString("to_user_id"));
-                alert.setType(rs.getString("type"));
-                alert.setMessage(rs.getString("message"));
-                alert.setCreatedAt(rs.getString("created_at"));
-                alert.setReadStatus(rs.getString("read_status"));
-
+        try {
+            for (ParentChildAlert alert : Repositories.alerts().findForRecipient(userId)) {
                 // Get user names
                 var fromUser = UserService.getUserById(alert.getFromUserId());
                 if (fromUser != null) {
@@ -115,11 +82,8 @@ public class ParentChildAlertService {
      * Mark alert as read
      */
     public static boolean markAsRead(String alertId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "UPDATE PARENT_CHILD_ALERTS SET read_status = 'read' WHERE alert_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, alertId);
-            return stmt.executeUpdate() > 0;
+        try {
+            return Repositories.alerts().markRead(alertId);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -130,15 +94,8 @@ public class ParentChildAlertService {
      * Get unread alert count for a user
      */
     public static int getUnreadAlertCount(String userId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT COUNT(*) FROM PARENT_CHILD_ALERTS WHERE to_user_id = ? AND read_status = 'unread'";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+        try {
+            return Repositories.alerts().countUnread(userId);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -149,11 +106,8 @@ public class ParentChildAlertService {
      * Delete an alert
      */
     public static boolean deleteAlert(String alertId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "DELETE FROM PARENT_CHILD_ALERTS WHERE alert_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, alertId);
-            return stmt.executeUpdate() > 0;
+        try {
+            return Repositories.alerts().delete(alertId);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -166,22 +120,8 @@ public class ParentChildAlertService {
     public static List<ParentChildAlert> getSentAlerts(String userId) {
         List<ParentChildAlert> alerts = new ArrayList<>();
 
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM PARENT_CHILD_ALERTS WHERE from_user_id = ? ORDER BY created_at DESC";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                ParentChildAlert alert = new ParentChildAlert();
-                alert.setAlertId(rs.getString("alert_id"));
-                alert.setFromUserId(rs.getString("from_user_id"));
-                alert.setToUserId(rs.getString("to_user_id"));
-                alert.setType(rs.getString("type"));
-                alert.setMessage(rs.getString("message"));
-                alert.setCreatedAt(rs.getString("created_at"));
-                alert.setReadStatus(rs.getString("read_status"));
-
+        try {
+            for (ParentChildAlert alert : Repositories.alerts().findFromSender(userId)) {
                 // Get user names
                 var toUser = UserService.getUserById(alert.getToUserId());
                 if (toUser != null) {
@@ -197,4 +137,3 @@ public class ParentChildAlertService {
         return alerts;
     }
 }
-
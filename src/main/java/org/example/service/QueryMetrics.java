@@ -0,0 +1,448 @@
+package org.example.service;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Query Metrics
+ * Per-statement counters for every SQL statement run through the connection pools,
+ * keyed by normalized SQL (literals replaced by ?, whitespace collapsed). For each
+ * statement: calls, calls made on the JavaFX Application Thread, errors, rows
+ * (returned by queries, changed by updates) and a log2 latency histogram.
+ *
+ * A query's latency runs from execute until its ResultSet is exhausted or closed, so
+ * time spent stepping through rows counts too. Executions nobody closes are finished
+ * when the connection goes back to the pool (or commits). Writes run on the writer
+ * thread, so they always count as background even when an FX handler waits for them.
+ * Executions over the SlowQueryLog threshold are handed to it as well.
+ */
+public class QueryMetrics {
+
+    /**
+     * Histogram bucket i holds latencies below 2^i µs (bucket 0: under 1 µs). The last
+     * bucket also takes everything slower, from ~1 minute up.
+     */
+    public static final int BUCKETS = 27;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Object[] NO_BINDS = new Object[0];
+    private static final int MAX_BINDS = 999;
+
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+    // Raw SQL -> normalized; services reuse a small set of SQL strings
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private volatile Instant since = Instant.now();
+    private volatile SlowQueryLog slowQueryLog;
+
+    /**
+     * Also send executions over the log's threshold to it. Null turns it off.
+     */
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    // ==== RECORDING ====
+
+    /**
+     * Tracks the executions of one borrowed connection. Not thread-safe, like the connection.
+     */
+    public Tracker tracker() {
+        return new Tracker();
+    }
+
+    public final class Tracker {
+        private final List<Execution> open = new ArrayList<>();
+
+        private Tracker() {}
+
+        /**
+         * Wrap a statement so its executions are recorded. sql is null for plain
+         * Statements; their SQL arrives with each execute call.
+         */
+        public Statement wrap(Statement statement, String sql) {
+            Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new MeteredStatement(this, statement, sql));
+        }
+
+        /**
+         * Record every execution still waiting on an unclosed ResultSet
+         */
+        public void finishAll() {
+            for (Execution e : new ArrayList<>(open)) {
+                e.finish();
+            }
+            open.clear();
+        }
+    }
+
+    /**
+     * One execution whose ResultSet may still be read
+     */
+    private final class Execution {
+        final MeteredStatement source;
+        final StatementStats target;
+        final String sql;
+        final Object[] binds;
+        final boolean fx;
+        long nanos;
+        long rows;
+        boolean finished;
+
+        Execution(MeteredStatement source, StatementStats target, String sql, Object[] binds, boolean fx, long nanos) {
+            this.source = source;
+            this.target = target;
+            this.sql = sql;
+            this.binds = binds;
+            this.fx = fx;
+            this.nanos = nanos;
+        }
+
+        void finish() {
+            if (finished) return;
+            finished = true;
+            source.tracker.open.remove(this);
+            target.record(nanos, rows, fx, false);
+
+            SlowQueryLog log = slowQueryLog;
+            if (log != null && nanos >= log.thresholdNanos() && sql != null) {
+                log.log(sql, binds, nanos, rows, fx, source.connection());
+            }
+        }
+    }
+
+    private final class MeteredStatement implements InvocationHandler {
+        private final Tracker tracker;
+        private final Statement delegate;
+        private final String sql;
+        private Object[] binds = NO_BINDS;
+        private Execution pending;
+
+        MeteredStatement(Tracker tracker, Statement delegate, String sql) {
+            this.tracker = tracker;
+            this.delegate = delegate;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "MeteredStatement[" + delegate + "]";
+                case "close":
+                    finishPending();
+                    break;
+                case "clearParameters":
+                    binds = NO_BINDS;
+                    break;
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                if (slowQueryLog != null && name.startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer index) {
+                    // setNull(index, sqlType) carries a type code, not a value
+                    remember(index, "setNull".equals(name) ? null : args[1]);
+                }
+                return call(method, args);
+            }
+
+            finishPending();
+            String text = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            StatementStats target = statsFor(text);
+            Object[] bound = slowQueryLog != null ? binds.clone() : NO_BINDS;
+            boolean fx = isFxThread();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = call(method, args);
+            } catch (Throwable t) {
+                target.record(System.nanoTime() - start, 0, fx, true);
+                throw t;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Execution execution = new Execution(this, target, text, bound, fx, elapsed);
+            if (result instanceof ResultSet rs) {
+                pending = execution;
+                tracker.open.add(pending);
+                return Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class},
+                        new MeteredResultSet(rs, pending));
+            }
+            execution.rows = changedRows(result);
+            execution.finish();
+            return result;
+        }
+
+        private void remember(int index, Object value) {
+            if (index < 1 || index > MAX_BINDS) return;
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, index);
+            }
+            binds[index - 1] = value;
+        }
+
+        /**
+         * The physical connection, for EXPLAIN; null once the statement is unusable
+         */
+        Connection connection() {
+            try {
+                return delegate.getConnection();
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+    }
+
+    private static final class MeteredResultSet implements InvocationHandler {
+        private final ResultSet delegate;
+        private final Execution execution;
+
+        MeteredResultSet(ResultSet delegate, Execution execution) {
+            this.delegate = delegate;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "MeteredResultSet[" + delegate + "]";
+                case "next": {
+                    long start = System.nanoTime();
+                    boolean more = delegate.next();
+                    execution.nanos += System.nanoTime() - start;
+                    if (more) {
+                        execution.rows++;
+                    } else {
+                        execution.finish();
+                    }
+                    return more;
+                }
+                case "close":
+                    execution.finish();
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static long changedRows(Object result) {
+        if (result instanceof Integer n) return Math.max(0, n);
+        if (result instanceof Long n) return Math.max(0, n);
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int n : counts) total += Math.max(0, n);
+            return total;
+        }
+        return 0;
+    }
+
+    private static boolean isFxThread() {
+        try {
+            return Platform.isFxApplicationThread();
+        } catch (RuntimeException | LinkageError e) {
+            // Toolkit not available (e.g. a headless tool using the services)
+            return false;
+        }
+    }
+
+    private StatementStats statsFor(String sql) {
+        String key = sql == null ? "<unknown>" : normalized.computeIfAbsent(sql, QueryMetrics::normalize);
+        return stats.computeIfAbsent(key, StatementStats::new);
+    }
+
+    /**
+     * "SELECT *  FROM X WHERE a = 'b' LIMIT 5" -> "SELECT * FROM X WHERE a = ? LIMIT ?"
+     */
+    static String normalize(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+
+    // ==== STATS ====
+
+    private static final class StatementStats {
+        final String sql;
+        final LongAdder calls = new LongAdder();
+        final LongAdder fxCalls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long nanos, long rowCount, boolean fx, boolean error) {
+            calls.increment();
+            if (fx) fxCalls.increment();
+            if (error) errors.increment();
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.incrementAndGet(bucketOf(nanos / 1_000));
+        }
+
+        Snapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) counts[i] = histogram.get(i);
+            return new Snapshot(sql, calls.sum(), fxCalls.sum(), errors.sum(), rows.sum(),
+                    totalNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+
+    static int bucketOf(long micros) {
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * Point-in-time copy of one statement's numbers
+     */
+    public record Snapshot(String sql, long calls, long fxCalls, long errors, long rows,
+                           long totalNanos, long maxNanos, long[] histogram) {
+
+        public double meanMicros() {
+            return calls == 0 ? 0 : totalNanos / 1_000.0 / calls;
+        }
+
+        /**
+         * Upper bound (µs) of the histogram bucket holding the given percentile, e.g. 0.99
+         */
+        public long percentileMicros(double percentile) {
+            long rank = (long) Math.ceil(percentile * calls);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) return 1L << i;
+            }
+            return 0;
+        }
+    }
+
+    // ==== REPORTING ====
+
+    /**
+     * All statements seen so far, slowest in total first
+     */
+    public List<Snapshot> snapshot() {
+        List<Snapshot> all = new ArrayList<>();
+        for (StatementStats s : stats.values()) {
+            all.add(s.snapshot());
+        }
+        all.sort(Comparator.comparingLong(Snapshot::totalNanos).reversed());
+        return all;
+    }
+
+    public Snapshot snapshotOf(String sql) {
+        StatementStats s = stats.get(normalize(sql));
+        return s != null ? s.snapshot() : null;
+    }
+
+    public void reset() {
+        stats.clear();
+        since = Instant.now();
+    }
+
+    /**
+     * Plain-text report: one summary line per statement plus its non-empty histogram buckets
+     */
+    public String report() {
+        StringWriter out = new StringWriter();
+        PrintWriter w = new PrintWriter(out);
+        List<Snapshot> all = snapshot();
+        w.printf("Query metrics from %s to %s (%d statements)%n", since, Instant.now(), all.size());
+        w.printf("%8s %7s %6s %9s %10s %9s %9s %9s %9s %10s  %s%n",
+                "calls", "fx", "errors", "rows", "total ms", "mean µs", "p50 µs", "p95 µs", "p99 µs", "max µs", "sql");
+        for (Snapshot s : all) {
+            w.printf("%8d %7d %6d %9d %10.1f %9.1f %9s %9s %9s %10d  %s%n",
+                    s.calls(), s.fxCalls(), s.errors(), s.rows(), s.totalNanos() / 1e6, s.meanMicros(),
+                    "<" + s.percentileMicros(0.50), "<" + s.percentileMicros(0.95), "<" + s.percentileMicros(0.99),
+                    s.maxNanos() / 1_000, s.sql());
+            StringBuilder buckets = new StringBuilder();
+            long[] h = s.histogram();
+            for (int i = 0; i < h.length; i++) {
+                if (h[i] > 0) buckets.append(" <").append(1L << i).append("µs:").append(h[i]);
+            }
+            w.println("         histogram" + buckets);
+        }
+        w.flush();
+        return out.toString();
+    }
+
+    public void dumpTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.writeString(file, report());
+    }
+}
@@ -0,0 +1,716 @@
+package org.example.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema Migrator
+ * Brings the database up to the latest schema version. Applied versions are
+ * recorded in SCHEMA_VERSION, so every migration runs exactly once, in order,
+ * inside its own transaction. To change the schema, append a new migration to
+ * MIGRATIONS - never edit one that has already shipped.
+ */
+public class SchemaMigrator {
+
+    /**
+     * One schema change. Runs inside a transaction; must not commit itself.
+     */
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    record Migration(int version, String description, Step step) {}
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "baseline tables", SchemaMigrator::createBaseline),
+            new Migration(2, "secondary indexes for lookup and filter queries", SchemaMigrator::createIndexes),
+            new Migration(3, "money as INTEGER paisa", SchemaMigrator::moneyToMinorUnits),
+            new Migration(4, "expense dates as INTEGER epoch days", SchemaMigrator::datesToEpochDays),
+            new Migration(5, "CATEGORIES dictionary with integer ids", SchemaMigrator::categoryDictionary),
+            new Migration(6, "time-ordered INTEGER keys for expenses, alerts and invites", SchemaMigrator::timeOrderedIds),
+            new Migration(7, "EXPENSE_TOTALS per owner and month, maintained by triggers", SchemaMigrator::expenseTotals),
+            new Migration(8, "DAILY_ROLLUP per owner, day and category, maintained by triggers", SchemaMigrator::dailyRollup),
+            new Migration(9, "personal expenses stored with a NULL group_id", SchemaMigrator::personalGroupIdNull)
+    );
+
+    /**
+     * Apply every migration newer than the recorded version.
+     * @return number of migrations applied
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    applied_at TEXT NOT NULL
+                )
+            """);
+        }
+
+        int current = currentVersion(conn);
+        int applied = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Migration m : MIGRATIONS) {
+                if (m.version() <= current) continue;
+                try {
+                    m.step().apply(conn);
+                    try (PreparedStatement ps = conn.prepareStatement(
+                            "INSERT INTO SCHEMA_VERSION (version, description, applied_at) VALUES (?, ?, ?)")) {
+                        ps.setInt(1, m.version());
+                        ps.setString(2, m.description());
+                        ps.setString(3, LocalDateTime.now().toString());
+                        ps.executeUpdate();
+                    }
+                    conn.commit();
+                    applied++;
+                    System.out.println("Applied schema migration v" + m.version() + ": " + m.description());
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Schema migration v" + m.version() + " (" + m.description() + ") failed", e);
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM SCHEMA_VERSION")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    // ==== HELPERS ====
+
+    static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
+    }
+
+    static void addColumnIfMissing(Connection conn, String table, String column, String definition) throws SQLException {
+        if (!columnExists(conn, table, column)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            }
+        }
+    }
+
+    private static void executeAll(Connection conn, List<String> statements) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    // ==== MIGRATIONS ====
+
+    /**
+     * v1: the tables DatabaseHelper used to create on every launch. IF NOT EXISTS keeps
+     * this a no-op on databases created before versioning existed.
+     */
+    private static void createBaseline(Connection conn) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS USERS (
+                user_id TEXT PRIMARY KEY,
+                name TEXT NOT NULL,
+                email TEXT UNIQUE NOT NULL,
+                password TEXT NOT NULL,
+                role TEXT NOT NULL DEFAULT 'normal'
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS GROUPS (
+                group_id TEXT PRIMARY KEY,
+                group_name TEXT NOT NULL
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS GROUP_MEMBERS (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                group_id TEXT NOT NULL,
+                user_id TEXT NOT NULL,
+                member_role TEXT NOT NULL DEFAULT 'member',
+                joined_at TEXT,
+                FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
+                FOREIGN KEY (user_id) REFERENCES USERS(user_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS EXPENSES (
+                expense_id TEXT PRIMARY KEY,
+                user_id TEXT NOT NULL,
+                group_id TEXT,
+                category TEXT NOT NULL,
+                amount REAL NOT NULL,
+                date TEXT NOT NULL,
+                note TEXT,
+                FOREIGN KEY (user_id) REFERENCES USERS(user_id),
+                FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS PARENT_RELATION (
+                parent_id TEXT NOT NULL,
+                child_id TEXT NOT NULL,
+                PRIMARY KEY (parent_id, child_id),
+                FOREIGN KEY (parent_id) REFERENCES USERS(user_id),
+                FOREIGN KEY (child_id) REFERENCES USERS(user_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS PARENT_INVITES (
+                invite_id TEXT PRIMARY KEY,
+                parent_id TEXT NOT NULL,
+                child_id TEXT NOT NULL,
+                status TEXT NOT NULL DEFAULT 'pending', -- 'pending','accepted','declined'
+                created_at TEXT NOT NULL,
+                FOREIGN KEY (parent_id) REFERENCES USERS(user_id),
+                FOREIGN KEY (child_id) REFERENCES USERS(user_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS GROUP_INVITES (
+                invite_id TEXT PRIMARY KEY,
+                group_id TEXT NOT NULL,
+                inviter_id TEXT NOT NULL,
+                invitee_id TEXT NOT NULL,
+                status TEXT NOT NULL DEFAULT 'pending', -- 'pending','accepted','declined'
+                created_at TEXT NOT NULL,
+                FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
+                FOREIGN KEY (inviter_id) REFERENCES USERS(user_id),
+                FOREIGN KEY (invitee_id) REFERENCES USERS(user_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS BUDGETS (
+                user_id TEXT PRIMARY KEY,
+                monthly_budget REAL NOT NULL DEFAULT 0,
+                currency TEXT NOT NULL DEFAULT 'BDT',
+                updated_at TEXT NOT NULL,
+                FOREIGN KEY (user_id) REFERENCES USERS(user_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS GROUP_BUDGETS (
+                group_id TEXT PRIMARY KEY,
+                monthly_budget REAL NOT NULL DEFAULT 0,
+                currency TEXT NOT NULL DEFAULT 'BDT',
+                updated_at TEXT NOT NULL,
+                FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
+            )
+        """);
+
+        ddl.add("""
+            CREATE TABLE IF NOT EXISTS PARENT_CHILD_ALERTS (
+                alert_id TEXT PRIMARY KEY,
+                from_user_id TEXT NOT NULL,
+                to_user_id TEXT NOT NULL,
+                type TEXT NOT NULL,
+                message TEXT NOT NULL,
+                created_at TEXT NOT NULL,
+                read_status TEXT NOT NULL DEFAULT 'unread',
+                FOREIGN KEY (from_user_id) REFERENCES USERS(user_id),
+                FOREIGN KEY (to_user_id) REFERENCES USERS(user_id)
+            )
+        """);
+
+        executeAll(conn, ddl);
+
+        // Very old databases predate member roles
+        addColumnIfMissing(conn, "GROUP_MEMBERS", "member_role", "TEXT NOT NULL DEFAULT 'member'");
+        addColumnIfMissing(conn, "GROUP_MEMBERS", "joined_at", "TEXT");
+    }
+
+    /**
+     * v2: composite indexes matching the WHERE / ORDER BY shapes the services use.
+     */
+    private static void createIndexes(Connection conn) throws SQLException {
+        executeAll(conn, List.of(
+                // Personal list/total (user_id + group_id filter, ordered by date) and per-member group lookups
+                "CREATE INDEX IF NOT EXISTS idx_expenses_user_group_date ON EXPENSES(user_id, group_id, date)",
+                // Group list/total, ordered by date
+                "CREATE INDEX IF NOT EXISTS idx_expenses_group_date ON EXPENSES(group_id, date)",
+                // Membership checks, roles, member lists
+                "CREATE INDEX IF NOT EXISTS idx_group_members_group_user ON GROUP_MEMBERS(group_id, user_id)",
+                // "My groups" join
+                "CREATE INDEX IF NOT EXISTS idx_group_members_user ON GROUP_MEMBERS(user_id)",
+                // Children of a parent are covered by the primary key; this serves parents of a child
+                "CREATE INDEX IF NOT EXISTS idx_parent_relation_child ON PARENT_RELATION(child_id)",
+                // Inbox listing and unread count
+                "CREATE INDEX IF NOT EXISTS idx_alerts_to_read_created ON PARENT_CHILD_ALERTS(to_user_id, read_status, created_at)",
+                "CREATE INDEX IF NOT EXISTS idx_alerts_from_created ON PARENT_CHILD_ALERTS(from_user_id, created_at)",
+                // Pending invites for a user, newest first
+                "CREATE INDEX IF NOT EXISTS idx_group_invites_invitee_status ON GROUP_INVITES(invitee_id, status, created_at)",
+                "CREATE INDEX IF NOT EXISTS idx_parent_invites_child_status ON PARENT_INVITES(child_id, status, created_at)",
+                // Duplicate-invite check
+                "CREATE INDEX IF NOT EXISTS idx_group_invites_group_invitee ON GROUP_INVITES(group_id, invitee_id, status)"
+        ));
+    }
+
+    /**
+     * v3: REAL amounts become INTEGER paisa. SQLite cannot change a column type, so the
+     * three tables are rebuilt; the new column names make any stale SQL fail loudly.
+     */
+    private static void moneyToMinorUnits(Connection conn) throws SQLException {
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE EXPENSES_NEW (
+                    expense_id TEXT PRIMARY KEY,
+                    user_id TEXT NOT NULL,
+                    group_id TEXT,
+                    category TEXT NOT NULL,
+                    amount_minor INTEGER NOT NULL,
+                    date TEXT NOT NULL,
+                    note TEXT,
+                    FOREIGN KEY (user_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
+                )
+                """,
+                "INSERT INTO EXPENSES_NEW (expense_id, user_id, group_id, category, amount_minor, date, note) " +
+                        "SELECT expense_id, user_id, group_id, category, CAST(ROUND(amount * 100) AS INTEGER), date, note FROM EXPENSES",
+                "DROP TABLE EXPENSES",
+                "ALTER TABLE EXPENSES_NEW RENAME TO EXPENSES",
+                "CREATE INDEX idx_expenses_user_group_date ON EXPENSES(user_id, group_id, date)",
+                "CREATE INDEX idx_expenses_group_date ON EXPENSES(group_id, date)",
+
+                """
+                CREATE TABLE BUDGETS_NEW (
+                    user_id TEXT PRIMARY KEY,
+                    monthly_budget_minor INTEGER NOT NULL DEFAULT 0,
+                    currency TEXT NOT NULL DEFAULT 'BDT',
+                    updated_at TEXT NOT NULL,
+                    FOREIGN KEY (user_id) REFERENCES USERS(user_id)
+                )
+                """,
+                "INSERT INTO BUDGETS_NEW (user_id, monthly_budget_minor, currency, updated_at) " +
+                        "SELECT user_id, CAST(ROUND(monthly_budget * 100) AS INTEGER), currency, updated_at FROM BUDGETS",
+                "DROP TABLE BUDGETS",
+                "ALTER TABLE BUDGETS_NEW RENAME TO BUDGETS",
+
+                """
+                CREATE TABLE GROUP_BUDGETS_NEW (
+                    group_id TEXT PRIMARY KEY,
+                    monthly_budget_minor INTEGER NOT NULL DEFAULT 0,
+                    currency TEXT NOT NULL DEFAULT 'BDT',
+                    updated_at TEXT NOT NULL,
+                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
+                )
+                """,
+                "INSERT INTO GROUP_BUDGETS_NEW (group_id, monthly_budget_minor, currency, updated_at) " +
+                        "SELECT group_id, CAST(ROUND(monthly_budget * 100) AS INTEGER), currency, updated_at FROM GROUP_BUDGETS",
+                "DROP TABLE GROUP_BUDGETS",
+                "ALTER TABLE GROUP_BUDGETS_NEW RENAME TO GROUP_BUDGETS"
+        ));
+    }
+
+    /**
+     * v4: the TEXT date column becomes epoch_day INTEGER (days since 1970-01-01), so date
+     * filters are integer range scans on the indexes instead of string compares. Rows whose
+     * date SQLite cannot read are kept at day 0 rather than dropped.
+     */
+    private static void datesToEpochDays(Connection conn) throws SQLException {
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE EXPENSES_NEW (
+                    expense_id TEXT PRIMARY KEY,
+                    user_id TEXT NOT NULL,
+                    group_id TEXT,
+                    category TEXT NOT NULL,
+                    amount_minor INTEGER NOT NULL,
+                    epoch_day INTEGER NOT NULL,
+                    note TEXT,
+                    FOREIGN KEY (user_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id)
+                )
+                """,
+                "INSERT INTO EXPENSES_NEW (expense_id, user_id, group_id, category, amount_minor, epoch_day, note) " +
+                        "SELECT expense_id, user_id, group_id, category, amount_minor, " +
+                        "COALESCE(CAST(julianday(date) - 2440587.5 AS INTEGER), 0), note FROM EXPENSES",
+                "DROP TABLE EXPENSES",
+                "ALTER TABLE EXPENSES_NEW RENAME TO EXPENSES",
+                "CREATE INDEX idx_expenses_user_group_day ON EXPENSES(user_id, group_id, epoch_day)",
+                "CREATE INDEX idx_expenses_group_day ON EXPENSES(group_id, epoch_day)"
+        ));
+    }
+
+    /**
+     * v5: category names move into a CATEGORIES dictionary and EXPENSES keeps a small
+     * integer category_id. Names are unique ignoring case, so "food" and "Food" share an
+     * id; the built-in choices are seeded first so they get the lowest ids.
+     */
+    private static void categoryDictionary(Connection conn) throws SQLException {
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE CATEGORIES (
+                    category_id INTEGER PRIMARY KEY,
+                    name TEXT NOT NULL UNIQUE COLLATE NOCASE
+                )
+                """,
+                "INSERT OR IGNORE INTO CATEGORIES (name) VALUES ('Food'), ('Transport'), ('Shopping'), " +
+                        "('Entertainment'), ('Bills'), ('Healthcare'), ('Health'), ('Education'), ('Groceries'), " +
+                        "('Utilities'), ('Rent'), ('Housing'), ('Savings'), ('Technology'), ('Travel'), ('Gifts'), " +
+                        "('Clothing'), ('Fitness'), ('Other')",
+                "INSERT OR IGNORE INTO CATEGORIES (name) " +
+                        "SELECT TRIM(category) FROM EXPENSES WHERE TRIM(category) <> '' ORDER BY rowid",
+                """
+                CREATE TABLE EXPENSES_NEW (
+                    expense_id TEXT PRIMARY KEY,
+                    user_id TEXT NOT NULL,
+                    group_id TEXT,
+                    category_id INTEGER NOT NULL,
+                    amount_minor INTEGER NOT NULL,
+                    epoch_day INTEGER NOT NULL,
+                    note TEXT,
+                    FOREIGN KEY (user_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
+                    FOREIGN KEY (category_id) REFERENCES CATEGORIES(category_id)
+                )
+                """,
+                "INSERT INTO EXPENSES_NEW (expense_id, user_id, group_id, category_id, amount_minor, epoch_day, note) " +
+                        "SELECT e.expense_id, e.user_id, e.group_id, " +
+                        "COALESCE((SELECT c.category_id FROM CATEGORIES c WHERE c.name = TRIM(e.category)), " +
+                        "(SELECT category_id FROM CATEGORIES WHERE name = 'Other')), " +
+                        "e.amount_minor, e.epoch_day, e.note FROM EXPENSES e",
+                "DROP TABLE EXPENSES",
+                "ALTER TABLE EXPENSES_NEW RENAME TO EXPENSES",
+                "CREATE INDEX idx_expenses_user_group_day ON EXPENSES(user_id, group_id, epoch_day)",
+                "CREATE INDEX idx_expenses_group_day ON EXPENSES(group_id, epoch_day)"
+        ));
+    }
+
+    /**
+     * v6: expense, alert and invite ids become IdGenerator keys stored as INTEGER PRIMARY KEY.
+     * Existing rows are keyed by when they were created - created_at, or the expense date
+     * since expenses never recorded one - capped at now, so list order survives and every
+     * key issued from here on sorts after them.
+     */
+    private static void timeOrderedIds(Connection conn) throws SQLException {
+        long now = System.currentTimeMillis();
+
+        assignTimeOrderedIds(conn, "EXPENSES", "epoch_day * 86400000", now);
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE EXPENSES_NEW (
+                    expense_id INTEGER PRIMARY KEY,
+                    user_id TEXT NOT NULL,
+                    group_id TEXT,
+                    category_id INTEGER NOT NULL,
+                    amount_minor INTEGER NOT NULL,
+                    epoch_day INTEGER NOT NULL,
+                    note TEXT,
+                    FOREIGN KEY (user_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
+                    FOREIGN KEY (category_id) REFERENCES CATEGORIES(category_id)
+                )
+                """,
+                "INSERT INTO EXPENSES_NEW (expense_id, user_id, group_id, category_id, amount_minor, epoch_day, note) " +
+                        "SELECT m.new_id, e.user_id, e.group_id, e.category_id, e.amount_minor, e.epoch_day, e.note " +
+                        "FROM EXPENSES e JOIN temp.ID_MAP m ON m.old_rowid = e.rowid",
+                "DROP TABLE temp.ID_MAP",
+                "DROP TABLE EXPENSES",
+                "ALTER TABLE EXPENSES_NEW RENAME TO EXPENSES",
+                "CREATE INDEX idx_expenses_user_group_day ON EXPENSES(user_id, group_id, epoch_day)",
+                "CREATE INDEX idx_expenses_group_day ON EXPENSES(group_id, epoch_day)"
+        ));
+
+        assignTimeOrderedIds(conn, "PARENT_CHILD_ALERTS", julianMillis("created_at"), now);
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE PARENT_CHILD_ALERTS_NEW (
+                    alert_id INTEGER PRIMARY KEY,
+                    from_user_id TEXT NOT NULL,
+                    to_user_id TEXT NOT NULL,
+                    type TEXT NOT NULL,
+                    message TEXT NOT NULL,
+                    created_at TEXT NOT NULL,
+                    read_status TEXT NOT NULL DEFAULT 'unread',
+                    FOREIGN KEY (from_user_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (to_user_id) REFERENCES USERS(user_id)
+                )
+                """,
+                "INSERT INTO PARENT_CHILD_ALERTS_NEW (alert_id, from_user_id, to_user_id, type, message, created_at, read_status) " +
+                        "SELECT m.new_id, a.from_user_id, a.to_user_id, a.type, a.message, a.created_at, a.read_status " +
+                        "FROM PARENT_CHILD_ALERTS a JOIN temp.ID_MAP m ON m.old_rowid = a.rowid",
+                "DROP TABLE temp.ID_MAP",
+                "DROP TABLE PARENT_CHILD_ALERTS",
+                "ALTER TABLE PARENT_CHILD_ALERTS_NEW RENAME TO PARENT_CHILD_ALERTS",
+                // Every index ends in the rowid, which is now creation order - created_at is redundant
+                "CREATE INDEX idx_alerts_to_read ON PARENT_CHILD_ALERTS(to_user_id, read_status)",
+                "CREATE INDEX idx_alerts_from ON PARENT_CHILD_ALERTS(from_user_id)"
+        ));
+
+        assignTimeOrderedIds(conn, "PARENT_INVITES", julianMillis("created_at"), now);
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE PARENT_INVITES_NEW (
+                    invite_id INTEGER PRIMARY KEY,
+                    parent_id TEXT NOT NULL,
+                    child_id TEXT NOT NULL,
+                    status TEXT NOT NULL DEFAULT 'pending', -- 'pending','accepted','declined'
+                    created_at TEXT NOT NULL,
+                    FOREIGN KEY (parent_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (child_id) REFERENCES USERS(user_id)
+                )
+                """,
+                "INSERT INTO PARENT_INVITES_NEW (invite_id, parent_id, child_id, status, created_at) " +
+                        "SELECT m.new_id, i.parent_id, i.child_id, i.status, i.created_at " +
+                        "FROM PARENT_INVITES i JOIN temp.ID_MAP m ON m.old_rowid = i.rowid",
+                "DROP TABLE temp.ID_MAP",
+                "DROP TABLE PARENT_INVITES",
+                "ALTER TABLE PARENT_INVITES_NEW RENAME TO PARENT_INVITES",
+                "CREATE INDEX idx_parent_invites_child_status ON PARENT_INVITES(child_id, status)"
+        ));
+
+        assignTimeOrderedIds(conn, "GROUP_INVITES", julianMillis("created_at"), now);
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE GROUP_INVITES_NEW (
+                    invite_id INTEGER PRIMARY KEY,
+                    group_id TEXT NOT NULL,
+                    inviter_id TEXT NOT NULL,
+                    invitee_id TEXT NOT NULL,
+                    status TEXT NOT NULL DEFAULT 'pending', -- 'pending','accepted','declined'
+                    created_at TEXT NOT NULL,
+                    FOREIGN KEY (group_id) REFERENCES GROUPS(group_id),
+                    FOREIGN KEY (inviter_id) REFERENCES USERS(user_id),
+                    FOREIGN KEY (invitee_id) REFERENCES USERS(user_id)
+                )
+                """,
+                "INSERT INTO GROUP_INVITES_NEW (invite_id, group_id, inviter_id, invitee_id, status, created_at) " +
+                        "SELECT m.new_id, i.group_id, i.inviter_id, i.invitee_id, i.status, i.created_at " +
+                        "FROM GROUP_INVITES i JOIN temp.ID_MAP m ON m.old_rowid = i.rowid",
+                "DROP TABLE temp.ID_MAP",
+                "DROP TABLE GROUP_INVITES",
+                "ALTER TABLE GROUP_INVITES_NEW RENAME TO GROUP_INVITES",
+                "CREATE INDEX idx_group_invites_invitee_status ON GROUP_INVITES(invitee_id, status)",
+                "CREATE INDEX idx_group_invites_group_invitee ON GROUP_INVITES(group_id, invitee_id, status)"
+        ));
+    }
+
+    /**
+     * v7: running count and sum of expenses per owner and calendar month, so totals are
+     * key lookups instead of SUM over the owner's whole history. Rows are keyed by
+     * (group_id, user_id, month): personal expenses under group_id '', a whole group under
+     * user_id '', each member's share of a group under both ids. month is yyyymm, or 0 for
+     * all time. Triggers keep the table current inside the same transaction as each write.
+     */
+    private static void expenseTotals(Connection conn) throws SQLException {
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE EXPENSE_TOTALS (
+                    group_id TEXT NOT NULL,
+                    user_id TEXT NOT NULL,
+                    month INTEGER NOT NULL,
+                    expense_count INTEGER NOT NULL,
+                    total_minor INTEGER NOT NULL,
+                    PRIMARY KEY (group_id, user_id, month)
+                ) WITHOUT ROWID
+                """,
+                "CREATE TRIGGER expense_totals_insert AFTER INSERT ON EXPENSES BEGIN " +
+                        addToTotals("NEW", "1") + "END",
+                "CREATE TRIGGER expense_totals_delete AFTER DELETE ON EXPENSES BEGIN " +
+                        addToTotals("OLD", "-1") + dropEmptyTotals("OLD") + "END",
+                "CREATE TRIGGER expense_totals_update AFTER UPDATE OF user_id, group_id, amount_minor, epoch_day " +
+                        "ON EXPENSES BEGIN " +
+                        addToTotals("OLD", "-1") + addToTotals("NEW", "1") + dropEmptyTotals("OLD") + "END"
+        ));
+        rebuildExpenseTotals(conn);
+    }
+
+    /**
+     * Recompute EXPENSE_TOTALS from EXPENSES, in the caller's transaction. Only needed if
+     * rows were changed with the triggers bypassed. Returns the number of total rows written.
+     */
+    public static int rebuildExpenseTotals(Connection conn) throws SQLException {
+        String month = monthOf("epoch_day");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM EXPENSE_TOTALS");
+            return stmt.executeUpdate(
+                    "INSERT INTO EXPENSE_TOTALS (group_id, user_id, month, expense_count, total_minor) " +
+                    "SELECT g, u, m, COUNT(*), SUM(amount_minor) FROM (" +
+                    "SELECT COALESCE(group_id, '') AS g, user_id AS u, " + month + " AS m, amount_minor FROM EXPENSES " +
+                    "UNION ALL SELECT COALESCE(group_id, ''), user_id, 0, amount_minor FROM EXPENSES " +
+                    "UNION ALL SELECT group_id, '', " + month + ", amount_minor FROM EXPENSES WHERE group_id <> '' " +
+                    "UNION ALL SELECT group_id, '', 0, amount_minor FROM EXPENSES WHERE group_id <> ''" +
+                    ") GROUP BY g, u, m");
+        }
+    }
+
+    /**
+     * SQL for the yyyymm month of an epoch day; -1 outside the years SQLite dates can hold
+     */
+    private static String monthOf(String epochDay) {
+        return "COALESCE(CAST(strftime('%Y%m', " + epochDay + " * 86400, 'unixepoch') AS INTEGER), -1)";
+    }
+
+    /**
+     * Trigger statement adding sign * the row to its month and all-time totals: the owner's
+     * rows and, for a group expense, the whole group's rows too
+     */
+    private static String addToTotals(String row, String sign) {
+        String group = "COALESCE(" + row + ".group_id, '')";
+        String month = monthOf(row + ".epoch_day");
+        return "INSERT INTO EXPENSE_TOTALS (group_id, user_id, month, expense_count, total_minor) " +
+                "SELECT g, u, m, " + sign + ", " + sign + " * " + row + ".amount_minor FROM (" +
+                "SELECT " + group + " AS g, " + row + ".user_id AS u, " + month + " AS m " +
+                "UNION ALL SELECT " + group + ", " + row + ".user_id, 0 " +
+                "UNION ALL SELECT " + group + ", '', " + month + " WHERE " + group + " <> '' " +
+                "UNION ALL SELECT " + group + ", '', 0 WHERE " + group + " <> ''" +
+                ") WHERE true " +
+                "ON CONFLICT (group_id, user_id, month) DO UPDATE SET " +
+                "expense_count = expense_count + excluded.expense_count, " +
+                "total_minor = total_minor + excluded.total_minor; ";
+    }
+
+    /**
+     * Trigger statement removing the row's totals once nothing is left in them
+     */
+    private static String dropEmptyTotals(String row) {
+        return "DELETE FROM EXPENSE_TOTALS WHERE group_id = COALESCE(" + row + ".group_id, '') " +
+                "AND user_id IN (" + row + ".user_id, '') " +
+                "AND month IN (" + monthOf(row + ".epoch_day") + ", 0) AND expense_count = 0; ";
+    }
+
+    /**
+     * v8: running count and sum of expenses per owner, day and category, so charts read one
+     * row per day and category instead of every expense. Owners are keyed as in
+     * EXPENSE_TOTALS: (group_id '', user) for personal expenses, (group, '') for a whole
+     * group, (group, user) for a member's share. Kept current by triggers, like v7.
+     */
+    private static void dailyRollup(Connection conn) throws SQLException {
+        executeAll(conn, List.of(
+                """
+                CREATE TABLE DAILY_ROLLUP (
+                    group_id TEXT NOT NULL,
+                    user_id TEXT NOT NULL,
+                    epoch_day INTEGER NOT NULL,
+                    category_id INTEGER NOT NULL,
+                    expense_count INTEGER NOT NULL,
+                    total_minor INTEGER NOT NULL,
+                    PRIMARY KEY (group_id, user_id, epoch_day, category_id)
+                ) WITHOUT ROWID
+                """,
+                "CREATE TRIGGER daily_rollup_insert AFTER INSERT ON EXPENSES BEGIN " +
+                        addToRollup("NEW", "1") + "END",
+                "CREATE TRIGGER daily_rollup_delete AFTER DELETE ON EXPENSES BEGIN " +
+                        addToRollup("OLD", "-1") + dropEmptyRollup("OLD") + "END",
+                "CREATE TRIGGER daily_rollup_update AFTER UPDATE OF user_id, group_id, category_id, amount_minor, epoch_day " +
+                        "ON EXPENSES BEGIN " +
+                        addToRollup("OLD", "-1") + addToRollup("NEW", "1") + dropEmptyRollup("OLD") + "END"
+        ));
+        rebuildDailyRollup(conn);
+    }
+
+    /**
+     * Recompute DAILY_ROLLUP from EXPENSES, in the caller's transaction. Only needed if
+     * rows were changed with the triggers bypassed. Returns the number of rollup rows written.
+     */
+    public static int rebuildDailyRollup(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM DAILY_ROLLUP");
+            return stmt.executeUpdate(
+                    "INSERT INTO DAILY_ROLLUP (group_id, user_id, epoch_day, category_id, expense_count, total_minor) " +
+                    "SELECT g, u, epoch_day, category_id, COUNT(*), SUM(amount_minor) FROM (" +
+                    "SELECT COALESCE(group_id, '') AS g, user_id AS u, epoch_day, category_id, amount_minor FROM EXPENSES " +
+                    "UNION ALL SELECT group_id, '', epoch_day, category_id, amount_minor FROM EXPENSES WHERE group_id <> ''" +
+                    ") GROUP BY g, u, epoch_day, category_id");
+        }
+    }
+
+    /**
+     * Trigger statement adding sign * the row to its owner's day and category, and for a
+     * group expense to the whole group's too
+     */
+    private static String addToRollup(String row, String sign) {
+        String group = "COALESCE(" + row + ".group_id, '')";
+        return "INSERT INTO DAILY_ROLLUP (group_id, user_id, epoch_day, category_id, expense_count, total_minor) " +
+                "SELECT g, u, " + row + ".epoch_day, " + row + ".category_id, " + sign + ", " +
+                sign + " * " + row + ".amount_minor FROM (" +
+                "SELECT " + group + " AS g, " + row + ".user_id AS u " +
+                "UNION ALL SELECT " + group + ", '' WHERE " + group + " <> ''" +
+                ") WHERE true " +
+                "ON CONFLICT (group_id, user_id, epoch_day, category_id) DO UPDATE SET " +
+                "expense_count = expense_count + excluded.expense_count, " +
+                "total_minor = total_minor + excluded.total_minor; ";
+    }
+
+    /**
+     * Trigger statement removing the row's rollup entries once nothing is left in them
+     */
+    private static String dropEmptyRollup(String row) {
+        return "DELETE FROM DAILY_ROLLUP WHERE group_id = COALESCE(" + row + ".group_id, '') " +
+                "AND user_id IN (" + row + ".user_id, '') AND epoch_day = " + row + ".epoch_day " +
+                "AND category_id = " + row + ".category_id AND expense_count = 0; ";
+    }
+
+    /**
+     * v9: personal expenses were written with group_id NULL or ''. One value lets the
+     * personal filter be "group_id IS NULL", an equality term on idx_expenses_user_group_day,
+     * so personal lists are read in index order instead of through a temp B-tree sort.
+     * EXPENSE_TOTALS and DAILY_ROLLUP already key both as '', so the update triggers net out.
+     */
+    private static void personalGroupIdNull(Connection conn) throws SQLException {
+        executeAll(conn, List.of("UPDATE EXPENSES SET group_id = NULL WHERE group_id = ''"));
+    }
+
+    /**
+     * Fill temp.ID_MAP (old rowid -> new key) for table, in order of millisExpr.
+     * Rows without a usable time, or with one in the future, are treated as created now.
+     */
+    private static void assignTimeOrderedIds(Connection conn, String table, String millisExpr, long now) throws SQLException {
+        executeAll(conn, List.of("CREATE TEMP TABLE ID_MAP (old_rowid INTEGER PRIMARY KEY, new_id INTEGER NOT NULL)"));
+        String select = "SELECT rowid, MIN(COALESCE(" + millisExpr + ", " + now + "), " + now + ") AS millis " +
+                "FROM " + table + " ORDER BY millis, rowid";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(select);
+             PreparedStatement insert = conn.prepareStatement("INSERT INTO temp.ID_MAP (old_rowid, new_id) VALUES (?, ?)")) {
+            long last = 0;
+            while (rs.next()) {
+                last = Math.max(last + 1, IdGenerator.idAt(rs.getLong(2)));
+                insert.setLong(1, rs.getLong(1));
+                insert.setLong(2, last);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * SQL for the epoch milliseconds of an ISO date-time column (NULL if unparseable)
+     */
+    private static String julianMillis(String column) {
+        return "CAST((julianday(" + column + ") - 2440587.5) * 86400000 AS INTEGER)";
+    }
+}
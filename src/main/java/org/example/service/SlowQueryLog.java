@@ -0,0 +1,226 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Slow Query Log
+ * Writes every statement slower than a threshold to a rolling local log file, with
+ * its EXPLAIN QUERY PLAN, redacted bind parameters and the service method that ran
+ * it. Fed by QueryMetrics, so it sees the same timings (including row stepping).
+ *
+ * Plans are captured once per distinct SQL text; the schema only changes through
+ * migrations at startup.
+ */
+public class SlowQueryLog {
+
+    /**
+     * Log settings. Defaults can be overridden with -Dexpense.db.slowQuery.* system properties.
+     */
+    public static class Config {
+        public long thresholdMillis = 100;
+        public String file = "logs/slow-queries.log";
+        public long maxFileBytes = 1024 * 1024;
+        public int maxFiles = 5;
+
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.thresholdMillis = Long.getLong("expense.db.slowQuery.thresholdMs", c.thresholdMillis);
+            c.file = System.getProperty("expense.db.slowQuery.file", c.file);
+            c.maxFileBytes = Long.getLong("expense.db.slowQuery.maxFileBytes", c.maxFileBytes);
+            c.maxFiles = Integer.getInteger("expense.db.slowQuery.maxFiles", c.maxFiles);
+            return c;
+        }
+    }
+
+    // Frames that sit between a service method and the driver
+    private static final Set<String> PLUMBING = Set.of(
+            ConnectionPool.class.getName(),
+            StatementCache.class.getName(),
+            QueryMetrics.class.getName(),
+            SlowQueryLog.class.getName(),
+            WriteQueue.class.getName(),
+            DatabaseHelper.class.getName());
+
+    private static final int MAX_CACHED_PLANS = 256;
+
+    // DDL has already run by the time it is logged; explaining it again would fail or mislead
+    private static final Pattern EXPLAINABLE = Pattern.compile(
+            "\\s*(SELECT|WITH|INSERT|UPDATE|DELETE|REPLACE|VALUES)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final Config config;
+    private final Path file;
+    private final long thresholdNanos;
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(Config config) {
+        this.config = config;
+        this.file = Path.of(config.file);
+        this.thresholdNanos = config.thresholdMillis * 1_000_000;
+    }
+
+    public long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Called by QueryMetrics, on the thread that ran the statement, for executions over the threshold.
+     * conn is the physical connection; it is still held by that thread, so EXPLAIN can run on it.
+     */
+    void log(String sql, Object[] binds, long nanos, long rows, boolean fx, Connection conn) {
+        StringBuilder entry = new StringBuilder();
+        entry.append(LocalDateTime.now())
+                .append(String.format(" SLOW %.1f ms", nanos / 1e6))
+                .append(" (rows=").append(rows)
+                .append(", thread=").append(Thread.currentThread().getName())
+                .append(fx ? ", FX thread" : "").append(")\n");
+        entry.append("  caller: ").append(caller()).append('\n');
+        entry.append("  sql:    ").append(QueryMetrics.normalize(sql)).append('\n');
+        entry.append("  binds:  ").append(redact(binds)).append('\n');
+        entry.append("  plan:\n").append(planFor(sql, conn));
+
+        try {
+            append(entry.toString());
+        } catch (IOException e) {
+            System.err.println("Could not write slow query log: " + e.getMessage());
+        }
+    }
+
+    // ==== CALLER ====
+
+    /**
+     * Innermost application frame outside the database plumbing, plus the outermost
+     * controller frame that led to it (if any)
+     */
+    static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            String service = null;
+            String controller = null;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = f.getClassName();
+                if (!cls.startsWith("org.example.") || isPlumbing(cls) || cls.contains("$$")) continue;
+                String where = cls + "." + f.getMethodName() + "(" + f.getFileName() + ":" + f.getLineNumber() + ")";
+                if (service == null) {
+                    service = where;
+                } else if (cls.startsWith("org.example.controller.")) {
+                    controller = where;
+                }
+            }
+            if (service == null) return "(unknown)";
+            return controller != null ? service + " via " + controller : service;
+        });
+    }
+
+    private static boolean isPlumbing(String cls) {
+        int nested = cls.indexOf('$');
+        return PLUMBING.contains(nested < 0 ? cls : cls.substring(0, nested));
+    }
+
+    // ==== BINDS ====
+
+    /**
+     * Types and sizes only - values can be passwords, emails or amounts
+     */
+    static String redact(Object[] binds) {
+        if (binds == null || binds.length == 0) return "(none)";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < binds.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append('[').append(i + 1).append("] ");
+            Object v = binds[i];
+            if (v == null) {
+                sb.append("NULL");
+            } else if (v instanceof CharSequence s) {
+                sb.append("<text, ").append(s.length()).append(" chars>");
+            } else if (v instanceof byte[] b) {
+                sb.append("<blob, ").append(b.length).append(" bytes>");
+            } else {
+                sb.append('<').append(v.getClass().getSimpleName().toLowerCase()).append('>');
+            }
+        }
+        return sb.toString();
+    }
+
+    // ==== PLAN ====
+
+    private String planFor(String sql, Connection conn) {
+        String key = QueryMetrics.normalize(sql);
+        String plan = plans.get(key);
+        if (plan != null) return plan;
+        plan = explain(sql, conn);
+        if (plans.size() >= MAX_CACHED_PLANS) plans.clear();
+        plans.put(key, plan);
+        return plan;
+    }
+
+    /**
+     * EXPLAIN QUERY PLAN as an indented tree. Unbound parameters are NULL, which does not
+     * change the plan shape SQLite picks for = and range terms.
+     */
+    static String explain(String sql, Connection conn) {
+        if (!EXPLAINABLE.matcher(sql).lookingAt()) return "    (not a query - no plan)\n";
+        if (conn == null) return "    (no connection)\n";
+        StringBuilder sb = new StringBuilder();
+        Map<Integer, Integer> depth = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                int level = depth.getOrDefault(rs.getInt("parent"), 0) + 1;
+                depth.put(id, level);
+                sb.append("  ".repeat(level + 1)).append(rs.getString("detail")).append('\n');
+            }
+        } catch (Exception e) {
+            return "    (plan unavailable: " + e.getMessage() + ")\n";
+        }
+        return sb.length() > 0 ? sb.toString() : "    (empty plan)\n";
+    }
+
+    // ==== FILE ====
+
+    private synchronized void append(String entry) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        byte[] bytes = (entry + "\n").getBytes(StandardCharsets.UTF_8);
+        if (Files.exists(file) && Files.size(file) + bytes.length > config.maxFileBytes) {
+            roll();
+        }
+        Files.write(file, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * slow-queries.log -> .1 -> .2 ... ; the oldest beyond maxFiles is dropped
+     */
+    private void roll() throws IOException {
+        int keep = Math.max(1, config.maxFiles);
+        Files.deleteIfExists(rolled(keep));
+        for (int i = keep - 1; i >= 1; i--) {
+            Path from = rolled(i);
+            if (Files.exists(from)) {
+                Files.move(from, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolled(int n) {
+        return file.resolveSibling(file.getFileName() + "." + n);
+    }
+}
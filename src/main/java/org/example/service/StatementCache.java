@@ -0,0 +1,197 @@
+package org.example.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statement Cache
+ * Bounded LRU of prepared statements for one physical connection, keyed by SQL text.
+ * A cache hit skips SQLite's parse/plan step. Callers get a wrapper whose close()
+ * resets the statement and hands it back to the cache; the pool does the same for
+ * statements still open when the connection is returned.
+ *
+ * Not thread-safe: a pooled connection is only used by one borrower at a time.
+ */
+class StatementCache {
+
+    /**
+     * Hit/miss counters, shared by every cache in a pool so getStats() can report totals.
+     */
+    static class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+
+        @Override
+        public String toString() {
+            long h = hits.get(), m = misses.get();
+            double rate = h + m == 0 ? 0 : 100.0 * h / (h + m);
+            return String.format("stmtHits=%d, stmtMisses=%d, stmtHitRate=%.1f%%, stmtEvictions=%d",
+                    h, m, rate, evictions.get());
+        }
+    }
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Counters counters;
+    private final LinkedHashMap<String, Entry> entries;
+
+    StatementCache(Connection physical, int maxSize, Counters counters) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.counters = counters;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= StatementCache.this.maxSize) return false;
+                counters.evictions.incrementAndGet();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Cached statement for sql, or null if the cached one is already in use by this
+     * borrower (e.g. the same query prepared twice in a loop) - the caller then
+     * prepares an ordinary, uncached statement.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        Entry e = entries.get(sql);
+        if (e != null && e.ps.isClosed()) {
+            entries.remove(sql);
+            e = null;
+        }
+        if (e != null) {
+            if (e.inUse) {
+                counters.misses.incrementAndGet();
+                return null;
+            }
+            counters.hits.incrementAndGet();
+            e.inUse = true;
+            return e.proxy;
+        }
+        counters.misses.incrementAndGet();
+        e = new Entry(physical.prepareStatement(sql));
+        e.inUse = true;
+        entries.put(sql, e);
+        return e.proxy;
+    }
+
+    /**
+     * Hand back every statement the borrower left open. Called when the connection is released.
+     */
+    void resetAll() {
+        for (Entry e : entries.values()) {
+            if (e.inUse) e.giveBack();
+        }
+    }
+
+    /**
+     * Close all physical statements. Called before the connection itself is closed.
+     */
+    void closeAll() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            e.closePhysical();
+            it.remove();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * One cached statement plus the wrapper handed to callers.
+     */
+    private static final class Entry implements InvocationHandler {
+        final PreparedStatement ps;
+        final PreparedStatement proxy;
+        ResultSet lastResult;
+        boolean inUse;
+        boolean evicted;
+
+        Entry(PreparedStatement ps) {
+            this.ps = ps;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) giveBack();
+                    return null;
+                case "isClosed":
+                    return !inUse || ps.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + ps + "]";
+                default:
+                    break;
+            }
+            if (!inUse) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                Object result = method.invoke(ps, args);
+                if (result instanceof ResultSet) {
+                    // Re-executing already closes the previous cursor, so only the latest matters
+                    lastResult = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Close open cursors (an open cursor pins the reader's WAL snapshot) and clear binds.
+         */
+        void giveBack() {
+            inUse = false;
+            if (lastResult != null) {
+                try { lastResult.close(); } catch (SQLException ignored) {}
+                lastResult = null;
+            }
+            if (evicted) {
+                closePhysical();
+                return;
+            }
+            try {
+                ps.clearParameters();
+            } catch (SQLException e) {
+                closePhysical();
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) closePhysical();
+        }
+
+        void closePhysical() {
+            inUse = false;
+            lastResult = null;
+            try { ps.close(); } catch (SQLException ignored) {}
+        }
+    }
+}
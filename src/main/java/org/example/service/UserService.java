@@ -1,9 +1,8 @@
 package org.example.service;
 
 import org.example.model.User;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import org.example.repository.Repositories;
+
 import java.util.UUID;
 
 /**
@@ -13,22 +12,11 @@ import java.util.UUID;
 public class UserService {
 
     public static User login(String email, String password) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM USERS WHERE email = ? COLLATE NOCASE AND password = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, email.trim());
-            stmt.setString(2, password);
-
+        try {
             System.out.println("Login attempt with email: " + email.trim());
 
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setUserId(rs.getString("user_id"));
-                user.setName(rs.getString("name"));
-                user.setEmail(rs.getString("email"));
-                user.setPassword(rs.getString("password"));
-                user.setRole(rs.getString("role"));
+            User user = Repositories.users().findByEmail(email.trim());
+            if (user != null && user.getPassword().equals(password)) {
                 System.out.println("Login successful for user: " + user.getName());
                 return user;
             }
@@ -41,7 +29,7 @@ public class UserService {
     }
 
     public static boolean register(String name, String email, String password, String role) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
+        try {
             String userId = UUID.randomUUID().toString();
 
             // Normalize email to lowercase for consistency
@@ -49,16 +37,8 @@ public class UserService {
 
             System.out.println("Registering user: " + name + " with email: " + email);
 
-            String query = "INSERT INTO USERS (user_id, name, email, password, role) VALUES (?, ?, ?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
-            stmt.setString(2, name);
-            stmt.setString(3, email);
-            stmt.setString(4, password);
-            stmt.setString(5, role);
-
-            int result = stmt.executeUpdate();
-            System.out.println("User registered successfully. User ID: " + userId + ", Rows affected: " + result);
+            boolean inserted = Repositories.users().insert(new User(userId, name, email, password, role));
+            System.out.println("User registered successfully. User ID: " + userId + ", Stored: " + inserted);
 
             return true;
         } catch (Exception e) {
@@ -69,17 +49,10 @@ public class UserService {
     }
 
     public static boolean emailExists(String email) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT COUNT(*) FROM USERS WHERE email = ? COLLATE NOCASE";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, email.trim());
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                boolean exists = rs.getInt(1) > 0;
-                System.out.println("Email " + email + " exists: " + exists);
-                return exists;
-            }
+        try {
+            boolean exists = Repositories.users().findByEmail(email.trim()) != null;
+            System.out.println("Email " + email + " exists: " + exists);
+            return exists;
         } catch (Exception e) {
             System.err.println("Error checking email existence: " + e.getMessage());
             e.printStackTrace();
@@ -91,21 +64,11 @@ public class UserService {
      * Get user by email (case-insensitive)
      */
     public static User getUserByEmail(String email) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM USERS WHERE email = ? COLLATE NOCASE";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, email.trim());
-
+        try {
             System.out.println("Searching for user with email: " + email.trim());
 
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setUserId(rs.getString("user_id"));
-                user.setName(rs.getString("name"));
-                user.setEmail(rs.getString("email"));
-                user.setPassword(rs.getString("password"));
-                user.setRole(rs.getString("role"));
+            User user = Repositories.users().findByEmail(email.trim());
+            if (user != null) {
                 System.out.println("Found user: " + user.getName() + " (" + user.getEmail() + ")");
                 return user;
             }
@@ -121,21 +84,8 @@ public class UserService {
      * Get user by ID
      */
     public static User getUserById(String userId) {
-        try (Connection conn = DatabaseHelper.getConnection()) {
-            String query = "SELECT * FROM USERS WHERE user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, userId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setUserId(rs.getString("user_id"));
-                user.setName(rs.getString("name"));
-                user.setEmail(rs.getString("email"));
-                user.setPassword(rs.getString("password"));
-                user.setRole(rs.getString("role"));
-                return user;
-            }
+        try {
+            return Repositories.users().findById(userId);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -0,0 +1,187 @@
+package org.example.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write Queue
+ * Single writer thread that owns one SQLite connection. Write commands are queued,
+ * drained in batches and committed together (group commit), so a burst of inserts
+ * pays for one fsync instead of one per row. Each command runs inside its own
+ * savepoint: a failing command is rolled back without taking the batch down with it.
+ */
+public class WriteQueue {
+
+    /**
+     * A unit of work executed on the writer connection, inside the batch transaction.
+     * Commands must not commit, roll back or change auto-commit themselves.
+     */
+    @FunctionalInterface
+    public interface WriteCommand<T> {
+        T execute(Connection conn) throws Exception;
+    }
+
+    private static final class Pending<T> {
+        final WriteCommand<T> command;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        T result;
+        Throwable failure;
+
+        Pending(WriteCommand<T> command) {
+            this.command = command;
+        }
+
+        void run(Connection conn) throws Exception {
+            result = command.execute(conn);
+        }
+
+        void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    private static final Pending<?> POISON = new Pending<>(conn -> null);
+
+    private final Connection conn;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final LinkedBlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * @param conn               dedicated connection; the queue owns and closes it
+     * @param maxBatchSize       upper bound on commands per transaction
+     * @param maxBatchDelayMicros how long the writer may wait for more commands before committing
+     */
+    public WriteQueue(Connection conn, int maxBatchSize, long maxBatchDelayMicros) {
+        this.conn = conn;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxBatchDelayMicros));
+        this.writer = new Thread(this::run, "db-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a write. The future completes after the batch containing it has committed.
+     */
+    public <T> CompletableFuture<T> submit(WriteCommand<T> command) {
+        if (Thread.currentThread() == writer) {
+            // Nested write from inside a command: run inline, it is already in the transaction
+            CompletableFuture<T> inline = new CompletableFuture<>();
+            try {
+                inline.complete(command.execute(conn));
+            } catch (Throwable t) {
+                inline.completeExceptionally(t);
+            }
+            return inline;
+        }
+        if (closed) {
+            return CompletableFuture.failedFuture(new SQLException("Write queue is shut down"));
+        }
+        Pending<T> pending = new Pending<>(command);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void run() {
+        List<Pending<?>> batch = new ArrayList<>(maxBatchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.clear();
+                Pending<?> first = queue.take();
+                if (first == POISON) break;
+                batch.add(first);
+
+                // Collect whatever else arrives within the latency window
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<?> next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) break;
+                    if (next == POISON) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                commitBatch(batch);
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+        }
+
+        // Fail anything still queued so callers don't wait forever
+        Pending<?> left;
+        while ((left = queue.poll()) != null) {
+            if (left != POISON) {
+                left.future.completeExceptionally(new SQLException("Write queue is shut down"));
+            }
+        }
+        try { conn.close(); } catch (SQLException ignored) {}
+    }
+
+    /**
+     * Errors thrown by a command (AssertionError, StackOverflowError, ...) fail that command
+     * like any exception; nothing escapes to kill the writer thread, and every future in the
+     * batch is completed.
+     */
+    private void commitBatch(List<Pending<?>> batch) {
+        try {
+            conn.setAutoCommit(false);
+            for (Pending<?> p : batch) {
+                Savepoint sp = conn.setSavepoint();
+                try {
+                    p.run(conn);
+                    conn.releaseSavepoint(sp);
+                } catch (Throwable t) {
+                    p.failure = t;
+                    conn.rollback(sp);
+                    conn.releaseSavepoint(sp);
+                }
+            }
+            conn.commit();
+        } catch (Throwable t) {
+            try { conn.rollback(); } catch (SQLException ignored) {}
+            for (Pending<?> p : batch) {
+                if (p.failure == null) p.failure = t;
+            }
+        } finally {
+            try { conn.setAutoCommit(true); } catch (SQLException ignored) {}
+
+            // Only now is the data durable and visible to readers
+            for (Pending<?> p : batch) {
+                p.complete();
+            }
+        }
+    }
+
+    /**
+     * Stop accepting writes, commit what is queued and close the writer connection.
+     */
+    public void shutdown() {
+        if (closed) return;
+        closed = true;
+        queue.add(POISON);
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}